@@ -27,21 +27,59 @@ import de.featjar.base.cli.Option;
 import de.featjar.base.cli.OptionList;
 import de.featjar.base.cli.RangeOption;
 import de.featjar.base.io.csv.CSVFile;
+import de.featjar.base.io.format.IFormat;
+import de.featjar.base.io.format.IFormatSupplier;
+import de.featjar.evaluation.process.AdaptiveTimeoutPolicy;
+import de.featjar.evaluation.process.Algorithm;
+import de.featjar.evaluation.process.CgroupSandbox;
+import de.featjar.evaluation.process.EvaluationAlgorithm;
+import de.featjar.evaluation.process.EvaluationBatch;
+import de.featjar.evaluation.process.FlightRecorderProfiler;
+import de.featjar.evaluation.process.ITimeoutPolicy;
+import de.featjar.evaluation.process.JvmConfigurator;
+import de.featjar.evaluation.process.JvmProfile;
+import de.featjar.evaluation.process.MemoryAdmission;
+import de.featjar.evaluation.process.NoiseMonitor;
+import de.featjar.evaluation.process.ProcessResult;
+import de.featjar.evaluation.process.ProcessRunner;
+import de.featjar.evaluation.process.ResultCache;
+import de.featjar.evaluation.process.ScratchSpace;
+import de.featjar.evaluation.process.SharedArchiveManager;
+import de.featjar.evaluation.streams.AsyncLogSink;
+import de.featjar.evaluation.util.ConfigurationRace;
+import de.featjar.evaluation.util.CostEstimator;
+import de.featjar.evaluation.util.FileUtils;
+import de.featjar.evaluation.util.ICombinationSampler;
+import de.featjar.evaluation.util.IModelStatistics;
+import de.featjar.evaluation.util.LatinHypercubeSampler;
+import de.featjar.evaluation.util.ModelCatalog;
+import de.featjar.evaluation.util.ModelPreparer;
 import de.featjar.evaluation.util.OptionCombiner;
+import de.featjar.evaluation.util.PairwiseSampler;
+import de.featjar.evaluation.util.RandomSampler;
+import de.featjar.evaluation.util.RuntimeHistory;
+import de.featjar.evaluation.util.StagedPipeline;
+import de.featjar.evaluation.util.StatisticsAggregator;
+import de.featjar.evaluation.util.StatusWriter;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.FileVisitResult;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.SimpleFileVisitor;
-import java.nio.file.attribute.BasicFileAttributes;
 import java.sql.Timestamp;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * TODO documentation
@@ -63,11 +101,133 @@ public abstract class Evaluator extends ACommand {
             .setDescription("Path to other resources necessary for the evaluation.")
             .setValidator(Option.PathValidator);
 
+    public static final Option<String> systemOrder = Option.newOption("system-order", Option.StringParser, "name")
+            .setDescription("The order of systems. One of name, size, features, or constraints.");
+    public static final Option<Long> maxFeatures = Option.newOption("max-features", Option.LongParser, -1L)
+            .setDescription(
+                    "Ignores systems with more features, if their feature count is known. A negative value considers all systems.");
+
+    public static final Option<String> schedule = Option.newOption("schedule", Option.StringParser, "lexicographic")
+            .setDescription(
+                    "The order in which combinations are run. One of lexicographic or longest-first (by runtimes of previous evaluations). Without --sampling, longest-first is limited to about four million combinations.");
+
+    public static final Option<String> sampling = Option.newOption("sampling", Option.StringParser, "none")
+            .setDescription(
+                    "Runs only a sample of all combinations. One of none, random, latin-hypercube, or pairwise (covers every pair of option values). Uses --seed.");
+    public static final Option<Integer> sampleSize = Option.newOption("sample-size", Option.IntegerParser, 1000)
+            .setDescription("The number of combinations selected by random and latin-hypercube sampling.");
+
+    public static final Option<String> race = Option.newOption("race", Option.StringParser, "none")
+            .setDescription(
+                    "Races configurations on a growing number of systems and eliminates dominated ones (none, friedman, halving).");
+    public static final Option<Integer> raceInstances = Option.newOption("race-instances", Option.IntegerParser, 5)
+            .setDescription("The number of systems on which all configurations are evaluated before the first elimination.");
+    public static final Option<Integer> raceAlpha = Option.newOption("race-alpha", Option.IntegerParser, 5)
+            .setDescription("The significance level in percent of the Friedman test used for racing.");
     public static final Option<Long> timeout = Option.newOption("timeout", Option.LongParser, Long.MAX_VALUE)
             .setDescription("The timeout value for individual runs in milliseconds.");
+    public static final Option<Boolean> adaptiveTimeout = Option.newOption(
+                    "adaptive-timeout", Option.BooleanParser, Boolean.FALSE)
+            .setDescription(
+                    "Sets the timeout of each run from the runtimes of previous runs of the same algorithm on inputs of similar size (see --timeout-quantile and --timeout-factor). Never exceeds --timeout.");
+    public static final Option<Integer> timeoutQuantile = Option.newOption("timeout-quantile", Option.IntegerParser, 95)
+            .setDescription("The quantile in percent of previous runtimes used by the adaptive timeout.");
+    public static final Option<Integer> timeoutFactor = Option.newOption("timeout-factor", Option.IntegerParser, 3)
+            .setDescription("The factor by which the quantile of previous runtimes is multiplied for the adaptive timeout.");
+    public static final Option<Integer> timeoutSamples = Option.newOption("timeout-samples", Option.IntegerParser, 10)
+            .setDescription("The number of previous runtimes required before the adaptive timeout is applied.");
     public static final Option<Integer> memory = Option.newOption("memory", Option.IntegerParser, -1)
             .setDescription(
                     "The max memory used by started Java processes in gigabytes. Sets the JVM -Xmx parameter of started java process. A negative value defaults to the standard value for the JVM. (Does not affect the memory of this process!)");
+    public static final Option<Boolean> memoryAdmission = Option.newOption(
+                    "memory-admission", Option.BooleanParser, Boolean.FALSE)
+            .setDescription(
+                    "Delays the start of Java processes until their max memory (see --memory, by default a quarter of the physical memory) plus overhead fits into the available memory.");
+    public static final Option<Integer> memoryOverhead = Option.newOption("memory-overhead", Option.IntegerParser, 512)
+            .setDescription(
+                    "The memory in megabytes that is reserved for each started process in addition to its max memory.");
+    public static final Option<Boolean> cds = Option.newOption("cds", Option.BooleanParser, Boolean.FALSE)
+            .setDescription(
+                    "Creates a class data sharing archive for each jar of started Java processes in the resources directory and uses it to reduce their startup time. Each archive is created by an unmeasured warm-up launch before the first run of its jar.");
+    public static final Option<String> jvmProfile = Option.newOption("jvm-profile", Option.StringParser, "default")
+            .setDescription(
+                    "Flags for started Java processes (default, throughput, startup, stable). Throughput and stable set -Xms to --memory.");
+    public static final Option<String> jvmOptions = Option.newOption("jvm-options", Option.StringParser, "")
+            .setDescription("Additional space-separated flags for started Java processes.");
+    public static final Option<Integer> batchSize = Option.newOption("batch-size", Option.IntegerParser, 1)
+            .setDescription(
+                    "The max number of runs with the same jar and command that are executed in a single Java process by runBatched. Each run still gets --timeout.");
+    public static final Option<Boolean> metrics = Option.newOption("metrics", Option.BooleanParser, Boolean.FALSE)
+            .setDescription(
+                    "Passes a metrics channel (named pipe) to started processes, through which they can report typed metrics and phase times.");
+    public static final Option<Boolean> cgroup = Option.newOption("cgroup", Option.BooleanParser, Boolean.FALSE)
+            .setDescription(
+                    "Runs each process in its own cgroup (Linux cgroup v2) to enforce limits, kill all its descendants, and measure CPU time and peak memory. Requires a delegated cgroup.");
+    public static final Option<Path> cgroupPath = Option.newOption("cgroup-path", Option.PathParser)
+            .setDescription(
+                    "The delegated cgroup in which the cgroups of runs are created. Defaults to the cgroup of this process.");
+    public static final Option<Integer> cgroupMemory = Option.newOption("cgroup-memory", Option.IntegerParser, -1)
+            .setDescription("The max memory of each run in megabytes when using cgroups. A negative value sets no limit.");
+    public static final Option<Integer> cgroupCpu = Option.newOption("cgroup-cpu", Option.IntegerParser, -1)
+            .setDescription(
+                    "The max CPU usage of each run in percent of one CPU when using cgroups. A negative value sets no limit.");
+    public static final Option<Path> resultCachePath = Option.newOption("result-cache", Option.PathParser)
+            .setDescription(
+                    "Directory in which results of runs are cached. Runs with identical command, jar, input, and seed are restored from the cache instead of being executed. Only runs that finished in time without error are cached. Disabled if not set.");
+    public static final Option<Boolean> resultCacheTimeouts = Option.newOption(
+                    "result-cache-timeouts", Option.BooleanParser, Boolean.FALSE)
+            .setDescription("Also caches runs that did not finish in time, such that they are not executed again.");
+    public static final Option<Path> ramTempPath = Option.newOption("ram-temp", Option.PathParser)
+            .setDescription(
+                    "Directory on a RAM-backed file system (e.g., /dev/shm) for temporary files of runs. If not set, temporary files are written to the output directory.");
+    public static final Option<Integer> ramTempBudget = Option.newOption("ram-temp-budget", Option.IntegerParser, 1024)
+            .setDescription(
+                    "The max size in megabytes of temporary files on the RAM-backed file system. Further runs use the output directory. Advisory only, as the size of a run is only known when it has finished.");
+    public static final Option<Boolean> profile = Option.newOption("profile", Option.BooleanParser, Boolean.FALSE)
+            .setDescription(
+                    "Profiles started Java processes with the JDK Flight Recorder and writes a summary of each run to profiles.csv.");
+    public static final Option<String> profileKeep = Option.newOption("profile-keep", Option.StringParser, "outliers")
+            .setDescription(
+                    "Which flight recordings are kept in the gen directory after summarizing. One of all, outliers (timeouts and unusually slow runs), or none.");
+    public static final Option<Long> calibrationInterval = Option.newOption(
+                    "calibration-interval", Option.LongParser, 0L)
+            .setDescription(
+                    "The minimum interval in seconds between runs of a calibration workload that measures the speed of the machine (written to calibration.csv). A non-positive value disables noise detection.");
+    public static final Option<Integer> noiseThreshold = Option.newOption("noise-threshold", Option.IntegerParser, 20)
+            .setDescription(
+                    "The slowdown in percent of the calibration workload compared to its fastest run above which runs are repeated.");
+    public static final Option<Integer> noiseRepetitions = Option.newOption(
+                    "noise-repetitions", Option.IntegerParser, 2)
+            .setDescription("The maximum number of times a run measured on a degraded machine is repeated.");
+    public static final Option<String> stageWorkers = Option.newOption("stage-workers", Option.StringParser, "")
+            .setDescription(
+                    "The number of worker threads per pipeline stage as comma-separated assignments (e.g., run=4,write=1). Unassigned stages use the default of the evaluation.");
+    public static final Option<Integer> stageQueue = Option.newOption("stage-queue", Option.IntegerParser, 4)
+            .setDescription("The maximum number of items waiting for each pipeline stage.");
+    public static final Option<Integer> logQueue = Option.newOption("log-queue", Option.IntegerParser, 10000)
+            .setDescription(
+                    "The maximum number of output lines of started processes waiting to be logged. Further lines are dropped. A non-positive value logs every line synchronously.");
+    public static final Option<Integer> logBurst = Option.newOption("log-burst", Option.IntegerParser, 200)
+            .setDescription("The number of output lines of each run and stream that are always logged.");
+    public static final Option<Integer> logRate = Option.newOption("log-rate", Option.IntegerParser, 50)
+            .setDescription("The number of further output lines per second of each run and stream that are logged.");
+    public static final Option<Integer> logSample = Option.newOption("log-sample", Option.IntegerParser, 1000)
+            .setDescription(
+                    "Logs every n-th output line that exceeds the rate limit as a sample. A non-positive value logs no samples.");
+    public static final Option<Long> summaryInterval = Option.newOption("summary-interval", Option.LongParser, 60L)
+            .setDescription(
+                    "The interval in seconds in which summary.csv with statistics of all reported results is updated. A non-positive value only writes it at the end.");
+    public static final Option<Long> statusInterval = Option.newOption("status-interval", Option.LongParser, 10L)
+            .setDescription(
+                    "The interval in seconds in which status.json with the progress and resource usage of the evaluation is updated. A non-positive value disables it.");
+    public static final Option<Boolean> dryRun = Option.newOption("dry-run", Option.BooleanParser, Boolean.FALSE)
+            .setDescription(
+                    "Executes no runs, but estimates the CPU time, wall time, peak memory, and disk usage of all combinations from the runtime history and model sizes.");
+    public static final Option<Integer> dryRunParallelism = Option.newOption(
+                    "dry-run-parallelism", Option.IntegerParser, 1)
+            .setDescription("The number of runs executed in parallel that is assumed for the wall time of a dry run.");
+    public static final Option<Integer> dryRunTop = Option.newOption("dry-run-top", Option.IntegerParser, 10)
+            .setDescription("The number of most expensive option prefixes per level that are logged by a dry run.");
     public static final Option<Long> randomSeed =
             Option.newOption("seed", Option.LongParser).setDescription("The seed used by some random operations.");
 
@@ -91,6 +251,22 @@ public abstract class Evaluator extends ACommand {
     public Path genPath;
     public Path tempPath;
     public List<String> systemNames;
+    public ModelCatalog modelCatalog;
+    public RuntimeHistory runtimeHistory;
+    public StatisticsAggregator statistics;
+    public StatusWriter statusWriter;
+    public MemoryAdmission admission;
+    public ITimeoutPolicy timeoutPolicy;
+    public ResultCache resultCache;
+    public ScratchSpace scratchSpace;
+    public FlightRecorderProfiler profiler;
+    public NoiseMonitor noiseMonitor;
+    public ModelPreparer<?> modelPreparer;
+    public AsyncLogSink logSink;
+    public CgroupSandbox sandbox;
+    public SharedArchiveManager sharedArchives;
+    public CostEstimator costEstimator;
+    public final List<StagedPipeline<?>> pipelines = new ArrayList<>();
 
     public OptionList getOptionParser() {
         return optionParser;
@@ -104,38 +280,432 @@ public abstract class Evaluator extends ACommand {
         return optionParser.getResult(option).orElseThrow();
     }
 
+    /**
+     * Reads the name of the current output directory from {@code .current} in the output root and creates it if it does not exist.
+     * The file is locked while reading and writing, such that evaluator processes started concurrently use the same output directory.
+     *
+     * @return the name of the current output directory
+     */
+    @SuppressWarnings("try")
     public String readCurrentOutputMarker() {
         final Path currentOutputMarkerFile = outputRootPath.resolve(".current");
+        try {
+            Files.createDirectories(outputRootPath);
+        } catch (final IOException e) {
+            FeatJAR.log().error(e);
+        }
+
         String currentOutputMarker = null;
-        if (Files.isReadable(currentOutputMarkerFile)) {
-            List<String> lines;
-            try {
-                lines = Files.readAllLines(currentOutputMarkerFile);
+        try (FileChannel lock = FileUtils.lock(outputRootPath.resolve(".current.lock"))) {
+            if (Files.isReadable(currentOutputMarkerFile)) {
+                final List<String> lines = Files.readAllLines(currentOutputMarkerFile);
+                if (!lines.isEmpty() && !lines.get(0).isBlank()) {
+                    currentOutputMarker = lines.get(0).trim();
+                }
+            }
+            if (currentOutputMarker == null) {
+                currentOutputMarker = getTimeStamp();
+                FileUtils.writeAtomically(currentOutputMarkerFile, List.of(currentOutputMarker));
+            }
+        } catch (final IOException e) {
+            FeatJAR.log().error(e);
+        }
+        if (currentOutputMarker == null) {
+            currentOutputMarker = getTimeStamp();
+        }
+        return currentOutputMarker;
+    }
+
+    /**
+     * Creates a process runner that is configured with the (adaptive) timeout, memory admission, result cache, temporary directories, profiling, noise detection, model preparation, and output logging of this evaluation.
+     *
+     * @return a new process runner
+     */
+    public ProcessRunner createProcessRunner() {
+        final ProcessRunner processRunner = new ProcessRunner();
+        processRunner.setTimeout(getOption(timeout));
+        processRunner.setMetricsEnabled(getOption(metrics));
+        if (getOption(adaptiveTimeout)) {
+            if (timeoutPolicy == null) {
+                timeoutPolicy = new AdaptiveTimeoutPolicy(
+                        getOption(timeoutQuantile) / 100.0, getOption(timeoutFactor), getOption(timeoutSamples), 1000);
+            }
+            processRunner.setTimeoutPolicy(timeoutPolicy);
+        }
+        if (getOption(memoryAdmission)) {
+            if (admission == null) {
+                admission = new MemoryAdmission(((long) getOption(memoryOverhead)) << 20);
+                FeatJAR.log().info("Memory available for processes: %d MiB", admission.getCapacity() >> 20);
+            }
+            processRunner.setMemoryAdmission(admission);
+        }
+        final Path cachePath = optionParser.getResult(resultCachePath).orElse(null);
+        if (cachePath != null) {
+            if (resultCache == null) {
+                resultCache = new ResultCache(cachePath, optionParser.getResult(randomSeed).orElse(null));
+                resultCache.setCacheTimeouts(getOption(resultCacheTimeouts));
+            }
+            processRunner.setResultCache(resultCache);
+        }
+        if (scratchSpace == null) {
+            scratchSpace = new ScratchSpace(
+                    tempPath,
+                    optionParser.getResult(ramTempPath).orElse(null),
+                    ((long) getOption(ramTempBudget)) << 20);
+        }
+        processRunner.setScratchSpace(scratchSpace);
+        if (getOption(profile)) {
+            if (profiler == null) {
+                profiler = new FlightRecorderProfiler(
+                        genPath.resolve("jfr").resolve(csvPath.getFileName()),
+                        csvPath.resolve("profiles.csv"),
+                        getOption(profileKeep),
+                        10);
+                profiler.setCombination(
+                        () -> optionCombiner.isLoopThread() ? optionCombiner.getCurrentCombination() : null);
+            }
+            processRunner.addListener(profiler);
+        }
+        final long calibrationSeconds = getOption(calibrationInterval);
+        if (calibrationSeconds > 0) {
+            if (noiseMonitor == null) {
+                noiseMonitor = new NoiseMonitor(
+                        calibrationSeconds * 1000,
+                        getOption(noiseThreshold) / 100.0,
+                        getOption(noiseRepetitions),
+                        calibrationSeconds * 10_000);
+                noiseMonitor.setLog(csvPath.resolve("calibration.csv"));
+            }
+            processRunner.setNoiseMonitor(noiseMonitor);
+        }
+        if (modelPreparer != null) {
+            processRunner.addListener(modelPreparer);
+        }
+        final JvmProfile profile = JvmProfile.of(getOption(jvmProfile));
+        final List<String> options = split(getOption(jvmOptions));
+        if (profile != JvmProfile.DEFAULT || !options.isEmpty()) {
+            processRunner.addListener(new JvmConfigurator(profile, options));
+        }
+        if (getOption(cds)) {
+            if (sharedArchives == null) {
+                sharedArchives = new SharedArchiveManager(resourcePath.resolve("cds"), getOption(timeout));
+            }
+            processRunner.addListener(sharedArchives);
+        }
+        if (getOption(logQueue) > 0) {
+            if (logSink == null) {
+                logSink = new AsyncLogSink(
+                        getOption(logQueue), getOption(logBurst), getOption(logRate), getOption(logSample));
+            }
+            processRunner.setLogSink(logSink);
+        }
+        if (getOption(cgroup)) {
+            if (sandbox == null) {
+                sandbox = CgroupSandbox.create(
+                        optionParser.getResult(cgroupPath).orElse(null),
+                        ((long) getOption(cgroupMemory)) << 20,
+                        getOption(cgroupCpu));
+                if (sandbox == null) {
+                    FeatJAR.log().warning("Cgroups are not available, only live descendants of processes are killed");
+                }
+            }
+            processRunner.setSandbox(sandbox);
+        }
+        if (statusWriter != null) {
+            statusWriter.setMemoryAdmission(admission);
+            statusWriter.setNoiseMonitor(noiseMonitor);
+            processRunner.addListener(statusWriter);
+        }
+        return processRunner;
+    }
+
+    private static List<String> split(String flags) {
+        final ArrayList<String> elements = new ArrayList<>();
+        for (String flag : flags.trim().split("\\s+")) {
+            if (!flag.isEmpty()) {
+                elements.add(flag);
+            }
+        }
+        return elements;
+    }
 
-                if (!lines.isEmpty()) {
-                    final String firstLine = lines.get(0);
-                    currentOutputMarker = firstLine.trim();
+    /**
+     * Runs the given algorithms in batches of at most {@link #batchSize} algorithms with the same jar and command, each in a single process.
+     * A new process runner is created for the batches, whose timeout is the {@link #timeout} of a run multiplied by the batch size.
+     * The {@link #modelPreparer model preparer} is applied to each algorithm, whereas a {@link #profiler profile} covers a whole batch.
+     *
+     * @param algorithms the algorithms
+     * @return the result of each algorithm in the order of the algorithms
+     * @throws IOException if the directory of a batch cannot be created
+     */
+    public List<ProcessResult<Void>> runBatched(List<? extends EvaluationAlgorithm> algorithms) throws IOException {
+        final int size = Math.max(1, getOption(batchSize));
+        final long itemTimeout = getOption(timeout);
+        final ProcessRunner processRunner = createProcessRunner();
+        processRunner.setTimeout(itemTimeout > Long.MAX_VALUE / size ? Long.MAX_VALUE : itemTimeout * size);
+        final Map<List<String>, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < algorithms.size(); i++) {
+            final EvaluationAlgorithm algorithm = algorithms.get(i);
+            groups.computeIfAbsent(
+                            List.of(algorithm.getJarName(), algorithm.getCommandName()), k -> new ArrayList<>())
+                    .add(i);
+        }
+        final List<ProcessResult<Void>> results = new ArrayList<>(Collections.nCopies(algorithms.size(), null));
+        if (profiler != null) {
+            FeatJAR.log().warning("Profiles of batched runs cover whole batches instead of single runs");
+        }
+        for (List<Integer> group : groups.values()) {
+            for (int start = 0; start < group.size(); start += size) {
+                final List<Integer> indices = group.subList(start, Math.min(group.size(), start + size));
+                final List<EvaluationAlgorithm> items = new ArrayList<>(indices.size());
+                for (int index : indices) {
+                    items.add(algorithms.get(index));
+                }
+                final Path batchDirectory = Files.createTempDirectory(tempPath, "batch-");
+                try {
+                    final EvaluationBatch batch =
+                            new EvaluationBatch(items, batchDirectory, itemTimeout == Long.MAX_VALUE ? 0 : itemTimeout);
+                    if (modelPreparer != null) {
+                        batch.addItemListener(modelPreparer);
+                    }
+                    final List<ProcessResult<Void>> batchResults = batch.run(processRunner);
+                    for (int i = 0; i < indices.size(); i++) {
+                        results.set(indices.get(i), batchResults.get(i));
+                    }
+                } finally {
+                    try {
+                        FileUtils.deleteRecursively(batchDirectory);
+                    } catch (IOException e) {
+                        FeatJAR.log().warning("Could not delete batch directory %s", batchDirectory);
+                    }
                 }
-            } catch (final Exception e) {
-                FeatJAR.log().error(e);
             }
         }
+        return results;
+    }
 
+    /**
+     * Creates a model preparer that converts the models of this evaluation into a faster loading format in the {@link #genPath gen directory}.
+     * Process runners created afterwards pass the converted models to algorithms that support them.
+     *
+     * @param <T> the type of the models
+     * @param inputFormats the formats of the original models
+     * @param preparedFormat the format of the converted models
+     * @return the model preparer
+     */
+    public <T> ModelPreparer<T> createModelPreparer(IFormatSupplier<T> inputFormats, IFormat<T> preparedFormat) {
+        final ModelPreparer<T> preparer =
+                new ModelPreparer<>(genPath.resolve("prepared"), inputFormats, preparedFormat);
+        modelPreparer = preparer;
+        return preparer;
+    }
+
+    /**
+     * Returns the size of a system as recorded in the {@link #getModelCatalog() model catalog}.
+     *
+     * @param system the name of the system
+     * @return the size in bytes or -1 if the system is unknown
+     */
+    public long getSystemSize(String system) {
+        final ModelCatalog.Entry entry;
         try {
-            Files.createDirectories(outputRootPath);
-        } catch (final IOException e) {
+            entry = getModelCatalog().get(system);
+        } catch (IOException e) {
             FeatJAR.log().error(e);
+            return -1;
         }
+        return entry == null ? -1 : entry.getSize();
+    }
 
-        if (currentOutputMarker == null) {
-            currentOutputMarker = getTimeStamp();
-            try {
-                Files.write(currentOutputMarkerFile, currentOutputMarker.getBytes(StandardCharsets.UTF_8));
-            } catch (final IOException e) {
-                FeatJAR.log().error(e);
+    /**
+     * Orders the combinations of the {@link #optionCombiner option combiner} according to {@link #schedule}.
+     * For longest-first, the runtime of each combination is predicted from the {@link RuntimeHistory runtime history}.
+     * In a {@link #dryRun dry run}, the same prediction is used to estimate the cost of the combinations.
+     * Must be called after {@link OptionCombiner#init(de.featjar.base.cli.AListOption...)}.
+     *
+     * @param algorithmName maps the value indices of a combination to the {@link Algorithm#getFullName() full name} of the algorithm that is run
+     * @param systemOptionIndex the index of the option that contains the system name
+     */
+    public void scheduleCombinations(Function<int[], String> algorithmName, int systemOptionIndex) {
+        if (costEstimator != null) {
+            costEstimator.setCostModel(algorithmName, systemOptionIndex);
+        }
+        final String order = getOption(schedule);
+        switch (order) {
+            case "lexicographic":
+                optionCombiner.setPriority(null);
+                break;
+            case "longest-first":
+                optionCombiner.setPriority(indices -> {
+                    final String system = optionCombiner.getValue(systemOptionIndex, indices);
+                    return runtimeHistory.predict(algorithmName.apply(indices), system, getSystemSize(system));
+                });
+                break;
+            default:
+                throw new IllegalArgumentException(String.format("Unknown schedule: %s", order));
+        }
+    }
+
+    /**
+     * Races the configurations of the {@link #optionCombiner option combiner} according to {@link #race} without replicates.
+     * Every option that does not describe an instance forms a configuration, so an iteration option must be an instance option,
+     * or {@link #raceCombinations(int[], int[])} must be used to treat it as replicate.
+     *
+     * @param instanceOptionIndices the indices of the options that describe an instance, typically the option that contains the system name
+     */
+    public void raceCombinations(int... instanceOptionIndices) {
+        raceCombinations(instanceOptionIndices, new int[0]);
+    }
+
+    /**
+     * Races the configurations of the {@link #optionCombiner option combiner} according to {@link #race}.
+     * The instance options form the instances and the replicate options form the replicates of each run, e.g., its iterations.
+     * All other options form the configurations, which are ranked on each instance by the median cost of their replicates.
+     * Must be called after {@link OptionCombiner#init(de.featjar.base.cli.AListOption...)} and requires results to be {@link #report(ProcessResult) reported}.
+     * Before each elimination, the race waits until all {@link #createPipeline(String) pipelines} are idle, so results reported from their stages are included.
+     *
+     * @param instanceOptionIndices the indices of the options that describe an instance, typically the option that contains the system name
+     * @param replicateOptionIndices the indices of the options that describe a replicate, typically the iteration options
+     */
+    public void raceCombinations(int[] instanceOptionIndices, int[] replicateOptionIndices) {
+        final String elimination = getOption(race);
+        if ("none".equals(elimination)) {
+            optionCombiner.setRace(null);
+            return;
+        }
+        final ConfigurationRace configurationRace;
+        switch (elimination) {
+            case "friedman":
+                configurationRace = new ConfigurationRace(
+                        ConfigurationRace.Elimination.FRIEDMAN,
+                        instanceOptionIndices,
+                        replicateOptionIndices,
+                        getOption(raceInstances),
+                        getOption(raceAlpha) / 100.0);
+                break;
+            case "halving":
+                configurationRace = new ConfigurationRace(
+                        ConfigurationRace.Elimination.HALVING,
+                        instanceOptionIndices,
+                        replicateOptionIndices,
+                        getOption(raceInstances),
+                        getOption(raceAlpha) / 100.0);
+                break;
+            default:
+                throw new IllegalArgumentException(String.format("Unknown race: %s", elimination));
+        }
+        configurationRace.setLog(csvPath.resolve("race.csv"));
+        configurationRace.setRoundBarrier(() -> pipelines.forEach(StagedPipeline::awaitIdle));
+        optionCombiner.setRace(configurationRace);
+    }
+
+    /**
+     * Adds the runtime of a finished run to the {@link RuntimeHistory runtime history}.
+     * Results restored from the {@link ResultCache result cache} are ignored.
+     *
+     * @param algorithm the algorithm that was run
+     * @param system the name of the system
+     * @param result the result of the run
+     */
+    public void recordRuntime(Algorithm<?> algorithm, String system, ProcessResult<?> result) {
+        if (runtimeHistory != null && !result.isCached()) {
+            runtimeHistory.record(
+                    algorithm.getFullName(),
+                    system,
+                    getSystemSize(system),
+                    result.getTime(),
+                    result.isTerminatedInTime());
+        }
+    }
+
+    /**
+     * Reports the result of the run for the current combination of the {@link #optionCombiner option combiner}.
+     * Applies its pruning rules and adds the result to the {@link #statistics live summary}.
+     *
+     * @param result the result of the run
+     */
+    public void report(ProcessResult<?> result) {
+        report(optionCombiner.getProgress().getIndices(), result);
+    }
+
+    /**
+     * Reports the result of the run for the given combination of the {@link #optionCombiner option combiner}.
+     * Can be called from stages of a {@link #createPipeline(String) pipeline}.
+     *
+     * @param indices the value indices of the combination
+     * @param result the result of the run
+     */
+    public void report(int[] indices, ProcessResult<?> result) {
+        optionCombiner.report(indices, result);
+        if (statistics != null) {
+            statistics.add(optionCombiner.getCombination(indices), result);
+        }
+    }
+
+    /**
+     * Creates a pipeline whose stages run concurrently, e.g., to parse and write the results of one run while the next run is already executed.
+     * The pipeline is closed on {@link #dispose()} at the latest.
+     * Stages should be added with {@link #getStageWorkers(String, int)} and {@link #stageQueue} as queue capacity.
+     * Algorithms run in a stage should get the combination of their work item via {@link Algorithm#setCombination(List)}.
+     *
+     * @param <T> the type of the work items
+     * @param name the name of the pipeline
+     * @return the new pipeline
+     */
+    public <T> StagedPipeline<T> createPipeline(String name) {
+        final StagedPipeline<T> pipeline = new StagedPipeline<>(name);
+        pipelines.add(pipeline);
+        return pipeline;
+    }
+
+    /**
+     * Returns the number of workers for a pipeline stage as given by {@link #stageWorkers}.
+     *
+     * @param stageName the name of the stage
+     * @param defaultWorkers the number of workers if none is given for the stage
+     * @return the number of workers
+     * @throws IllegalArgumentException if the number of workers assigned to the stage is not a positive integer
+     */
+    public int getStageWorkers(String stageName, int defaultWorkers) {
+        for (String entry : getOption(stageWorkers).split(",")) {
+            final String[] assignment = entry.split("=");
+            if (assignment.length == 2 && assignment[0].trim().equals(stageName)) {
+                int workers;
+                try {
+                    workers = Integer.parseInt(assignment[1].trim());
+                } catch (NumberFormatException e) {
+                    workers = 0;
+                }
+                if (workers < 1) {
+                    throw new IllegalArgumentException(String.format(
+                            "Invalid number of workers for option %s: %s. Must be a positive integer.",
+                            stageWorkers.getName(),
+                            entry.trim()));
+                }
+                return workers;
             }
         }
-        return currentOutputMarker;
+        return defaultWorkers;
+    }
+
+    /**
+     * Returns the memory that is reserved for each run, i.e., the max memory (see {@link #memory}) plus overhead or the cgroup limit.
+     * Without either, the default max heap of the JVM (a quarter of the physical memory) plus overhead is reserved.
+     *
+     * @return the memory in bytes or -1 if it cannot be determined
+     */
+    public long getMemoryPerRun() {
+        final long overheadBytes = ((long) getOption(memoryOverhead)) << 20;
+        final int heap = getOption(memory);
+        if (heap >= 0) {
+            return (((long) heap) << 30) + overheadBytes;
+        }
+        final int limit = getOption(cgroupMemory);
+        if (limit > 0) {
+            return ((long) limit) << 20;
+        }
+        final long defaultHeap = MemoryAdmission.readDefaultHeap();
+        return defaultHeap > 0 ? defaultHeap + overheadBytes : -1;
     }
 
     protected abstract void runEvaluation() throws Exception;
@@ -148,6 +718,29 @@ public abstract class Evaluator extends ACommand {
             init();
 
             updateSubPaths();
+            optionCombiner.setSkipLog(csvPath.resolve("skipped.csv"));
+            optionCombiner.setSampler(
+                    createSampler(getOption(sampling)),
+                    optionParser.getResult(randomSeed).orElse(System.currentTimeMillis()));
+            optionCombiner.setSampleLog(csvPath.resolve("sample.csv"), csvPath.resolve("sample-coverage.csv"));
+            statistics = new StatisticsAggregator(csvPath.resolve("summary.csv"), getOption(summaryInterval));
+            if (getOption(statusInterval) > 0) {
+                statusWriter =
+                        new StatusWriter(csvPath.resolve("status.json"), getOption(statusInterval), optionCombiner);
+            }
+
+            runtimeHistory = new RuntimeHistory(outputRootPath.resolve("runtime-history.csv"));
+            runtimeHistory.load();
+            if (getOption(dryRun)) {
+                costEstimator = new CostEstimator(
+                        optionCombiner,
+                        runtimeHistory,
+                        this::getSystemSize,
+                        getOption(dryRunParallelism),
+                        getMemoryPerRun(),
+                        getOption(timeout));
+                optionCombiner.setDryRun(costEstimator::add);
+            }
 
             FeatJAR.log().info("Running " + getIdentifier());
             Properties properties = new Properties();
@@ -163,13 +756,16 @@ public abstract class Evaluator extends ACommand {
             }
 
             runEvaluation();
+            if (costEstimator != null) {
+                costEstimator.report(csvPath.resolve("plan.csv"), getOption(dryRunTop));
+            }
             return 0;
         } catch (final Exception e) {
             FeatJAR.log().error(e);
             return FeatJAR.ERROR_COMPUTING_RESULT;
         } finally {
-            FeatJAR.log().dispose();
             dispose();
+            FeatJAR.log().dispose();
         }
     }
 
@@ -177,13 +773,81 @@ public abstract class Evaluator extends ACommand {
         outputRootPath = optionParser.getResult(OUTPUT_OPTION).get();
         resourcePath = optionParser.getResult(resourcesPathOption).get();
         modelPath = optionParser.getResult(modelsPathOption).get();
-        systemNames = Files.list(modelPath)
-                .map(p -> p.getFileName().toString())
-                .sorted()
-                .collect(Collectors.toList());
+        final long maxFeatureCount = getOption(maxFeatures);
+        final String order = getOption(systemOrder);
+        if (maxFeatureCount < 0 && "name".equals(order)) {
+            try (Stream<Path> files = Files.list(modelPath)) {
+                systemNames = files.map(p -> p.getFileName().toString())
+                        .filter(name -> !name.startsWith("."))
+                        .sorted()
+                        .collect(Collectors.toList());
+            }
+        } else {
+            systemNames = getModelCatalog()
+                    .getNames(
+                            e -> maxFeatureCount < 0 || e.getFeatureCount() <= maxFeatureCount,
+                            getSystemOrder(order));
+        }
         FeatJAR.log().info("Running " + this.getClass().getSimpleName());
     }
 
+    /**
+     * Returns the {@link ModelCatalog model catalog} of the model directory.
+     * It is only built when it is first needed, e.g., to order or filter the systems or to predict runtimes, as building it hashes all models.
+     *
+     * @return the model catalog
+     * @throws IOException if the model directory cannot be read
+     */
+    public synchronized ModelCatalog getModelCatalog() throws IOException {
+        if (modelCatalog == null) {
+            final ModelCatalog catalog = new ModelCatalog(modelPath);
+            catalog.update(getModelStatistics());
+            modelCatalog = catalog;
+        }
+        return modelCatalog;
+    }
+
+    /**
+     * Returns the statistics that are stored for each system in the {@link ModelCatalog model catalog}.
+     * Statistics are only computed for new or modified models.
+     *
+     * @return the statistics or {@code null} if no statistics should be computed
+     */
+    protected IModelStatistics getModelStatistics() {
+        return null;
+    }
+
+    private ICombinationSampler createSampler(String strategy) {
+        switch (strategy) {
+            case "none":
+                return null;
+            case "random":
+                return new RandomSampler(getOption(sampleSize));
+            case "latin-hypercube":
+                return new LatinHypercubeSampler(getOption(sampleSize));
+            case "pairwise":
+                return new PairwiseSampler();
+            default:
+                throw new IllegalArgumentException(String.format("Unknown sampling strategy: %s", strategy));
+        }
+    }
+
+    private Comparator<ModelCatalog.Entry> getSystemOrder(String order) {
+        final Comparator<ModelCatalog.Entry> byName = Comparator.comparing(ModelCatalog.Entry::getName);
+        switch (order) {
+            case "name":
+                return byName;
+            case "size":
+                return Comparator.comparingLong(ModelCatalog.Entry::getSize).thenComparing(byName);
+            case "features":
+                return Comparator.comparingLong(ModelCatalog.Entry::getFeatureCount).thenComparing(byName);
+            case "constraints":
+                return Comparator.comparingLong(ModelCatalog.Entry::getConstraintCount).thenComparing(byName);
+            default:
+                throw new IllegalArgumentException(String.format("Unknown system order: %s", order));
+        }
+    }
+
     private void updateSubPaths() throws IOException {
         initSubPaths();
         try {
@@ -200,8 +864,9 @@ public abstract class Evaluator extends ACommand {
     protected void initSubPaths() {
         outputPath = outputRootPath.resolve(readCurrentOutputMarker());
         dataPath = outputPath.resolve("data");
-        csvPath = dataPath.resolve("data-" + getTimeStamp());
-        tempPath = outputPath.resolve("temp");
+        final long pid = ProcessHandle.current().pid();
+        csvPath = dataPath.resolve("data-" + getTimeStamp() + "-" + pid);
+        tempPath = outputPath.resolve("temp").resolve(String.valueOf(pid));
         genPath = outputPath.resolve("gen");
     }
 
@@ -226,36 +891,84 @@ public abstract class Evaluator extends ACommand {
     }
 
     public void dispose() {
+        for (StagedPipeline<?> pipeline : pipelines) {
+            pipeline.close();
+        }
+        if (runtimeHistory != null) {
+            runtimeHistory.save();
+        }
+        if (admission != null) {
+            FeatJAR.log().info(admission.printStatus());
+        }
+        if (resultCache != null) {
+            FeatJAR.log().info(resultCache.printStatus());
+        }
+        if (scratchSpace != null) {
+            scratchSpace.close();
+        }
+        if (profiler != null) {
+            profiler.close();
+        }
+        if (modelPreparer != null) {
+            FeatJAR.log().info(modelPreparer.printStatus());
+        }
+        if (noiseMonitor != null) {
+            FeatJAR.log()
+                    .info(
+                            "Noise monitor: %d calibrations, fastest %d ms",
+                            noiseMonitor.getCalibrations(),
+                            noiseMonitor.getBaselineTime() / 1_000_000L);
+            noiseMonitor.close();
+        }
+        if (sharedArchives != null) {
+            FeatJAR.log().info(sharedArchives.printStatus());
+        }
+        if (logSink != null) {
+            logSink.close();
+            FeatJAR.log().info(logSink.printStatus());
+        }
+        if (statistics != null) {
+            statistics.close();
+        }
+        if (statusWriter != null) {
+            statusWriter.close();
+        }
         deleteTempFolder();
     }
 
     private void deleteTempFolder() {
         if (tempPath != null) {
             try {
-                Files.walkFileTree(tempPath, new SimpleFileVisitor<Path>() {
-                    @Override
-                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
-                        Files.delete(file);
-                        return FileVisitResult.CONTINUE;
-                    }
-
-                    @Override
-                    public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
-                        Files.deleteIfExists(dir);
-                        return FileVisitResult.CONTINUE;
-                    }
-                });
+                FileUtils.deleteRecursively(tempPath);
             } catch (final IOException e) {
                 e.printStackTrace();
             }
         }
     }
 
+    /**
+     * Creates a new CSV file in the {@link #csvPath data directory} of this evaluation with the first unused suffix.
+     * The file is created atomically, so the name is unique even if other threads or processes create files with the same name.
+     *
+     * @param fileName the name of the file without suffix and extension
+     * @param csvHeader the header fields
+     * @return the CSV file
+     * @throws IOException if the file cannot be created
+     */
     public CSVFile addCSVWriter(String fileName, String... csvHeader) throws IOException {
-        long count = Files.walk(csvPath)
-                .filter(p -> p.getFileName().toString().matches(Pattern.quote(fileName) + "(-\\d+)?[.]csv"))
-                .count();
-        final Path csvFilePath = csvPath.resolve(fileName + "-" + count + ".csv");
+        final long count;
+        try (Stream<Path> files = Files.walk(csvPath)) {
+            count = files.filter(p -> p.getFileName().toString().matches(Pattern.quote(fileName) + "(-\\d+)?[.]csv"))
+                    .count();
+        }
+        Path csvFilePath = null;
+        for (long i = count; csvFilePath == null; i++) {
+            try {
+                csvFilePath = Files.createFile(csvPath.resolve(fileName + "-" + i + ".csv"));
+            } catch (final FileAlreadyExistsException e) {
+                // allocated concurrently, try next suffix
+            }
+        }
         final CSVFile csvWriter = new CSVFile(csvFilePath);
         csvWriter.setHeaderFields(csvHeader);
         csvWriter.flush();
@@ -0,0 +1,301 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.base.cli.ACommand;
+import de.featjar.base.cli.Option;
+import de.featjar.base.cli.OptionList;
+import de.featjar.evaluation.analysis.ColumnType;
+import de.featjar.evaluation.analysis.ResultLoader;
+import de.featjar.evaluation.analysis.ResultTable;
+import de.featjar.evaluation.util.StatisticalTests;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Compares the results of a candidate evaluation to a baseline evaluation, e.g., to detect whether a new version of an algorithm got slower.
+ * Results are paired by the values of the pair columns (e.g., system and iteration) and compared per group (e.g., algorithm) with a Wilcoxon signed-rank test.
+ * Integral numbers are paired regardless of whether they were written as integers or floating point numbers.
+ * Each pair must occur at most once per group and evaluation.
+ * The p-values of all groups are adjusted for multiple comparisons (Holm-Bonferroni).
+ * A group regressed if its candidate values are significantly larger by at least the minimum slowdown, or if runs failed only in the candidate.
+ * Exits with {@link #REGRESSION_DETECTED} if any group regressed.
+ */
+public class RegressionComparison extends ACommand {
+
+    public static final int REGRESSION_DETECTED = 2;
+
+    public static final Option<Path> baselineOption = Option.newOption("baseline", Option.PathParser)
+            .setDescription("Path to the data directory of the baseline evaluation.");
+    public static final Option<Path> candidateOption = Option.newOption("candidate", Option.PathParser)
+            .setDescription("Path to the data directory of the candidate evaluation.");
+    public static final Option<String> resultFile = Option.newOption("results", Option.StringParser)
+            .setDescription("The name of the CSV files containing the results (e.g., runs for runs-0.csv).");
+    public static final Option<Path> reportFile = Option.newOption("report", Option.PathParser)
+            .setDescription("Path to the regression report. Defaults to regression.csv in the candidate directory.");
+    public static final Option<String> groupColumns =
+            Option.newOption("group-columns", Option.StringParser, "algorithm")
+                    .setDescription("Comma-separated columns that identify the compared groups.");
+    public static final Option<String> pairColumns =
+            Option.newOption("pair-columns", Option.StringParser, "system,iteration")
+                    .setDescription("Comma-separated columns that identify a pair of results within a group.");
+    public static final Option<String> valueColumn = Option.newOption("value-column", Option.StringParser, "time")
+            .setDescription("The compared column. Missing or negative values are considered failed runs.");
+    public static final Option<Integer> alphaOption = Option.newOption("alpha", Option.IntegerParser, 5)
+            .setDescription("The significance level in percent.");
+    public static final Option<Integer> minSlowdown = Option.newOption("min-slowdown", Option.IntegerParser, 5)
+            .setDescription("The minimum increase in percent of the median value that is considered a regression.");
+
+    private static final class Group {
+        private final Map<List<String>, Double> baseline = new HashMap<>();
+        private final Map<List<String>, Double> candidate = new HashMap<>();
+    }
+
+    private static final class Comparison {
+        private String group;
+        private int pairs;
+        private boolean unpaired;
+        private int newFailures;
+        private int fixedFailures;
+        private double baselineMedian;
+        private double candidateMedian;
+        private double pValue;
+        private double effectSize;
+        private String verdict;
+    }
+
+    @Override
+    public int run(OptionList optionParser) {
+        try {
+            final Path baseline = optionParser.getResult(baselineOption).orElseThrow();
+            final Path candidate = optionParser.getResult(candidateOption).orElseThrow();
+            final String fileName = optionParser.getResult(resultFile).orElseThrow();
+            final Path report = optionParser.getResult(reportFile).orElse(candidate.resolve("regression.csv"));
+            final List<String> groupBy = split(optionParser.getResult(groupColumns).orElseThrow());
+            final List<String> pairBy = split(optionParser.getResult(pairColumns).orElseThrow());
+            final String value = optionParser.getResult(valueColumn).orElseThrow();
+            final double alpha = optionParser.getResult(alphaOption).orElseThrow() / 100.0;
+            final double slowdown = 1 + optionParser.getResult(minSlowdown).orElseThrow() / 100.0;
+
+            final TreeMap<String, Group> groups = new TreeMap<>();
+            final ResultLoader loader = new ResultLoader();
+            collect(loader.load(baseline, fileName), groupBy, pairBy, value, groups, true);
+            collect(loader.load(candidate, fileName), groupBy, pairBy, value, groups, false);
+
+            final List<Comparison> comparisons = new ArrayList<>(groups.size());
+            for (Map.Entry<String, Group> entry : groups.entrySet()) {
+                comparisons.add(compare(entry.getKey(), entry.getValue()));
+            }
+            final double[] adjusted =
+                    StatisticalTests.holm(comparisons.stream().mapToDouble(c -> c.pValue).toArray());
+            int regressions = 0;
+            for (int i = 0; i < adjusted.length; i++) {
+                final Comparison comparison = comparisons.get(i);
+                comparison.pValue = adjusted[i];
+                final double ratio = comparison.candidateMedian / comparison.baselineMedian;
+                if (comparison.newFailures > 0) {
+                    comparison.verdict = "failing";
+                } else if (comparison.unpaired) {
+                    comparison.verdict = "unpaired";
+                } else if (comparison.pairs == 0 || comparison.pValue >= alpha) {
+                    comparison.verdict = "unchanged";
+                } else if (comparison.effectSize > 0 && ratio >= slowdown) {
+                    comparison.verdict = "slower";
+                } else if (comparison.effectSize < 0 && ratio <= 1 / slowdown) {
+                    comparison.verdict = "faster";
+                } else {
+                    comparison.verdict = "unchanged";
+                }
+                if ("failing".equals(comparison.verdict) || "slower".equals(comparison.verdict)) {
+                    regressions++;
+                }
+                FeatJAR.log()
+                        .info(
+                                "%-40s %-9s median %s -> %s (p = %.4f, r = %.2f, %d pairs, %d new failures)",
+                                comparison.group,
+                                comparison.verdict,
+                                comparison.baselineMedian,
+                                comparison.candidateMedian,
+                                comparison.pValue,
+                                comparison.effectSize,
+                                comparison.pairs,
+                                comparison.newFailures);
+            }
+            writeReport(report, comparisons);
+            FeatJAR.log().info("%d of %d groups regressed. Report: %s", regressions, comparisons.size(), report);
+            return regressions > 0 ? REGRESSION_DETECTED : 0;
+        } catch (final Exception e) {
+            FeatJAR.log().error(e);
+            return FeatJAR.ERROR_COMPUTING_RESULT;
+        }
+    }
+
+    private static List<String> split(String columns) {
+        final ArrayList<String> names = new ArrayList<>();
+        for (String column : columns.split(",")) {
+            if (!column.isBlank()) {
+                names.add(column.trim());
+            }
+        }
+        return names;
+    }
+
+    private static void collect(
+            ResultTable table,
+            List<String> groupBy,
+            List<String> pairBy,
+            String value,
+            Map<String, Group> groups,
+            boolean isBaseline) {
+        final int[] groupIndices = groupBy.stream().mapToInt(table::getColumnIndex).toArray();
+        final int[] pairIndices = pairBy.stream().mapToInt(table::getColumnIndex).toArray();
+        final int valueIndex = table.getColumnIndex(value);
+        for (int row = 0; row < table.getRowCount(); row++) {
+            final String[] groupValues = new String[groupIndices.length];
+            for (int i = 0; i < groupIndices.length; i++) {
+                groupValues[i] = getKey(table, groupIndices[i], row);
+            }
+            final String[] pairValues = new String[pairIndices.length];
+            for (int i = 0; i < pairIndices.length; i++) {
+                pairValues[i] = getKey(table, pairIndices[i], row);
+            }
+            final Group group = groups.computeIfAbsent(String.join(",", groupValues), k -> new Group());
+            final Map<List<String>, Double> values = isBaseline ? group.baseline : group.candidate;
+            double rowValue;
+            try {
+                rowValue = table.getDouble(valueIndex, row);
+            } catch (NumberFormatException e) {
+                rowValue = Double.NaN;
+            }
+            final List<String> pair = Arrays.asList(pairValues);
+            if (values.put(pair, rowValue >= 0 ? rowValue : Double.NaN) != null) {
+                throw new IllegalArgumentException(String.format(
+                        "Duplicate %s result for group %s and pair %s. Add the distinguishing columns to --%s.",
+                        isBaseline ? "baseline" : "candidate",
+                        String.join(",", groupValues),
+                        pair,
+                        pairColumns.getName()));
+            }
+        }
+    }
+
+    private static String getKey(ResultTable table, int column, int row) {
+        if (table.getType(column) == ColumnType.DOUBLE) {
+            final double value = table.getDouble(column, row);
+            if (value == Math.rint(value) && Math.abs(value) < 0x1p53) {
+                return String.valueOf((long) value);
+            }
+        }
+        return table.getString(column, row);
+    }
+
+    private static Comparison compare(String name, Group group) {
+        final Comparison comparison = new Comparison();
+        comparison.group = name;
+        final ArrayList<Double> baselineValues = new ArrayList<>();
+        final ArrayList<Double> candidateValues = new ArrayList<>();
+        for (Map.Entry<List<String>, Double> entry : group.baseline.entrySet()) {
+            final Double candidateValue = group.candidate.get(entry.getKey());
+            if (candidateValue == null) {
+                continue;
+            }
+            final boolean baselineFailed = Double.isNaN(entry.getValue());
+            final boolean candidateFailed = Double.isNaN(candidateValue);
+            if (candidateFailed && !baselineFailed) {
+                comparison.newFailures++;
+            } else if (baselineFailed && !candidateFailed) {
+                comparison.fixedFailures++;
+            } else if (!baselineFailed) {
+                baselineValues.add(entry.getValue());
+                candidateValues.add(candidateValue);
+            }
+        }
+        comparison.pairs = baselineValues.size();
+        comparison.unpaired = comparison.pairs + comparison.newFailures + comparison.fixedFailures == 0
+                && !group.baseline.isEmpty()
+                && !group.candidate.isEmpty();
+        if (comparison.unpaired) {
+            FeatJAR.log().warning("No result of group %s could be paired between baseline and candidate", name);
+        }
+        final double[] differences = new double[comparison.pairs];
+        for (int i = 0; i < differences.length; i++) {
+            differences[i] = candidateValues.get(i) - baselineValues.get(i);
+        }
+        comparison.baselineMedian = median(baselineValues);
+        comparison.candidateMedian = median(candidateValues);
+        comparison.pValue = StatisticalTests.wilcoxonSignedRank(differences);
+        comparison.effectSize = StatisticalTests.rankBiserial(differences);
+        return comparison;
+    }
+
+    private static double median(List<Double> values) {
+        if (values.isEmpty()) {
+            return Double.NaN;
+        }
+        final double[] sorted = values.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+        final int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    private static void writeReport(Path report, List<Comparison> comparisons) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(report, StandardCharsets.UTF_8)) {
+            writer.write(
+                    "group;pairs;newFailures;fixedFailures;baselineMedian;candidateMedian;ratio;pValue;effectSize;verdict");
+            writer.newLine();
+            for (Comparison comparison : comparisons) {
+                writer.write(String.join(
+                        ";",
+                        comparison.group,
+                        String.valueOf(comparison.pairs),
+                        String.valueOf(comparison.newFailures),
+                        String.valueOf(comparison.fixedFailures),
+                        String.valueOf(comparison.baselineMedian),
+                        String.valueOf(comparison.candidateMedian),
+                        String.valueOf(comparison.candidateMedian / comparison.baselineMedian),
+                        String.valueOf(comparison.pValue),
+                        String.valueOf(comparison.effectSize),
+                        comparison.verdict));
+                writer.newLine();
+            }
+        }
+    }
+
+    @Override
+    public Optional<String> getDescription() {
+        return Optional.of("Compares the results of a candidate evaluation to a baseline and detects regressions.");
+    }
+
+    @Override
+    public Optional<String> getShortName() {
+        return Optional.of("regression-comparison");
+    }
+}
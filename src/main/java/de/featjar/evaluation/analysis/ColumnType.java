@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.analysis;
+
+/**
+ * The type of a column in a {@link ResultTable}.
+ */
+public enum ColumnType {
+    /**
+     * Integral values, stored as {@code long[]}.
+     */
+    LONG,
+    /**
+     * Floating point values, stored as {@code double[]}.
+     */
+    DOUBLE,
+    /**
+     * Arbitrary text, stored as {@code int[]} codes into a dictionary of distinct values.
+     */
+    STRING;
+
+    /**
+     * Returns the most specific type that can hold values of both types.
+     *
+     * @param other the other type
+     * @return the widened type
+     */
+    public ColumnType widen(ColumnType other) {
+        return compareTo(other) >= 0 ? this : other;
+    }
+}
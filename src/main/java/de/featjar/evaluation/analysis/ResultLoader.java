@@ -0,0 +1,432 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.analysis;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Loads CSV files with results into a column-oriented {@link ResultTable}.
+ * Files are memory-mapped and split at line boundaries into chunks that are parsed in parallel.
+ * Column types are inferred from the first lines and widened (long, double, string) if a later value does not fit.
+ * All files must have the same header.
+ */
+public class ResultLoader {
+
+    private static final int SAMPLE_ROWS = 1000;
+
+    private byte separator = ';';
+    private int chunkSize = 8 << 20;
+
+    public void setSeparator(char separator) {
+        this.separator = (byte) separator;
+    }
+
+    /**
+     * Sets the approximate number of bytes parsed by one task.
+     *
+     * @param chunkSize the size in bytes
+     */
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Loads all CSV files with the given name within a directory and its subdirectories.
+     * Matches the file names created by {@link de.featjar.evaluation.Evaluator#addCSVWriter(String, String...)} (e.g., {@code name-0.csv}).
+     *
+     * @param directory the directory, usually a {@code data-*} directory of an evaluation
+     * @param fileName the name of the files without suffix and extension
+     * @return the table containing the rows of all files
+     * @throws IOException if a file cannot be read
+     */
+    public ResultTable load(Path directory, String fileName) throws IOException {
+        final Pattern pattern = Pattern.compile(Pattern.quote(fileName) + "(-\\d+)?[.]csv");
+        final List<Path> files;
+        try (Stream<Path> walk = Files.walk(directory)) {
+            files = walk.filter(p -> pattern.matcher(p.getFileName().toString()).matches())
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        return load(files);
+    }
+
+    /**
+     * Loads the given CSV files.
+     *
+     * @param files the files
+     * @return the table containing the rows of all files
+     * @throws IOException if a file cannot be read
+     * @throws IllegalArgumentException if the headers of the files differ
+     */
+    public ResultTable load(List<Path> files) throws IOException {
+        final ArrayList<FileChannel> channels = new ArrayList<>();
+        try {
+            String[] header = null;
+            final ArrayList<Chunk> chunks = new ArrayList<>();
+            for (Path file : files) {
+                final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+                channels.add(channel);
+                final long size = channel.size();
+                final ByteArrayOutputStream headerLine = new ByteArrayOutputStream();
+                final long headerEnd = readLine(channel, 0, size, headerLine);
+                final String[] fileHeader = splitHeader(headerLine.toString(StandardCharsets.UTF_8));
+                if (header == null) {
+                    header = fileHeader;
+                } else if (!Arrays.equals(header, fileHeader)) {
+                    throw new IllegalArgumentException(String.format("Header of %s differs from previous files", file));
+                }
+                for (long start = headerEnd; start < size; ) {
+                    final long end =
+                            start + chunkSize >= size ? size : readLine(channel, start + chunkSize, size, null);
+                    chunks.add(new Chunk(channel, start, end));
+                    start = end;
+                }
+            }
+            if (header == null) {
+                return new ResultTable(new String[0], new ColumnType[0], new Object[0], new String[0][], 0);
+            }
+
+            ColumnType[] types = new ColumnType[header.length];
+            Arrays.fill(types, ColumnType.LONG);
+            if (!chunks.isEmpty()) {
+                ColumnType[] widened = types;
+                while (widened != null) {
+                    types = widened;
+                    widened = widen(types, parse(chunks.get(0), types, SAMPLE_ROWS));
+                }
+            }
+            while (true) {
+                final ColumnType[] currentTypes = types;
+                final List<ChunkColumns> parsedChunks;
+                try {
+                    parsedChunks = chunks.parallelStream()
+                            .map(chunk -> parse(chunk, currentTypes, Integer.MAX_VALUE))
+                            .collect(Collectors.toList());
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                ColumnType[] widenedTypes = types;
+                for (ChunkColumns parsedChunk : parsedChunks) {
+                    final ColumnType[] chunkTypes = widen(widenedTypes, parsedChunk);
+                    if (chunkTypes != null) {
+                        widenedTypes = chunkTypes;
+                    }
+                }
+                if (widenedTypes == types) {
+                    return merge(header, types, parsedChunks);
+                }
+                types = widenedTypes;
+            }
+        } finally {
+            for (FileChannel channel : channels) {
+                channel.close();
+            }
+        }
+    }
+
+    private static class Chunk {
+        private final FileChannel channel;
+        private final long start;
+        private final long end;
+
+        private Chunk(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    private static class ChunkColumns {
+        private final ColumnBuilder[] columns;
+        private int rowCount;
+
+        private ChunkColumns(ColumnType[] types) {
+            columns = new ColumnBuilder[types.length];
+            for (int i = 0; i < types.length; i++) {
+                columns[i] = new ColumnBuilder(types[i]);
+            }
+        }
+    }
+
+    private static class ColumnBuilder {
+        private final ColumnType type;
+        private ColumnType requiredType;
+        private long[] longs;
+        private double[] doubles;
+        private int[] codes;
+        private HashMap<String, Integer> dictionary;
+        private ArrayList<String> values;
+        private int size;
+
+        private ColumnBuilder(ColumnType type) {
+            this.type = type;
+            this.requiredType = type;
+            switch (type) {
+                case LONG:
+                    longs = new long[1024];
+                    break;
+                case DOUBLE:
+                    doubles = new double[1024];
+                    break;
+                default:
+                    codes = new int[1024];
+                    dictionary = new HashMap<>();
+                    values = new ArrayList<>();
+                    break;
+            }
+        }
+
+        private void add(ByteBuffer buffer, int from, int to) {
+            if (requiredType != type) {
+                return;
+            }
+            switch (type) {
+                case LONG:
+                    if (size == longs.length) {
+                        longs = Arrays.copyOf(longs, size * 2);
+                    }
+                    if (from == to) {
+                        longs[size++] = ResultTable.MISSING_LONG;
+                    } else if (!parseLong(buffer, from, to)) {
+                        requiredType = isDouble(decode(buffer, from, to)) ? ColumnType.DOUBLE : ColumnType.STRING;
+                    }
+                    break;
+                case DOUBLE:
+                    if (size == doubles.length) {
+                        doubles = Arrays.copyOf(doubles, size * 2);
+                    }
+                    if (from == to) {
+                        doubles[size++] = Double.NaN;
+                    } else {
+                        try {
+                            doubles[size] = Double.parseDouble(decode(buffer, from, to));
+                            size++;
+                        } catch (NumberFormatException e) {
+                            requiredType = ColumnType.STRING;
+                        }
+                    }
+                    break;
+                default:
+                    if (size == codes.length) {
+                        codes = Arrays.copyOf(codes, size * 2);
+                    }
+                    codes[size++] = dictionary.computeIfAbsent(decode(buffer, from, to), value -> {
+                        values.add(value);
+                        return values.size() - 1;
+                    });
+                    break;
+            }
+        }
+
+        private boolean parseLong(ByteBuffer buffer, int from, int to) {
+            final boolean negative = buffer.get(from) == '-';
+            final int start = negative ? from + 1 : from;
+            if (start == to || to - start > 18) {
+                return false;
+            }
+            long value = 0;
+            for (int i = start; i < to; i++) {
+                final int digit = buffer.get(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    return false;
+                }
+                value = value * 10 + digit;
+            }
+            longs[size++] = negative ? -value : value;
+            return true;
+        }
+
+        private static boolean isDouble(String value) {
+            try {
+                Double.parseDouble(value);
+                return true;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+
+        private static String decode(ByteBuffer buffer, int from, int to) {
+            final byte[] bytes = new byte[to - from];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = buffer.get(from + i);
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private ChunkColumns parse(Chunk chunk, ColumnType[] types, int maxRows) {
+        final MappedByteBuffer buffer;
+        try {
+            buffer = chunk.channel.map(FileChannel.MapMode.READ_ONLY, chunk.start, chunk.end - chunk.start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        final ChunkColumns parsedChunk = new ChunkColumns(types);
+        final ColumnBuilder[] columns = parsedChunk.columns;
+        final int limit = buffer.limit();
+        int column = 0;
+        int fieldStart = 0;
+        for (int i = 0; i <= limit && parsedChunk.rowCount < maxRows; i++) {
+            final byte c = i < limit ? buffer.get(i) : (byte) '\n';
+            if (c == '\n') {
+                final int fieldEnd = (i > fieldStart && buffer.get(i - 1) == '\r') ? i - 1 : i;
+                if (column > 0 || fieldEnd > fieldStart) {
+                    if (column < columns.length) {
+                        columns[column++].add(buffer, fieldStart, fieldEnd);
+                    }
+                    for (; column < columns.length; column++) {
+                        columns[column].add(buffer, 0, 0);
+                    }
+                    parsedChunk.rowCount++;
+                }
+                column = 0;
+                fieldStart = i + 1;
+            } else if (c == separator) {
+                if (column < columns.length) {
+                    columns[column].add(buffer, fieldStart, i);
+                }
+                column++;
+                fieldStart = i + 1;
+            }
+        }
+        return parsedChunk;
+    }
+
+    private static ColumnType[] widen(ColumnType[] types, ChunkColumns parsedChunk) {
+        ColumnType[] widenedTypes = null;
+        for (int i = 0; i < types.length; i++) {
+            final ColumnType requiredType = types[i].widen(parsedChunk.columns[i].requiredType);
+            if (requiredType != types[i]) {
+                if (widenedTypes == null) {
+                    widenedTypes = types.clone();
+                }
+                widenedTypes[i] = requiredType;
+            }
+        }
+        return widenedTypes;
+    }
+
+    private static ResultTable merge(String[] header, ColumnType[] types, List<ChunkColumns> parsedChunks) {
+        final long totalRows = parsedChunks.stream().mapToLong(chunk -> chunk.rowCount).sum();
+        if (totalRows > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format("Too many rows: %d", totalRows));
+        }
+        final int rowCount = (int) totalRows;
+        final Object[] columns = new Object[types.length];
+        final String[][] dictionaries = new String[types.length][];
+        IntStream.range(0, types.length).parallel().forEach(column -> {
+            int offset = 0;
+            switch (types[column]) {
+                case LONG:
+                    final long[] longs = new long[rowCount];
+                    for (ChunkColumns chunk : parsedChunks) {
+                        System.arraycopy(chunk.columns[column].longs, 0, longs, offset, chunk.rowCount);
+                        offset += chunk.rowCount;
+                    }
+                    columns[column] = longs;
+                    break;
+                case DOUBLE:
+                    final double[] doubles = new double[rowCount];
+                    for (ChunkColumns chunk : parsedChunks) {
+                        System.arraycopy(chunk.columns[column].doubles, 0, doubles, offset, chunk.rowCount);
+                        offset += chunk.rowCount;
+                    }
+                    columns[column] = doubles;
+                    break;
+                default:
+                    final int[] codes = new int[rowCount];
+                    final HashMap<String, Integer> dictionary = new HashMap<>();
+                    final ArrayList<String> values = new ArrayList<>();
+                    for (ChunkColumns chunk : parsedChunks) {
+                        final ColumnBuilder builder = chunk.columns[column];
+                        final int[] mapping = new int[builder.values.size()];
+                        for (int i = 0; i < mapping.length; i++) {
+                            mapping[i] = dictionary.computeIfAbsent(builder.values.get(i), value -> {
+                                values.add(value);
+                                return values.size() - 1;
+                            });
+                        }
+                        for (int row = 0; row < chunk.rowCount; row++) {
+                            codes[offset + row] = mapping[builder.codes[row]];
+                        }
+                        offset += chunk.rowCount;
+                    }
+                    columns[column] = codes;
+                    dictionaries[column] = values.toArray(new String[0]);
+                    break;
+            }
+        });
+        return new ResultTable(header.clone(), types, columns, dictionaries, rowCount);
+    }
+
+    /**
+     * Reads from the given position until the end of the line.
+     *
+     * @return the position after the line break
+     */
+    private static long readLine(FileChannel channel, long position, long size, ByteArrayOutputStream line)
+            throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        long current = position;
+        while (current < size) {
+            buffer.clear();
+            final int read = channel.read(buffer, current);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                final byte c = buffer.get(i);
+                if (c == '\n') {
+                    return current + i + 1;
+                }
+                if (line != null) {
+                    line.write(c);
+                }
+            }
+            current += read;
+        }
+        return size;
+    }
+
+    private String[] splitHeader(String line) {
+        if (line.endsWith("\r")) {
+            line = line.substring(0, line.length() - 1);
+        }
+        return line.split(Pattern.quote(String.valueOf((char) separator)), -1);
+    }
+}
@@ -0,0 +1,318 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.analysis;
+
+import de.featjar.evaluation.util.RunningStatistics;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Column-oriented table of results loaded by the {@link ResultLoader}.
+ * Numeric columns are stored as primitive arrays, text columns as dictionary codes.
+ * Missing numeric values are represented by {@link #MISSING_LONG} or {@link Double#NaN}.
+ */
+public class ResultTable {
+
+    public static final long MISSING_LONG = Long.MIN_VALUE;
+
+    private final String[] columnNames;
+    private final ColumnType[] types;
+    private final Object[] columns;
+    private final String[][] dictionaries;
+    private final int rowCount;
+
+    ResultTable(String[] columnNames, ColumnType[] types, Object[] columns, String[][] dictionaries, int rowCount) {
+        this.columnNames = columnNames;
+        this.types = types;
+        this.columns = columns;
+        this.dictionaries = dictionaries;
+        this.rowCount = rowCount;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    public List<String> getColumnNames() {
+        return Arrays.asList(columnNames);
+    }
+
+    public ColumnType getType(int column) {
+        return types[column];
+    }
+
+    /**
+     * Returns the index of a column.
+     *
+     * @param name the name of the column
+     * @return the index
+     * @throws IllegalArgumentException if there is no such column
+     */
+    public int getColumnIndex(String name) {
+        for (int i = 0; i < columnNames.length; i++) {
+            if (columnNames[i].equals(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException(String.format("No such column: %s", name));
+    }
+
+    /**
+     * Returns the values of a {@link ColumnType#LONG long} column.
+     * The array is not copied and must not be modified.
+     *
+     * @param column the index of the column
+     * @return the values
+     */
+    public long[] getLongColumn(int column) {
+        checkType(column, ColumnType.LONG);
+        return (long[]) columns[column];
+    }
+
+    /**
+     * Returns the values of a numeric column as doubles.
+     * For a {@link ColumnType#DOUBLE double} column, the array is not copied and must not be modified.
+     *
+     * @param column the index of the column
+     * @return the values
+     */
+    public double[] getDoubleColumn(int column) {
+        if (types[column] == ColumnType.LONG) {
+            final long[] values = (long[]) columns[column];
+            final double[] doubles = new double[rowCount];
+            for (int i = 0; i < rowCount; i++) {
+                doubles[i] = values[i] == MISSING_LONG ? Double.NaN : values[i];
+            }
+            return doubles;
+        }
+        checkType(column, ColumnType.DOUBLE);
+        return (double[]) columns[column];
+    }
+
+    /**
+     * Returns the dictionary codes of a {@link ColumnType#STRING string} column.
+     * The array is not copied and must not be modified.
+     *
+     * @param column the index of the column
+     * @return the codes
+     * @see #getDictionary(int)
+     */
+    public int[] getCodes(int column) {
+        checkType(column, ColumnType.STRING);
+        return (int[]) columns[column];
+    }
+
+    /**
+     * Returns the distinct values of a {@link ColumnType#STRING string} column.
+     * The array is not copied and must not be modified.
+     *
+     * @param column the index of the column
+     * @return the values, indexed by their code
+     */
+    public String[] getDictionary(int column) {
+        checkType(column, ColumnType.STRING);
+        return dictionaries[column];
+    }
+
+    private void checkType(int column, ColumnType type) {
+        if (types[column] != type) {
+            throw new IllegalArgumentException(
+                    String.format("Column %s has type %s, not %s", columnNames[column], types[column], type));
+        }
+    }
+
+    public long getLong(int column, int row) {
+        switch (types[column]) {
+            case LONG:
+                return ((long[]) columns[column])[row];
+            case DOUBLE:
+                return (long) ((double[]) columns[column])[row];
+            default:
+                return Long.parseLong(getString(column, row));
+        }
+    }
+
+    public double getDouble(int column, int row) {
+        switch (types[column]) {
+            case LONG:
+                final long value = ((long[]) columns[column])[row];
+                return value == MISSING_LONG ? Double.NaN : value;
+            case DOUBLE:
+                return ((double[]) columns[column])[row];
+            default:
+                return Double.parseDouble(getString(column, row));
+        }
+    }
+
+    public String getString(int column, int row) {
+        switch (types[column]) {
+            case LONG:
+                final long value = ((long[]) columns[column])[row];
+                return value == MISSING_LONG ? "" : String.valueOf(value);
+            case DOUBLE:
+                final double doubleValue = ((double[]) columns[column])[row];
+                return Double.isNaN(doubleValue) ? "" : String.valueOf(doubleValue);
+            default:
+                return dictionaries[column][((int[]) columns[column])[row]];
+        }
+    }
+
+    /**
+     * Creates a predicate that matches all rows with the given value in a column.
+     *
+     * @param column the name of the column
+     * @param value the value
+     * @return the predicate
+     */
+    public IntPredicate isEqual(String column, String value) {
+        final int index = getColumnIndex(column);
+        switch (types[index]) {
+            case LONG:
+                final long longValue = Long.parseLong(value);
+                final long[] longs = (long[]) columns[index];
+                return row -> longs[row] == longValue;
+            case DOUBLE:
+                final double doubleValue = Double.parseDouble(value);
+                final double[] doubles = (double[]) columns[index];
+                return row -> doubles[row] == doubleValue;
+            default:
+                final int code = Arrays.asList(dictionaries[index]).indexOf(value);
+                final int[] codes = (int[]) columns[index];
+                return row -> codes[row] == code;
+        }
+    }
+
+    /**
+     * Determines all rows that match a predicate.
+     * The predicate is evaluated in parallel.
+     *
+     * @param predicate the predicate
+     * @return the matching rows in ascending order
+     */
+    public int[] filter(IntPredicate predicate) {
+        return IntStream.range(0, rowCount).parallel().filter(predicate).toArray();
+    }
+
+    /**
+     * Aggregates the values of a numeric column for all distinct combinations of values in the key columns.
+     *
+     * @param valueColumn the name of the numeric column
+     * @param keyColumns the names of the key columns
+     * @return the statistics for each combination of key values, ordered by key values
+     */
+    public Map<List<String>, RunningStatistics> groupBy(String valueColumn, String... keyColumns) {
+        return groupBy(null, valueColumn, keyColumns);
+    }
+
+    /**
+     * Aggregates the values of a numeric column for all distinct combinations of values in the key columns.
+     *
+     * @param rows the rows to consider, as returned by {@link #filter(IntPredicate)}, or {@code null} for all rows
+     * @param valueColumn the name of the numeric column
+     * @param keyColumns the names of the key columns
+     * @return the statistics for each combination of key values, ordered by key values
+     */
+    public Map<List<String>, RunningStatistics> groupBy(int[] rows, String valueColumn, String... keyColumns) {
+        final double[] values = getDoubleColumn(getColumnIndex(valueColumn));
+        final int[][] keyCodes = new int[keyColumns.length][];
+        final String[][] keyLabels = new String[keyColumns.length][];
+        final long[] radix = new long[keyColumns.length];
+        long combinations = 1;
+        for (int i = 0; i < keyColumns.length; i++) {
+            final int column = getColumnIndex(keyColumns[i]);
+            if (types[column] == ColumnType.STRING) {
+                keyCodes[i] = (int[]) columns[column];
+                keyLabels[i] = dictionaries[column];
+            } else {
+                encode(column, keyCodes, keyLabels, i);
+            }
+            radix[i] = combinations;
+            combinations = Math.multiplyExact(combinations, Math.max(1, keyLabels[i].length));
+        }
+
+        final IntStream rowStream = rows == null ? IntStream.range(0, rowCount) : Arrays.stream(rows);
+        final HashMap<Long, RunningStatistics> groups = rowStream
+                .parallel()
+                .collect(
+                        HashMap::new,
+                        (map, row) -> {
+                            long key = 0;
+                            for (int i = 0; i < keyCodes.length; i++) {
+                                key += keyCodes[i][row] * radix[i];
+                            }
+                            map.computeIfAbsent(key, k -> new RunningStatistics()).add(values[row]);
+                        },
+                        ResultTable::mergeGroups);
+
+        final ArrayList<Map.Entry<List<String>, RunningStatistics>> entries = new ArrayList<>(groups.size());
+        for (Map.Entry<Long, RunningStatistics> group : groups.entrySet()) {
+            final ArrayList<String> key = new ArrayList<>(keyColumns.length);
+            long code = group.getKey();
+            for (int i = keyColumns.length - 1; i >= 0; i--) {
+                key.add(0, keyLabels[i][(int) (code / radix[i])]);
+                code %= radix[i];
+            }
+            entries.add(Map.entry(key, group.getValue()));
+        }
+        entries.sort(Comparator.comparing(e -> String.join("\u0000", e.getKey())));
+        final LinkedHashMap<List<String>, RunningStatistics> result = new LinkedHashMap<>();
+        for (Map.Entry<List<String>, RunningStatistics> entry : entries) {
+            result.put(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    private static void mergeGroups(HashMap<Long, RunningStatistics> groups, HashMap<Long, RunningStatistics> other) {
+        for (Map.Entry<Long, RunningStatistics> entry : other.entrySet()) {
+            final RunningStatistics statistics = groups.get(entry.getKey());
+            if (statistics == null) {
+                groups.put(entry.getKey(), entry.getValue());
+            } else {
+                statistics.merge(entry.getValue());
+            }
+        }
+    }
+
+    private void encode(int column, int[][] keyCodes, String[][] keyLabels, int keyIndex) {
+        final HashMap<String, Integer> codes = new HashMap<>();
+        final ArrayList<String> labels = new ArrayList<>();
+        final int[] rowCodes = new int[rowCount];
+        for (int row = 0; row < rowCount; row++) {
+            rowCodes[row] = codes.computeIfAbsent(getString(column, row), label -> {
+                labels.add(label);
+                return labels.size() - 1;
+            });
+        }
+        keyCodes[keyIndex] = rowCodes;
+        keyLabels[keyIndex] = labels.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.process;
+
+import de.featjar.evaluation.util.RunningStatistics;
+import java.util.HashMap;
+
+/**
+ * Sets the timeout of a run to a multiple of a high quantile of the runtimes observed for the same algorithm on inputs of similar size.
+ * Inputs are grouped by the binary logarithm of their {@link Algorithm#getInputSize() size}; neighboring groups are considered similar.
+ * Until enough runtimes are observed, the timeout of the process runner is used.
+ * Timed-out runs are recorded with their timeout, so the quantile is not underestimated.
+ */
+public class AdaptiveTimeoutPolicy implements ITimeoutPolicy {
+
+    private final double quantile;
+    private final double factor;
+    private final int minSamples;
+    private final long minTimeout;
+
+    private final HashMap<String, RunningStatistics> statistics = new HashMap<>();
+
+    /**
+     * Creates a new adaptive timeout policy.
+     *
+     * @param quantile the quantile of observed runtimes (e.g., 0.95)
+     * @param factor the factor by which the quantile is multiplied, at least 1
+     * @param minSamples the number of observed runtimes required to adapt the timeout
+     * @param minTimeout the minimum timeout in milliseconds
+     */
+    public AdaptiveTimeoutPolicy(double quantile, double factor, int minSamples, long minTimeout) {
+        if (factor < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid timeout factor (%s). Must be at least 1, as timeouts would shrink otherwise.", factor));
+        }
+        this.quantile = quantile;
+        this.factor = factor;
+        this.minSamples = minSamples;
+        this.minTimeout = minTimeout;
+    }
+
+    private static int getSizeGroup(long size) {
+        return size < 0 ? -1 : Long.SIZE - Long.numberOfLeadingZeros(size);
+    }
+
+    private static String getKey(String algorithm, int sizeGroup) {
+        return algorithm + "#" + sizeGroup;
+    }
+
+    @Override
+    public synchronized long getTimeout(Algorithm<?> algorithm, long maxTimeout) {
+        final String name = algorithm.getFullName();
+        final int sizeGroup = getSizeGroup(algorithm.getInputSize());
+        final RunningStatistics similar = new RunningStatistics();
+        if (sizeGroup < 0) {
+            merge(similar, name, sizeGroup);
+        } else {
+            for (int group = Math.max(0, sizeGroup - 1); group <= sizeGroup + 1; group++) {
+                merge(similar, name, group);
+            }
+        }
+        if (similar.getCount() < minSamples) {
+            return maxTimeout;
+        }
+        final double timeout = Math.max(minTimeout, Math.ceil(similar.getQuantile(quantile) * factor));
+        return timeout >= maxTimeout ? maxTimeout : (long) timeout;
+    }
+
+    private void merge(RunningStatistics similar, String name, int sizeGroup) {
+        final RunningStatistics groupStatistics = statistics.get(getKey(name, sizeGroup));
+        if (groupStatistics != null) {
+            similar.merge(groupStatistics);
+        }
+    }
+
+    @Override
+    public synchronized void record(Algorithm<?> algorithm, ProcessResult<?> result) {
+        if (result.isCached()
+                || result.getTime() == ProcessResult.INVALID_TIME
+                || (result.isTerminatedInTime() && !result.isNoError())) {
+            return;
+        }
+        final long time =
+                result.isTerminatedInTime() ? result.getTime() : Math.max(result.getTime(), result.getTimeout());
+        statistics
+                .computeIfAbsent(
+                        getKey(algorithm.getFullName(), getSizeGroup(algorithm.getInputSize())),
+                        k -> new RunningStatistics())
+                .add(time);
+    }
+}
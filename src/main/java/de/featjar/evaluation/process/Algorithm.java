@@ -22,6 +22,7 @@ package de.featjar.evaluation.process;
 
 import de.featjar.evaluation.streams.IOutputReader;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -31,6 +32,12 @@ public abstract class Algorithm<R> implements IOutputReader {
 
     protected final ArrayList<String> commandElements = new ArrayList<>();
 
+    protected Path tempDirectory;
+
+    protected Path metricsFile;
+
+    protected List<String> combination;
+
     public void postProcess() throws Exception {}
 
     @Override
@@ -48,6 +55,12 @@ public abstract class Algorithm<R> implements IOutputReader {
         return "";
     }
 
+    /**
+     * Prepares the command of a run.
+     * Is called again before a run is repeated, so state collected by {@link #readOutput(String)} must be reset here.
+     *
+     * @throws Exception if the run cannot be prepared
+     */
     public void preProcess() throws Exception {
         commandElements.clear();
         addCommandElements();
@@ -63,6 +76,10 @@ public abstract class Algorithm<R> implements IOutputReader {
         return commandElements;
     }
 
+    /**
+     * Returns the command as a single string for logging.
+     * Builds the string on each call, so callers should only request it if it is actually logged.
+     */
     public String getCommand() {
         final StringBuilder commandBuilder = new StringBuilder();
         for (final String commandElement : commandElements) {
@@ -72,6 +89,100 @@ public abstract class Algorithm<R> implements IOutputReader {
         return commandBuilder.toString();
     }
 
+    /**
+     * Returns the maximum heap in bytes the started process declares, or 0 if it is unknown.
+     * Used to reserve memory before the process is started.
+     */
+    public long getMemoryReservation() {
+        return 0;
+    }
+
+    /**
+     * Returns the size of the input of the started process, or a negative value if it is unknown.
+     * Used to compare runtimes on inputs of similar size.
+     */
+    public long getInputSize() {
+        return -1;
+    }
+
+    /**
+     * Returns the time the started process measured for the algorithm itself, i.e., without the startup of the process.
+     * Must be called after the process has finished.
+     *
+     * @return the time in milliseconds or {@link ProcessResult#INVALID_TIME} if the process does not report its time
+     */
+    public long getReportedTime() {
+        return ProcessResult.INVALID_TIME;
+    }
+
+    /**
+     * Returns the files read by the started process.
+     * Used to identify identical runs by the content of these files.
+     */
+    public List<Path> getInputFiles() {
+        return List.of();
+    }
+
+    /**
+     * Returns the files written by the started process.
+     * Used to restore the output of identical runs.
+     */
+    public List<Path> getOutputFiles() {
+        return List.of();
+    }
+
+    public Path getTempDirectory() {
+        return tempDirectory;
+    }
+
+    /**
+     * Sets the directory for temporary files of the next run.
+     * The directory is exclusive to the run and deleted after {@link #postProcess()}.
+     *
+     * @param tempDirectory the directory or {@code null}
+     */
+    public void setTempDirectory(Path tempDirectory) {
+        this.tempDirectory = tempDirectory;
+    }
+
+    public Path getMetricsFile() {
+        return metricsFile;
+    }
+
+    /**
+     * Sets the {@link MetricsChannel metrics channel} of the next run.
+     * Its path is also passed to the process in the environment variable {@value MetricsChannel#ENVIRONMENT_VARIABLE}.
+     *
+     * @param metricsFile the path of the channel or {@code null}
+     */
+    public void setMetricsFile(Path metricsFile) {
+        this.metricsFile = metricsFile;
+    }
+
+    public List<String> getCombination() {
+        return combination;
+    }
+
+    /**
+     * Sets the option values of the combination of the next run, which are used to attribute per-run output such as profiles.
+     * Must be set if the run is not started by the thread executing the loop of the option combiner, e.g., in a pipeline.
+     *
+     * @param combination the option values, each formatted as {@code name=value}, or {@code null}
+     */
+    public void setCombination(List<String> combination) {
+        this.combination = combination;
+    }
+
+    /**
+     * Returns files that are created for a single run and whose paths do not affect its result, e.g., the {@link #setMetricsFile(Path) metrics channel} or profiling recordings.
+     * Their paths are ignored when identifying identical runs.
+     *
+     * @return the files
+     */
+    public List<Path> getTransientFiles() {
+        return metricsFile != null ? List.of(metricsFile) : List.of();
+    }
+
     public String getFullName() {
         return getName() + "_" + getParameterSettings();
     }
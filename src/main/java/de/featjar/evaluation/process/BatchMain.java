@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.process;
+
+import de.featjar.base.FeatJAR;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the items of a batch manifest written by an {@link EvaluationBatch} one after another within a single JVM.
+ * Each line of the manifest contains the index of an item and the arguments of its FeatJAR command, separated by tabs.
+ * For each item, a line {@code index;status;nanoseconds} is appended to the result file, where the status is {@code ok}, {@code error} (an exception or output on standard error), or {@code timeout}.
+ * Each item runs in its own thread group, so output on standard error is only attributed to an item if it is written by a thread the item started.
+ * An item that exceeds the timeout halts the JVM after its result is written, such that the remaining items can be run by a new process.
+ */
+public final class BatchMain {
+
+    /**
+     * Time in milliseconds to wait for the remaining threads of a finished item.
+     */
+    private static final long THREAD_GRACE_PERIOD = 1000;
+
+    private static final class ItemThreadGroup extends ThreadGroup {
+        private volatile boolean errorWritten;
+        private volatile boolean failed;
+
+        private ItemThreadGroup(String index) {
+            super("batch-item-" + index);
+        }
+    }
+
+    private BatchMain() {}
+
+    /**
+     * Runs a batch.
+     *
+     * @param args the manifest file, the result file, and the timeout of each item in milliseconds (non-positive for none)
+     * @throws IOException if the manifest cannot be read or the result file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        final List<String> items = Files.readAllLines(Path.of(args[0]), StandardCharsets.UTF_8);
+        final long timeout = Long.parseLong(args[2]);
+        final PrintStream err = System.err;
+        System.setErr(new PrintStream(
+                new OutputStream() {
+                    @Override
+                    public void write(int b) {
+                        markError();
+                        err.write(b);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) {
+                        markError();
+                        err.write(b, off, len);
+                    }
+
+                    @Override
+                    public void flush() {
+                        err.flush();
+                    }
+                },
+                true,
+                StandardCharsets.UTF_8));
+        final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "batch-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (BufferedWriter results = Files.newBufferedWriter(
+                Path.of(args[1]), StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (String item : items) {
+                if (item.isBlank()) {
+                    continue;
+                }
+                final String[] elements = item.split("\t");
+                final String index = elements[0];
+                final String[] arguments = Arrays.copyOfRange(elements, 1, elements.length);
+                final ItemThreadGroup group = new ItemThreadGroup(index);
+                final long startTime = System.nanoTime();
+                final ScheduledFuture<?> timeoutTask = timeout > 0
+                        ? watchdog.schedule(
+                                () -> {
+                                    writeResult(results, index, "timeout", System.nanoTime() - startTime);
+                                    Runtime.getRuntime().halt(3);
+                                },
+                                timeout,
+                                TimeUnit.MILLISECONDS)
+                        : null;
+                final Thread itemThread = new Thread(
+                        group,
+                        () -> {
+                            try {
+                                FeatJAR.runInternally(arguments);
+                            } catch (Throwable e) {
+                                group.failed = true;
+                                e.printStackTrace();
+                            }
+                        },
+                        group.getName());
+                itemThread.start();
+                itemThread.join();
+                final long time = System.nanoTime() - startTime;
+                if (timeoutTask != null && !timeoutTask.cancel(false)) {
+                    // the watchdog is halting the JVM
+                    watchdog.awaitTermination(1, TimeUnit.MINUTES);
+                }
+                joinRemainingThreads(group);
+                writeResult(results, index, group.failed || group.errorWritten ? "error" : "ok", time);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            watchdog.shutdownNow();
+        }
+    }
+
+    private static void markError() {
+        for (ThreadGroup group = Thread.currentThread().getThreadGroup(); group != null; group = group.getParent()) {
+            if (group instanceof ItemThreadGroup) {
+                ((ItemThreadGroup) group).errorWritten = true;
+                return;
+            }
+        }
+    }
+
+    private static void joinRemainingThreads(ThreadGroup group) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + THREAD_GRACE_PERIOD;
+        final Thread[] threads = new Thread[Math.max(16, 2 * group.activeCount())];
+        final int count = group.enumerate(threads);
+        for (int i = 0; i < count; i++) {
+            final long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                break;
+            }
+            if (!threads[i].isDaemon()) {
+                threads[i].join(remaining);
+            }
+        }
+    }
+
+    private static void writeResult(BufferedWriter results, String index, String status, long time) {
+        synchronized (results) {
+            try {
+                results.write(index + ";" + status + ";" + time);
+                results.newLine();
+                results.flush();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.process;
+
+import de.featjar.base.FeatJAR;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Runs each process in its own cgroup (Linux cgroup v2) to enforce memory and CPU limits, to kill the whole process tree, and to measure its CPU time, peak memory, and OOM kills exactly.
+ * Requires a delegated cgroup, i.e., the cgroup of this process must be writable (e.g., by starting the evaluation with {@code systemd-run --user --scope -p Delegate=yes}).
+ * On creation, this process is moved into a leaf cgroup {@code supervisor}, such that the memory and cpu controllers can be enabled for the cgroups of the runs.
+ * The cgroups of runs are named after the process ID of the evaluation, so concurrent evaluations can share a cgroup.
+ * Cgroups left behind by evaluations that are no longer alive are removed on creation.
+ *
+ * @see #create(Path, long, int)
+ */
+public class CgroupSandbox {
+
+    private static final Path CGROUP_ROOT = Path.of("/sys/fs/cgroup");
+    private static final long CPU_PERIOD = 100_000;
+    private static final String RUN_PREFIX = "run-";
+
+    /**
+     * The cgroup of a single run.
+     */
+    public final class Run {
+        private final Path directory;
+
+        private Run(Path directory) {
+            this.directory = directory;
+        }
+
+        /**
+         * Wraps a command, such that the started process moves itself into this cgroup before executing the command.
+         *
+         * @param command the command
+         * @return the wrapped command
+         */
+        public List<String> wrap(List<String> command) {
+            final ArrayList<String> wrappedCommand = new ArrayList<>(command.size() + 4);
+            wrappedCommand.add("/bin/sh");
+            wrappedCommand.add("-c");
+            wrappedCommand.add("echo $$ > \"$0\" && exec \"$@\"");
+            wrappedCommand.add(directory.resolve("cgroup.procs").toString());
+            wrappedCommand.addAll(command);
+            return wrappedCommand;
+        }
+
+        /**
+         * Kills all processes in this cgroup.
+         */
+        public void kill() {
+            CgroupSandbox.kill(directory);
+        }
+
+        /**
+         * Adds the CPU time, peak memory, and OOM kills of this cgroup to a result and removes the cgroup.
+         * A run with OOM kills is considered to have an error.
+         *
+         * @param result the result of the run
+         */
+        public void close(ProcessResult<?> result) {
+            kill();
+            for (String line : readLines(directory.resolve("cpu.stat"))) {
+                final String[] entry = line.split(" ");
+                if (entry.length == 2 && "usage_usec".equals(entry[0])) {
+                    result.setCpuTime(Long.parseLong(entry[1]) / 1000);
+                }
+            }
+            final List<String> peak = readLines(directory.resolve("memory.peak"));
+            if (!peak.isEmpty()) {
+                result.setPeakMemory(Long.parseLong(peak.get(0)));
+            }
+            for (String line : readLines(directory.resolve("memory.events"))) {
+                final String[] entry = line.split(" ");
+                if (entry.length == 2 && "oom_kill".equals(entry[0]) && Long.parseLong(entry[1]) > 0) {
+                    result.setOutOfMemory(true);
+                    result.setNoError(false);
+                }
+            }
+            remove(directory);
+        }
+    }
+
+    private final Path base;
+    private final long memoryLimit;
+    private final int cpuLimit;
+    private final AtomicLong runCounter = new AtomicLong();
+
+    private CgroupSandbox(Path base, long memoryLimit, int cpuLimit) {
+        this.base = base;
+        this.memoryLimit = memoryLimit;
+        this.cpuLimit = cpuLimit;
+    }
+
+    /**
+     * Creates a sandbox in a delegated cgroup.
+     *
+     * @param base the cgroup in which the cgroups of runs are created, or {@code null} for the cgroup of this process
+     * @param memoryLimit the maximum memory of each run in bytes, or a non-positive value for no limit
+     * @param cpuLimit the maximum CPU usage of each run in percent of one CPU, or a non-positive value for no limit
+     * @return the sandbox or {@code null} if cgroup v2 is not available or the cgroup is not delegated
+     */
+    public static CgroupSandbox create(Path base, long memoryLimit, int cpuLimit) {
+        try {
+            if (base == null) {
+                base = getOwnCgroup();
+                if (base == null) {
+                    FeatJAR.log().info("No cgroup v2 available");
+                    return null;
+                }
+            }
+            if (!Files.isWritable(base.resolve("cgroup.procs"))
+                    || !Files.isWritable(base.resolve("cgroup.subtree_control"))) {
+                FeatJAR.log().info("Cgroup %s is not delegated", base);
+                return null;
+            }
+            final Path supervisor = base.resolve("supervisor");
+            Files.createDirectories(supervisor);
+            write(supervisor.resolve("cgroup.procs"), String.valueOf(ProcessHandle.current().pid()));
+            final StringBuilder controllers = new StringBuilder();
+            if (memoryLimit > 0) {
+                controllers.append("+memory ");
+            }
+            if (cpuLimit > 0) {
+                controllers.append("+cpu");
+            }
+            if (controllers.length() > 0) {
+                write(base.resolve("cgroup.subtree_control"), controllers.toString().trim());
+            }
+            removeStaleRuns(base);
+            return new CgroupSandbox(base, memoryLimit, cpuLimit);
+        } catch (IOException | RuntimeException e) {
+            FeatJAR.log().info("Cannot use cgroup %s: %s", base, e.getMessage());
+            return null;
+        }
+    }
+
+    private static void removeStaleRuns(Path base) throws IOException {
+        final List<Path> runDirectories;
+        try (Stream<Path> files = Files.list(base)) {
+            runDirectories = files.filter(Files::isDirectory)
+                    .filter(directory -> directory.getFileName().toString().startsWith(RUN_PREFIX))
+                    .collect(Collectors.toList());
+        }
+        for (Path directory : runDirectories) {
+            final String[] nameParts = directory.getFileName().toString().split("-");
+            if (nameParts.length == 3) {
+                try {
+                    if (ProcessHandle.of(Long.parseLong(nameParts[1])).isPresent()) {
+                        continue;
+                    }
+                } catch (NumberFormatException e) {
+                    FeatJAR.log().debug("Unexpected cgroup name %s", directory);
+                }
+            }
+            FeatJAR.log().info("Removing stale cgroup %s", directory);
+            kill(directory);
+            remove(directory);
+        }
+    }
+
+    private static Path getOwnCgroup() throws IOException {
+        if (!Files.isRegularFile(CGROUP_ROOT.resolve("cgroup.controllers"))) {
+            return null;
+        }
+        for (String line : Files.readAllLines(Path.of("/proc/self/cgroup"), StandardCharsets.UTF_8)) {
+            if (line.startsWith("0::")) {
+                return CGROUP_ROOT.resolve(line.substring(3).replaceFirst("^/", ""));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Creates the cgroup of a new run and applies the limits.
+     *
+     * @return the cgroup of the run
+     * @throws IOException if the cgroup cannot be created
+     */
+    public Run open() throws IOException {
+        final Path directory =
+                base.resolve(RUN_PREFIX + ProcessHandle.current().pid() + "-" + runCounter.incrementAndGet());
+        Files.createDirectory(directory);
+        final Run run = new Run(directory);
+        try {
+            if (memoryLimit > 0) {
+                write(directory.resolve("memory.max"), String.valueOf(memoryLimit));
+                if (Files.exists(directory.resolve("memory.swap.max"))) {
+                    write(directory.resolve("memory.swap.max"), "0");
+                }
+            }
+            if (cpuLimit > 0) {
+                write(directory.resolve("cpu.max"), (cpuLimit * CPU_PERIOD / 100) + " " + CPU_PERIOD);
+            }
+        } catch (IOException e) {
+            remove(directory);
+            throw e;
+        }
+        return run;
+    }
+
+    public Path getBase() {
+        return base;
+    }
+
+    private static void kill(Path directory) {
+        try {
+            write(directory.resolve("cgroup.kill"), "1");
+        } catch (IOException e) {
+            for (String pid : readLines(directory.resolve("cgroup.procs"))) {
+                ProcessHandle.of(Long.parseLong(pid)).ifPresent(ProcessHandle::destroyForcibly);
+            }
+        }
+    }
+
+    private static void remove(Path directory) {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            try {
+                Files.deleteIfExists(directory);
+                return;
+            } catch (IOException e) {
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e1) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        FeatJAR.log().warning("Could not remove cgroup %s", directory);
+    }
+
+    private static void write(Path file, String value) throws IOException {
+        Files.write(file, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<String> readLines(Path file) {
+        try {
+            return Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return List.of();
+        } catch (IOException e) {
+            FeatJAR.log().error(e);
+            return List.of();
+        }
+    }
+}
@@ -20,16 +20,33 @@
  */
 package de.featjar.evaluation.process;
 
+import de.featjar.evaluation.util.FileUtils;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 public abstract class EvaluationAlgorithm extends Algorithm<Void> {
 
+    private static long defaultHeap = -1;
+
     private final String jarName;
     private final String command;
     private final Path input;
     private final Path output;
     private final Path time;
     private int memory = -1;
+    private Path flightRecording;
+    private boolean preparedInputSupported;
+    private Path preparedInput;
+    private JvmProfile jvmProfile = JvmProfile.DEFAULT;
+    private List<String> jvmOptions = List.of();
+    private Path sharedArchive;
+    private final String jarElement;
+    private List<String> jvmTemplate;
+    private List<String> arguments;
 
     public EvaluationAlgorithm(String jarName, String command, Path input, Path output) {
         this(jarName, command, input, output, output.resolveSibling("time"));
@@ -41,31 +58,318 @@ public abstract class EvaluationAlgorithm extends Algorithm<Void> {
         this.input = input;
         this.output = output;
         this.time = time;
+        jarElement = String.format("build/libs/%s.jar", jarName);
+    }
+
+    public String getJarName() {
+        return jarName;
+    }
+
+    public String getCommandName() {
+        return command;
     }
 
     public void setMemory(int memory) {
         this.memory = memory;
+        jvmTemplate = null;
     }
 
+    public int getMemory() {
+        return memory;
+    }
+
+    /**
+     * Returns the max heap of the started JVM.
+     * Without a {@link #setMemory(int) memory} setting, an {@code -Xmx} flag of the {@link #setJvmOptions(List) JVM options} is used.
+     * Otherwise, the JVM uses its default max heap, which is a quarter of the physical memory.
+     */
     @Override
-    protected void addCommandElements() throws Exception {
-        commandElements.add("java");
+    public long getMemoryReservation() {
         if (memory >= 0) {
-            commandElements.add(String.format("-Xmx%dg", memory));
+            return ((long) memory) << 30;
+        }
+        long heap = -1;
+        for (String option : jvmOptions) {
+            if (option.startsWith("-Xmx")) {
+                heap = parseMemorySize(option.substring(4));
+            }
         }
+        if (heap < 0) {
+            if (defaultHeap < 0) {
+                defaultHeap = MemoryAdmission.readDefaultHeap();
+            }
+            heap = defaultHeap;
+        }
+        return heap;
+    }
+
+    private static long parseMemorySize(String size) {
+        if (size.isEmpty()) {
+            return -1;
+        }
+        final int shift;
+        switch (Character.toLowerCase(size.charAt(size.length() - 1))) {
+            case 'k':
+                shift = 10;
+                break;
+            case 'm':
+                shift = 20;
+                break;
+            case 'g':
+                shift = 30;
+                break;
+            case 't':
+                shift = 40;
+                break;
+            default:
+                shift = 0;
+                break;
+        }
+        try {
+            return Long.parseLong(shift == 0 ? size : size.substring(0, size.length() - 1)) << shift;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public Path getInput() {
+        return input;
+    }
+
+    public boolean isPreparedInputSupported() {
+        return preparedInputSupported;
+    }
+
+    /**
+     * Sets whether the started command can read the input in the format of a {@link de.featjar.evaluation.util.ModelPreparer model preparer}.
+     *
+     * @param preparedInputSupported {@code true} to pass prepared inputs to the command
+     */
+    public void setPreparedInputSupported(boolean preparedInputSupported) {
+        this.preparedInputSupported = preparedInputSupported;
+    }
+
+    public Path getPreparedInput() {
+        return preparedInput;
+    }
+
+    /**
+     * Sets a converted version of the input that is passed to the next run instead of the original input.
+     *
+     * @param preparedInput the converted input or {@code null} to pass the original input
+     */
+    public void setPreparedInput(Path preparedInput) {
+        this.preparedInput = preparedInput;
+        arguments = null;
+    }
+
+    private Path getEffectiveInput() {
+        return preparedInput != null ? preparedInput : input;
+    }
+
+    public Path getFlightRecording() {
+        return flightRecording;
+    }
+
+    /**
+     * Sets the file to which the JDK Flight Recorder writes a profile of the next run.
+     *
+     * @param flightRecording the recording file or {@code null} to disable profiling
+     */
+    public void setFlightRecording(Path flightRecording) {
+        this.flightRecording = flightRecording;
+    }
+
+    public JvmProfile getJvmProfile() {
+        return jvmProfile;
+    }
+
+    public void setJvmProfile(JvmProfile jvmProfile) {
+        this.jvmProfile = jvmProfile;
+        jvmTemplate = null;
+    }
+
+    public List<String> getJvmOptions() {
+        return jvmOptions;
+    }
+
+    /**
+     * Sets additional flags for the started JVM, which are passed after the flags of the {@link #setJvmProfile(JvmProfile) JVM profile}.
+     *
+     * @param jvmOptions the flags
+     */
+    public void setJvmOptions(List<String> jvmOptions) {
+        this.jvmOptions = List.copyOf(jvmOptions);
+        jvmTemplate = null;
+    }
+
+    public Path getSharedArchive() {
+        return sharedArchive;
+    }
+
+    /**
+     * Sets the class data sharing archive that the JVM of the next run maps at startup.
+     *
+     * @param sharedArchive the archive or {@code null} to use the default archive of the JVM
+     * @see SharedArchiveManager
+     */
+    public void setSharedArchive(Path sharedArchive) {
+        this.sharedArchive = sharedArchive;
+    }
+
+    /**
+     * Returns a command that executes the next run with the same JVM flags and arguments and writes a class data sharing archive of all loaded classes when its JVM exits.
+     * The run-specific temporary directory, metrics file, and flight recording are omitted.
+     *
+     * @param archiveFile the file to which the archive is written
+     * @return the command
+     * @throws IOException if a file required by the warm-up launch cannot be written
+     * @see SharedArchiveManager
+     */
+    public List<String> getArchiveCommand(Path archiveFile) throws IOException {
+        final ArrayList<String> archiveCommand = new ArrayList<>(getJvmTemplate());
+        archiveCommand.add("-Xlog:cds=off,cds+dynamic=off");
+        archiveCommand.add("-XX:ArchiveClassesAtExit=" + archiveFile);
+        addArchiveLaunchElements(archiveCommand);
+        return archiveCommand;
+    }
+
+    /**
+     * Adds the jar or main class and the arguments of the warm-up launch to an archive command.
+     *
+     * @param archiveCommand the archive command
+     * @throws IOException if a file required by the warm-up launch cannot be written
+     * @see #getArchiveCommand(Path)
+     */
+    protected void addArchiveLaunchElements(List<String> archiveCommand) throws IOException {
+        archiveCommand.add("-jar");
+        archiveCommand.add(jarElement);
+        archiveCommand.addAll(getArguments());
+    }
+
+    public Path getJarPath() {
+        return Path.of("build", "libs", jarName + ".jar");
+    }
+
+    @Override
+    public long getInputSize() {
+        try {
+            return FileUtils.size(input);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Reads the time the started command measured for itself from the time file.
+     * The file contains an ISO-8601 duration or a number of nanoseconds.
+     *
+     * @return the time in milliseconds or {@link ProcessResult#INVALID_TIME} if the file does not exist or cannot be parsed
+     */
+    @Override
+    public long getReportedTime() {
+        try {
+            if (!Files.isRegularFile(time)) {
+                return ProcessResult.INVALID_TIME;
+            }
+            final String content = Files.readString(time).trim();
+            return content.startsWith("PT")
+                    ? Duration.parse(content).toMillis()
+                    : Duration.ofNanos(Long.parseLong(content)).toMillis();
+        } catch (IOException | RuntimeException e) {
+            return ProcessResult.INVALID_TIME;
+        }
+    }
+
+    @Override
+    public List<Path> getInputFiles() {
+        return List.of(getJarPath(), getEffectiveInput());
+    }
+
+    @Override
+    public List<Path> getTransientFiles() {
+        if (flightRecording == null) {
+            return super.getTransientFiles();
+        }
+        final ArrayList<Path> transientFiles = new ArrayList<>(super.getTransientFiles());
+        transientFiles.add(flightRecording);
+        return transientFiles;
+    }
+
+    @Override
+    public List<Path> getOutputFiles() {
+        return List.of(output, time);
+    }
+
+    @Override
+    protected void addCommandElements() throws Exception {
+        addJvmCommandElements();
         commandElements.add("-jar");
-        commandElements.add(String.format("build/libs/%s.jar", jarName));
-        commandElements.add("--command");
-        commandElements.add(command);
-        commandElements.add("--log-info");
-        commandElements.add("message");
-        commandElements.add("--log-error");
-        commandElements.add("error");
-        commandElements.add("--input");
-        commandElements.add(input.toString());
-        commandElements.add("--output");
-        commandElements.add(output.toString());
-        commandElements.add("--write-time-to-file");
-        commandElements.add(time.toString());
+        commandElements.add(jarElement);
+        commandElements.addAll(getArguments());
+    }
+
+    /**
+     * Adds the {@code java} executable and all JVM flags to the command.
+     * The flags that are the same for every run are taken from a template, which is only rebuilt if the memory or JVM flags change.
+     */
+    protected void addJvmCommandElements() {
+        commandElements.addAll(getJvmTemplate());
+        if (sharedArchive != null) {
+            commandElements.add("-Xlog:cds=off,cds+dynamic=off");
+            commandElements.add("-XX:SharedArchiveFile=" + sharedArchive);
+        }
+        if (tempDirectory != null) {
+            commandElements.add("-Djava.io.tmpdir=" + tempDirectory);
+        }
+        if (metricsFile != null) {
+            commandElements.add("-D" + MetricsChannel.PROPERTY + "=" + metricsFile);
+        }
+        if (flightRecording != null) {
+            commandElements.add(
+                    "-XX:StartFlightRecording=settings=profile,dumponexit=true,filename=" + flightRecording);
+        }
+    }
+
+    private List<String> getJvmTemplate() {
+        if (jvmTemplate == null) {
+            final ArrayList<String> template = new ArrayList<>();
+            template.add("java");
+            if (memory >= 0) {
+                template.add(String.format("-Xmx%dg", memory));
+                if (jvmProfile.isFixedHeap()) {
+                    template.add(String.format("-Xms%dg", memory));
+                }
+            }
+            template.addAll(jvmProfile.getFlags());
+            template.addAll(jvmOptions);
+            jvmTemplate = List.copyOf(template);
+        }
+        return jvmTemplate;
+    }
+
+    /**
+     * Returns the arguments passed to the FeatJAR command.
+     * The arguments are only rebuilt if the prepared input changes.
+     *
+     * @return the arguments
+     */
+    public List<String> getArguments() {
+        if (arguments == null) {
+            arguments = List.of(
+                    "--command",
+                    command,
+                    "--log-info",
+                    "message",
+                    "--log-error",
+                    "error",
+                    "--input",
+                    getEffectiveInput().toString(),
+                    "--output",
+                    output.toString(),
+                    "--write-time-to-file",
+                    time.toString());
+        }
+        return arguments;
     }
 }
@@ -0,0 +1,282 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.process;
+
+import de.featjar.base.FeatJAR;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs several {@link EvaluationAlgorithm evaluation algorithms} with the same jar and command in a single process, which avoids the startup of a JVM for each of them.
+ * The items are written to a manifest that is executed by {@link BatchMain} in the started process, which measures the time of each item and isolates failing items.
+ * If the process dies during an item (e.g., due to a timeout or a crash), this item is considered failed and the remaining items are run by a new process.
+ * The JVM settings of the batch are taken from its first item.
+ * Listeners of the process runner (e.g., a {@link SharedArchiveManager}) are notified about the batch, not about its items.
+ * Listeners that adapt single runs (e.g., a {@link de.featjar.evaluation.util.ModelPreparer model preparer}) must be {@link #addItemListener(IProcessListener) added to the batch} instead.
+ *
+ * @see #run(IProcessRunner)
+ */
+public class EvaluationBatch extends EvaluationAlgorithm {
+
+    private final List<EvaluationAlgorithm> items;
+    private final Path manifest;
+    private final Path resultFile;
+    private final Path warmUpManifest;
+    private final Path warmUpResultFile;
+    private final long itemTimeout;
+    private final List<IProcessListener> itemListeners = new ArrayList<>();
+    private final boolean[] startedItems;
+    private int offset;
+
+    /**
+     * Creates a new batch.
+     *
+     * @param items the items, which must share the same jar and command
+     * @param batchDirectory the directory for the manifest and the result file of the batch
+     * @param itemTimeout the timeout of each item in milliseconds, or a non-positive value for none
+     */
+    public EvaluationBatch(List<EvaluationAlgorithm> items, Path batchDirectory, long itemTimeout) {
+        super(
+                items.get(0).getJarName(),
+                items.get(0).getCommandName(),
+                batchDirectory.resolve("manifest.tsv"),
+                batchDirectory.resolve("results.csv"),
+                batchDirectory.resolve("time"));
+        final EvaluationAlgorithm first = items.get(0);
+        for (EvaluationAlgorithm item : items) {
+            if (!item.getJarName().equals(first.getJarName())
+                    || !item.getCommandName().equals(first.getCommandName())) {
+                throw new IllegalArgumentException(
+                        String.format("Item %s does not share the jar and command of %s", item, first));
+            }
+        }
+        this.items = List.copyOf(items);
+        this.manifest = batchDirectory.resolve("manifest.tsv");
+        this.resultFile = batchDirectory.resolve("results.csv");
+        this.warmUpManifest = batchDirectory.resolve("warm-up-manifest.tsv");
+        this.warmUpResultFile = batchDirectory.resolve("warm-up-results.csv");
+        this.itemTimeout = itemTimeout;
+        startedItems = new boolean[items.size()];
+        setMemory(first.getMemory());
+        setJvmProfile(first.getJvmProfile());
+        setJvmOptions(first.getJvmOptions());
+    }
+
+    /**
+     * Adds a listener that is notified about each item, before it is written to the manifest and after its result has been split.
+     *
+     * @param listener the listener
+     */
+    public void addItemListener(IProcessListener listener) {
+        itemListeners.add(listener);
+    }
+
+    /**
+     * Runs all items and splits the result of each item from the results of the started processes.
+     *
+     * @param runner the runner that starts the processes
+     * @return the result of each item in the order of the items
+     */
+    public List<ProcessResult<Void>> run(IProcessRunner runner) {
+        final ArrayList<ProcessResult<Void>> results = new ArrayList<>(Collections.nCopies(items.size(), null));
+        offset = 0;
+        while (offset < items.size()) {
+            final ProcessResult<Void> batchResult = runner.run(this);
+            final Map<Integer, String[]> itemResults = readResults();
+            int next = offset;
+            while (next < items.size() && itemResults.containsKey(next)) {
+                results.set(next, split(items.get(next), itemResults.get(next)));
+                next++;
+            }
+            final boolean timedOut = next > offset && "timeout".equals(itemResults.get(next - 1)[1]);
+            if (next < items.size() && !timedOut) {
+                FeatJAR.log().warning("Batch process stopped during %s", items.get(next));
+                final ProcessResult<Void> failedResult = new ProcessResult<>();
+                failedResult.setTerminatedInTime(batchResult.isTerminatedInTime());
+                failedResult.setNoError(false);
+                failedResult.setTimeout(itemTimeout > 0 ? itemTimeout : batchResult.getTimeout());
+                notifyFinished(items.get(next), failedResult);
+                results.set(next, failedResult);
+                next++;
+            }
+            offset = next;
+        }
+        return results;
+    }
+
+    private Map<Integer, String[]> readResults() {
+        final HashMap<Integer, String[]> itemResults = new HashMap<>();
+        try {
+            if (Files.exists(resultFile)) {
+                for (String line : Files.readAllLines(resultFile, StandardCharsets.UTF_8)) {
+                    final String[] values = line.split(";");
+                    if (values.length == 3) {
+                        itemResults.putIfAbsent(Integer.parseInt(values[0]), values);
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            FeatJAR.log().error(e);
+        }
+        return itemResults;
+    }
+
+    private ProcessResult<Void> split(EvaluationAlgorithm item, String[] itemResult) {
+        final ProcessResult<Void> result = new ProcessResult<>();
+        final String status = itemResult[1];
+        result.setTime(Long.parseLong(itemResult[2]) / 1_000_000L);
+        result.setTimeout(itemTimeout > 0 ? itemTimeout : Long.MAX_VALUE);
+        result.setTerminatedInTime(!"timeout".equals(status));
+        result.setNoError("ok".equals(status));
+        if (result.isTerminatedInTime()) {
+            result.setReportedTime(item.getReportedTime());
+        }
+        try {
+            if (result.isNoError()) {
+                result.setResult(item.parseResults());
+            }
+        } catch (final Exception e) {
+            FeatJAR.log().error(e);
+            result.setNoError(false);
+        }
+        try {
+            item.postProcess();
+        } catch (final Exception e) {
+            FeatJAR.log().error(e);
+        }
+        notifyFinished(item, result);
+        return result;
+    }
+
+    private void notifyFinished(EvaluationAlgorithm item, ProcessResult<Void> result) {
+        for (IProcessListener listener : itemListeners) {
+            try {
+                listener.finished(item, result);
+            } catch (final Exception e) {
+                FeatJAR.log().error(e);
+            }
+        }
+    }
+
+    @Override
+    public void preProcess() throws Exception {
+        Files.createDirectories(manifest.getParent());
+        final ArrayList<String> lines = new ArrayList<>(items.size() - offset);
+        for (int i = offset; i < items.size(); i++) {
+            if (!startedItems[i]) {
+                startedItems[i] = true;
+                for (IProcessListener listener : itemListeners) {
+                    listener.started(items.get(i));
+                }
+            }
+            lines.add(i + "\t" + String.join("\t", items.get(i).getArguments()));
+        }
+        Files.write(manifest, lines, StandardCharsets.UTF_8);
+        Files.deleteIfExists(resultFile);
+        super.preProcess();
+    }
+
+    @Override
+    protected void addCommandElements() throws Exception {
+        addJvmCommandElements();
+        commandElements.add("-cp");
+        commandElements.add(getJarPath().toString());
+        commandElements.add(BatchMain.class.getName());
+        commandElements.add(manifest.toString());
+        commandElements.add(resultFile.toString());
+        commandElements.add(String.valueOf(itemTimeout));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The warm-up launch runs only the next item with {@link BatchMain}, using a separate manifest and result file.
+     */
+    @Override
+    protected void addArchiveLaunchElements(List<String> archiveCommand) throws IOException {
+        Files.createDirectories(warmUpManifest.getParent());
+        Files.write(
+                warmUpManifest,
+                List.of(offset + "\t" + String.join("\t", items.get(offset).getArguments())),
+                StandardCharsets.UTF_8);
+        Files.deleteIfExists(warmUpResultFile);
+        archiveCommand.add("-cp");
+        archiveCommand.add(getJarPath().toString());
+        archiveCommand.add(BatchMain.class.getName());
+        archiveCommand.add(warmUpManifest.toString());
+        archiveCommand.add(warmUpResultFile.toString());
+        archiveCommand.add(String.valueOf(itemTimeout));
+    }
+
+    @Override
+    public String getName() {
+        return items.get(0).getName() + "-batch";
+    }
+
+    @Override
+    public long getInputSize() {
+        long size = 0;
+        for (EvaluationAlgorithm item : items) {
+            size += Math.max(0, item.getInputSize());
+        }
+        return size;
+    }
+
+    @Override
+    public long getReportedTime() {
+        return ProcessResult.INVALID_TIME;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Includes the manifest, so a batch is identified by the arguments of its items rather than the path of its directory.
+     */
+    @Override
+    public List<Path> getInputFiles() {
+        final LinkedHashSet<Path> inputFiles = new LinkedHashSet<>();
+        inputFiles.add(manifest);
+        for (int i = offset; i < items.size(); i++) {
+            inputFiles.addAll(items.get(i).getInputFiles());
+        }
+        return new ArrayList<>(inputFiles);
+    }
+
+    @Override
+    public List<Path> getOutputFiles() {
+        final ArrayList<Path> outputFiles = new ArrayList<>();
+        outputFiles.add(resultFile);
+        for (int i = offset; i < items.size(); i++) {
+            outputFiles.addAll(items.get(i).getOutputFiles());
+        }
+        return outputFiles;
+    }
+
+    public List<EvaluationAlgorithm> getItems() {
+        return items;
+    }
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.process;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.evaluation.util.RunningStatistics;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Profiles started Java processes with the JDK Flight Recorder.
+ * Each run of an {@link EvaluationAlgorithm} gets its own recording file, which is summarized after the run into one line of a CSV file
+ * (hot methods, allocation sites, and garbage collection pauses).
+ * Recordings can be kept for all runs, only for outliers, or for no run.
+ */
+public class FlightRecorderProfiler implements IProcessListener, AutoCloseable {
+
+    public static final String KEEP_ALL = "all";
+    public static final String KEEP_OUTLIERS = "outliers";
+    public static final String KEEP_NONE = "none";
+
+    private static final int MIN_OUTLIER_SAMPLES = 5;
+    private static final double OUTLIER_DEVIATIONS = 2;
+
+    private final Path recordingDirectory;
+    private final Path summaryFile;
+    private final String keep;
+    private final int topCount;
+    private Supplier<List<String>> combination;
+    private final Map<Path, List<String>> combinations = new ConcurrentHashMap<>();
+
+    private final AtomicLong runCounter = new AtomicLong();
+    private final Map<String, RunningStatistics> runtimes = new ConcurrentHashMap<>();
+    private BufferedWriter summary;
+
+    /**
+     * Creates a new profiler.
+     *
+     * @param recordingDirectory the directory in which recordings are stored
+     * @param summaryFile the CSV file to which the summaries are appended
+     * @param keep which recordings are kept after summarizing, one of {@link #KEEP_ALL}, {@link #KEEP_OUTLIERS}, or {@link #KEEP_NONE}
+     * @param topCount the number of hot methods and allocation sites in each summary
+     */
+    public FlightRecorderProfiler(Path recordingDirectory, Path summaryFile, String keep, int topCount) {
+        if (!KEEP_ALL.equals(keep) && !KEEP_OUTLIERS.equals(keep) && !KEEP_NONE.equals(keep)) {
+            throw new IllegalArgumentException(String.format("Unknown value for kept recordings: %s", keep));
+        }
+        this.recordingDirectory = recordingDirectory;
+        this.summaryFile = summaryFile;
+        this.keep = keep;
+        this.topCount = topCount;
+    }
+
+    /**
+     * Sets a supplier for the option values of the current run, which are added to each summary.
+     * It is queried when a run starts and only if the {@link Algorithm#getCombination() combination} of the algorithm is not set.
+     *
+     * @param combination the supplier, which may return {@code null} if the combination is unknown, or {@code null}
+     */
+    public void setCombination(Supplier<List<String>> combination) {
+        this.combination = combination;
+    }
+
+    @Override
+    public void started(Algorithm<?> algorithm) {
+        if (algorithm instanceof EvaluationAlgorithm) {
+            try {
+                Files.createDirectories(recordingDirectory);
+                final Path recording = recordingDirectory.resolve("run-" + runCounter.getAndIncrement() + ".jfr");
+                ((EvaluationAlgorithm) algorithm).setFlightRecording(recording);
+                List<String> runCombination = algorithm.getCombination();
+                if (runCombination == null && combination != null) {
+                    runCombination = combination.get();
+                }
+                if (runCombination != null) {
+                    combinations.put(recording, runCombination);
+                }
+            } catch (IOException e) {
+                FeatJAR.log().error(e);
+            }
+        }
+    }
+
+    @Override
+    public void finished(Algorithm<?> algorithm, ProcessResult<?> result) {
+        if (!(algorithm instanceof EvaluationAlgorithm)) {
+            return;
+        }
+        final EvaluationAlgorithm evaluationAlgorithm = (EvaluationAlgorithm) algorithm;
+        final Path recording = evaluationAlgorithm.getFlightRecording();
+        evaluationAlgorithm.setFlightRecording(null);
+        if (recording == null) {
+            return;
+        }
+        final List<String> runCombination = combinations.remove(recording);
+        final boolean outlier = isOutlier(algorithm.getFullName(), result);
+        Summary profile = null;
+        try {
+            if (Files.isRegularFile(recording)) {
+                profile = new Summary(recording);
+            }
+        } catch (IOException e) {
+            FeatJAR.log().error(e);
+        }
+        final boolean kept = profile != null && (KEEP_ALL.equals(keep) || (KEEP_OUTLIERS.equals(keep) && outlier));
+        if (!kept) {
+            try {
+                Files.deleteIfExists(recording);
+            } catch (IOException e) {
+                FeatJAR.log().error(e);
+            }
+        }
+        writeSummary(algorithm, runCombination, result, recording, profile, outlier, kept);
+    }
+
+    private boolean isOutlier(String algorithm, ProcessResult<?> result) {
+        if (result.isCached() || result.getTime() == ProcessResult.INVALID_TIME) {
+            return false;
+        }
+        if (!result.isTerminatedInTime()) {
+            return true;
+        }
+        final RunningStatistics statistics = runtimes.computeIfAbsent(algorithm, a -> new RunningStatistics());
+        synchronized (statistics) {
+            final boolean outlier = statistics.getCount() >= MIN_OUTLIER_SAMPLES
+                    && result.getTime()
+                            > statistics.getMean() + OUTLIER_DEVIATIONS * statistics.getStandardDeviation();
+            statistics.add(result.getTime());
+            return outlier;
+        }
+    }
+
+    private class Summary {
+        private long executionSamples;
+        private final HashMap<String, Long> hotMethods = new HashMap<>();
+        private final HashMap<String, Long> sampledAllocations = new HashMap<>();
+        private final HashMap<String, Long> tlabAllocations = new HashMap<>();
+        private long gcCount;
+        private Duration gcPauses = Duration.ZERO;
+        private Duration gcMaxPause = Duration.ZERO;
+
+        private Summary(Path recording) throws IOException {
+            try (RecordingFile recordingFile = new RecordingFile(recording)) {
+                while (recordingFile.hasMoreEvents()) {
+                    final RecordedEvent event = recordingFile.readEvent();
+                    switch (event.getEventType().getName()) {
+                        case "jdk.ExecutionSample":
+                            executionSamples++;
+                            hotMethods.merge(getTopFrame(event), 1L, Long::sum);
+                            break;
+                        case "jdk.ObjectAllocationSample":
+                            sampledAllocations.merge(getTopFrame(event), event.getLong("weight"), Long::sum);
+                            break;
+                        case "jdk.ObjectAllocationInNewTLAB":
+                            tlabAllocations.merge(getTopFrame(event), event.getLong("tlabSize"), Long::sum);
+                            break;
+                        case "jdk.ObjectAllocationOutsideTLAB":
+                            tlabAllocations.merge(getTopFrame(event), event.getLong("allocationSize"), Long::sum);
+                            break;
+                        case "jdk.GarbageCollection":
+                            gcCount++;
+                            gcPauses = gcPauses.plus(event.getDuration("sumOfPauses"));
+                            final Duration longestPause = event.getDuration("longestPause");
+                            if (longestPause.compareTo(gcMaxPause) > 0) {
+                                gcMaxPause = longestPause;
+                            }
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            }
+        }
+
+        private String getTopFrame(RecordedEvent event) {
+            final RecordedStackTrace stackTrace = event.getStackTrace();
+            if (stackTrace != null) {
+                for (RecordedFrame frame : stackTrace.getFrames()) {
+                    final RecordedMethod method = frame.getMethod();
+                    if (method != null) {
+                        return method.getType().getName() + "." + method.getName();
+                    }
+                }
+            }
+            return "<unknown>";
+        }
+
+        private Map<String, Long> getAllocations() {
+            return sampledAllocations.isEmpty() ? tlabAllocations : sampledAllocations;
+        }
+
+        private String printHotMethods() {
+            return hotMethods.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .limit(topCount)
+                    .map(e -> String.format(
+                            Locale.ENGLISH, "%s=%.1f%%", e.getKey(), 100.0 * e.getValue() / executionSamples))
+                    .collect(Collectors.joining("|"));
+        }
+
+        private String printAllocationSites() {
+            return getAllocations().entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .limit(topCount)
+                    .map(e -> e.getKey() + "=" + e.getValue())
+                    .collect(Collectors.joining("|"));
+        }
+    }
+
+    private synchronized void writeSummary(
+            Algorithm<?> algorithm,
+            List<String> runCombination,
+            ProcessResult<?> result,
+            Path recording,
+            Summary profile,
+            boolean outlier,
+            boolean kept) {
+        try {
+            if (summary == null) {
+                final boolean newFile = !Files.exists(summaryFile);
+                summary = Files.newBufferedWriter(
+                        summaryFile, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                if (newFile) {
+                    summary.write("run;combination;algorithm;time;terminatedInTime;outlier;executionSamples;hotMethods;"
+                            + "allocatedBytes;allocationSites;gcCount;gcPauseTime;gcMaxPauseTime;recording");
+                    summary.newLine();
+                }
+            }
+            final String fileName = recording.getFileName().toString();
+            summary.write(fileName.substring(0, fileName.length() - ".jfr".length()));
+            summary.write(';');
+            summary.write(runCombination == null ? "" : String.join(",", runCombination));
+            summary.write(';');
+            summary.write(algorithm.getFullName());
+            summary.write(';');
+            summary.write(String.valueOf(result.getTime()));
+            summary.write(';');
+            summary.write(String.valueOf(result.isTerminatedInTime()));
+            summary.write(';');
+            summary.write(String.valueOf(outlier));
+            if (profile != null) {
+                summary.write(';');
+                summary.write(String.valueOf(profile.executionSamples));
+                summary.write(';');
+                summary.write(profile.printHotMethods());
+                summary.write(';');
+                summary.write(String.valueOf(profile.getAllocations().values().stream()
+                        .mapToLong(Long::longValue)
+                        .sum()));
+                summary.write(';');
+                summary.write(profile.printAllocationSites());
+                summary.write(';');
+                summary.write(String.valueOf(profile.gcCount));
+                summary.write(';');
+                summary.write(String.valueOf(profile.gcPauses.toMillis()));
+                summary.write(';');
+                summary.write(String.valueOf(profile.gcMaxPause.toMillis()));
+                summary.write(';');
+                summary.write(kept ? recording.toString() : "");
+            } else {
+                summary.write(";;;;;;;;");
+            }
+            summary.newLine();
+            summary.flush();
+        } catch (IOException e) {
+            FeatJAR.log().error(e);
+        }
+    }
+
+    public Path getRecordingDirectory() {
+        return recordingDirectory;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (summary != null) {
+            try {
+                summary.close();
+            } catch (IOException e) {
+                FeatJAR.log().error(e);
+            }
+            summary = null;
+        }
+    }
+}
@@ -27,4 +27,13 @@ public interface IProcessRunner {
     public long getTimeout();
 
     public void setTimeout(long timeout);
+
+    public ITimeoutPolicy getTimeoutPolicy();
+
+    /**
+     * Sets a policy that determines the timeout of each run, which is at most the {@link #getTimeout() timeout} of this runner.
+     *
+     * @param timeoutPolicy the policy or {@code null} to use the timeout of this runner for all runs
+     */
+    public void setTimeoutPolicy(ITimeoutPolicy timeoutPolicy);
 }
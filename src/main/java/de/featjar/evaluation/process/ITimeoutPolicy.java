@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.process;
+
+/**
+ * Determines the timeout of each run of an {@link IProcessRunner}.
+ */
+public interface ITimeoutPolicy {
+
+    /**
+     * Returns the timeout for the next run of an algorithm.
+     *
+     * @param algorithm the algorithm, after {@link Algorithm#preProcess()}
+     * @param maxTimeout the timeout of the process runner, which must not be exceeded
+     * @return the timeout in milliseconds
+     */
+    long getTimeout(Algorithm<?> algorithm, long maxTimeout);
+
+    /**
+     * Adds the result of a finished run.
+     *
+     * @param algorithm the algorithm
+     * @param result the result of the run
+     */
+    void record(Algorithm<?> algorithm, ProcessResult<?> result);
+}
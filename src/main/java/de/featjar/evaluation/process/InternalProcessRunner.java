@@ -32,6 +32,7 @@ import java.util.List;
 public class InternalProcessRunner implements IProcessRunner {
 
     private long timeout = Long.MAX_VALUE;
+    private ITimeoutPolicy timeoutPolicy;
 
     public <R> ProcessResult<R> run(Algorithm<R> algorithm) {
         final ProcessResult<R> result = new ProcessResult<>();
@@ -42,9 +43,12 @@ public class InternalProcessRunner implements IProcessRunner {
             System.gc();
             algorithm.preProcess();
 
-            FeatJAR.log().debug("Running command: %s", algorithm.getCommand());
+            FeatJAR.log().debug(() -> "Running command: " + algorithm.getCommand());
 
             final List<String> command = algorithm.getCommandElements();
+            final long runTimeout = timeoutPolicy != null ? timeoutPolicy.getTimeout(algorithm, timeout) : timeout;
+            result.setTimeout(runTimeout);
+            result.setAdaptiveTimeout(runTimeout < timeout);
             if (!command.isEmpty()) {
                 Process process = null;
 
@@ -89,6 +93,9 @@ public class InternalProcessRunner implements IProcessRunner {
         } catch (final Exception e) {
             FeatJAR.log().error(e);
         }
+        if (timeoutPolicy != null) {
+            timeoutPolicy.record(algorithm, result);
+        }
         return result;
     }
 
@@ -99,4 +106,18 @@ public class InternalProcessRunner implements IProcessRunner {
     public void setTimeout(long timeout) {
         this.timeout = timeout;
     }
+
+    public ITimeoutPolicy getTimeoutPolicy() {
+        return timeoutPolicy;
+    }
+
+    /**
+     * Sets a timeout policy.
+     * Timeouts are not enforced for internal runs, but the determined timeout is recorded in the result.
+     *
+     * @param timeoutPolicy the policy or {@code null}
+     */
+    public void setTimeoutPolicy(ITimeoutPolicy timeoutPolicy) {
+        this.timeoutPolicy = timeoutPolicy;
+    }
 }
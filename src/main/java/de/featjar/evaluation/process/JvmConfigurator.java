@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.process;
+
+import java.util.List;
+
+/**
+ * Applies a {@link JvmProfile JVM profile} and additional JVM flags to all started {@link EvaluationAlgorithm evaluation algorithms} that do not set their own.
+ */
+public class JvmConfigurator implements IProcessListener {
+
+    private final JvmProfile jvmProfile;
+    private final List<String> jvmOptions;
+
+    /**
+     * Creates a new configurator.
+     *
+     * @param jvmProfile the profile
+     * @param jvmOptions the additional flags
+     */
+    public JvmConfigurator(JvmProfile jvmProfile, List<String> jvmOptions) {
+        this.jvmProfile = jvmProfile;
+        this.jvmOptions = List.copyOf(jvmOptions);
+    }
+
+    @Override
+    public void started(Algorithm<?> algorithm) {
+        if (algorithm instanceof EvaluationAlgorithm) {
+            final EvaluationAlgorithm evaluationAlgorithm = (EvaluationAlgorithm) algorithm;
+            if (evaluationAlgorithm.getJvmProfile() == JvmProfile.DEFAULT) {
+                evaluationAlgorithm.setJvmProfile(jvmProfile);
+            }
+            if (evaluationAlgorithm.getJvmOptions().isEmpty()) {
+                evaluationAlgorithm.setJvmOptions(jvmOptions);
+            }
+        }
+    }
+
+    public JvmProfile getJvmProfile() {
+        return jvmProfile;
+    }
+
+    public List<String> getJvmOptions() {
+        return jvmOptions;
+    }
+}
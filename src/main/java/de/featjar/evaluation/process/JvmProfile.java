@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.process;
+
+import java.util.List;
+
+/**
+ * Predefined flags for the JVMs started by {@link EvaluationAlgorithm evaluation algorithms}.
+ */
+public enum JvmProfile {
+    /**
+     * No additional flags.
+     */
+    DEFAULT(false),
+    /**
+     * Parallel garbage collector with a fixed heap size, for long runs.
+     */
+    THROUGHPUT(true, "-XX:+UseParallelGC"),
+    /**
+     * Serial garbage collector and only the C1 compiler, for short runs dominated by startup.
+     */
+    STARTUP(false, "-XX:+UseSerialGC", "-XX:TieredStopAtLevel=1"),
+    /**
+     * Serial garbage collector, a fixed and pre-touched heap, and no tiered compilation, for runs with low variance.
+     */
+    STABLE(true, "-XX:+UseSerialGC", "-XX:-TieredCompilation", "-XX:+AlwaysPreTouch");
+
+    private final boolean fixedHeap;
+    private final List<String> flags;
+
+    private JvmProfile(boolean fixedHeap, String... flags) {
+        this.fixedHeap = fixedHeap;
+        this.flags = List.of(flags);
+    }
+
+    /**
+     * Returns whether the initial heap size is set to the maximum heap size (i.e., {@code -Xms} equals {@code -Xmx}).
+     *
+     * @return {@code true} if the heap size is fixed, {@code false} otherwise
+     */
+    public boolean isFixedHeap() {
+        return fixedHeap;
+    }
+
+    public List<String> getFlags() {
+        return flags;
+    }
+
+    /**
+     * Returns the profile with the given name.
+     *
+     * @param name the name, case-insensitive (e.g., {@code throughput})
+     * @return the profile
+     * @throws IllegalArgumentException if there is no such profile
+     */
+    public static JvmProfile of(String name) {
+        for (JvmProfile profile : values()) {
+            if (profile.name().equalsIgnoreCase(name)) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException(String.format("Unknown JVM profile: %s", name));
+    }
+}
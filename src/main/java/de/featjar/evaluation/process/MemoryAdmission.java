@@ -0,0 +1,234 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.process;
+
+import de.featjar.base.FeatJAR;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Admits started processes only if their declared memory fits into the available memory.
+ * The capacity is determined once on construction, as memory used by already running processes would otherwise be counted twice.
+ * Processes that do not fit are queued until enough memory has been released by other processes.
+ */
+public class MemoryAdmission {
+
+    private static final Path MEMINFO = Path.of("/proc/meminfo");
+    private static final Path CGROUP_V2 = Path.of("/sys/fs/cgroup");
+    private static final Path CGROUP_V1 = Path.of("/sys/fs/cgroup/memory");
+
+    /**
+     * Determines the memory that is currently available for new processes.
+     * Considers {@code MemAvailable} from {@code /proc/meminfo} and the limit of the current cgroup (v2 or v1).
+     *
+     * @return the available memory in bytes or {@link Long#MAX_VALUE} if it cannot be determined
+     */
+    public static long readAvailableMemory() {
+        long available = Long.MAX_VALUE;
+        try {
+            if (Files.isReadable(MEMINFO)) {
+                for (String line : Files.readAllLines(MEMINFO)) {
+                    if (line.startsWith("MemAvailable:")) {
+                        String[] fields = line.split("\\s+");
+                        available = Long.parseLong(fields[1]) * 1024L;
+                        break;
+                    }
+                }
+            }
+            available = Math.min(
+                    available,
+                    readCgroupAvailable(CGROUP_V2.resolve("memory.max"), CGROUP_V2.resolve("memory.current")));
+            available = Math.min(
+                    available,
+                    readCgroupAvailable(
+                            CGROUP_V1.resolve("memory.limit_in_bytes"), CGROUP_V1.resolve("memory.usage_in_bytes")));
+        } catch (IOException | NumberFormatException e) {
+            FeatJAR.log().error(e);
+        }
+        return available;
+    }
+
+    /**
+     * Determines the max heap a started JVM uses if no {@code -Xmx} is given, i.e., a quarter of the physical memory.
+     * Considers {@code MemTotal} from {@code /proc/meminfo} and the limit of the current cgroup (v2 or v1), as container-aware JVMs do.
+     *
+     * @return the default max heap in bytes or 0 if it cannot be determined
+     */
+    public static long readDefaultHeap() {
+        long total = Long.MAX_VALUE;
+        try {
+            if (Files.isReadable(MEMINFO)) {
+                for (String line : Files.readAllLines(MEMINFO)) {
+                    if (line.startsWith("MemTotal:")) {
+                        String[] fields = line.split("\\s+");
+                        total = Long.parseLong(fields[1]) * 1024L;
+                        break;
+                    }
+                }
+            }
+            if (Files.isReadable(CGROUP_V2.resolve("memory.max"))) {
+                total = Math.min(total, readCgroupValue(CGROUP_V2.resolve("memory.max")));
+            }
+            if (Files.isReadable(CGROUP_V1.resolve("memory.limit_in_bytes"))) {
+                total = Math.min(total, readCgroupValue(CGROUP_V1.resolve("memory.limit_in_bytes")));
+            }
+        } catch (IOException | NumberFormatException e) {
+            FeatJAR.log().error(e);
+        }
+        return total == Long.MAX_VALUE ? 0 : total / 4;
+    }
+
+    private static long readCgroupAvailable(Path limitFile, Path usageFile) throws IOException {
+        if (!Files.isReadable(limitFile) || !Files.isReadable(usageFile)) {
+            return Long.MAX_VALUE;
+        }
+        long limit = readCgroupValue(limitFile);
+        long usage = readCgroupValue(usageFile);
+        return limit == Long.MAX_VALUE ? limit : Math.max(0, limit - usage);
+    }
+
+    private static long readCgroupValue(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file);
+        if (lines.isEmpty()) {
+            return Long.MAX_VALUE;
+        }
+        String value = lines.get(0).trim();
+        return "max".equals(value) ? Long.MAX_VALUE : Long.parseLong(value);
+    }
+
+    private final long capacity;
+    private final long overhead;
+
+    private long reserved;
+    private int runningProcesses;
+    private int queuedProcesses;
+    private int admittedProcesses;
+    private long totalWaitTime;
+    private long maxWaitTime;
+
+    /**
+     * Creates an admission control with the currently available memory as capacity.
+     *
+     * @param overhead the memory in bytes that is reserved for each process in addition to its declared heap
+     */
+    public MemoryAdmission(long overhead) {
+        this(readAvailableMemory(), overhead);
+    }
+
+    /**
+     * Creates an admission control with a fixed capacity.
+     *
+     * @param capacity the memory in bytes that can be reserved by all running processes
+     * @param overhead the memory in bytes that is reserved for each process in addition to its declared heap
+     */
+    public MemoryAdmission(long capacity, long overhead) {
+        this.capacity = capacity;
+        this.overhead = overhead;
+    }
+
+    /**
+     * Blocks until the given memory can be reserved.
+     * A process requiring more than the complete capacity is admitted as soon as no other process is running.
+     *
+     * @param heap the declared heap of the process in bytes
+     * @return the reserved memory in bytes, which must be passed to {@link #release(long)} afterwards
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public long acquire(long heap) throws InterruptedException {
+        final long reservation = Math.max(0, heap) + overhead;
+        final long startTime = System.nanoTime();
+        synchronized (this) {
+            if (reservation > capacity) {
+                FeatJAR.log()
+                        .warning(
+                                "Process requires %d MiB, but only %d MiB are available.",
+                                reservation >> 20,
+                                capacity >> 20);
+            }
+            queuedProcesses++;
+            try {
+                while (runningProcesses > 0 && reserved + reservation > capacity) {
+                    wait();
+                }
+            } finally {
+                queuedProcesses--;
+            }
+            reserved += reservation;
+            runningProcesses++;
+            admittedProcesses++;
+            final long waitTime = (System.nanoTime() - startTime) / 1_000_000L;
+            totalWaitTime += waitTime;
+            maxWaitTime = Math.max(maxWaitTime, waitTime);
+        }
+        return reservation;
+    }
+
+    /**
+     * Releases memory that was reserved by {@link #acquire(long)}.
+     *
+     * @param reservation the reserved memory in bytes
+     */
+    public synchronized void release(long reservation) {
+        reserved -= reservation;
+        runningProcesses--;
+        notifyAll();
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    public long getOverhead() {
+        return overhead;
+    }
+
+    public synchronized long getReserved() {
+        return reserved;
+    }
+
+    public synchronized int getRunningProcesses() {
+        return runningProcesses;
+    }
+
+    public synchronized int getQueuedProcesses() {
+        return queuedProcesses;
+    }
+
+    public synchronized int getAdmittedProcesses() {
+        return admittedProcesses;
+    }
+
+    public synchronized long getTotalWaitTime() {
+        return totalWaitTime;
+    }
+
+    public synchronized long getMaxWaitTime() {
+        return maxWaitTime;
+    }
+
+    public synchronized String printStatus() {
+        return String.format(
+                "Memory admission: %d processes admitted, waited %d ms in total (max %d ms), capacity %d MiB",
+                admittedProcesses, totalWaitTime, maxWaitTime, capacity >> 20);
+    }
+}
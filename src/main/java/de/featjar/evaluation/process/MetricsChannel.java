@@ -0,0 +1,204 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.process;
+
+import de.featjar.base.FeatJAR;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Receives metrics that a started process writes in a compact binary encoding, e.g., with a {@link MetricsWriter}.
+ * The channel is a named pipe, which is read while the process is running, or a regular file, which is read after the process has finished, if named pipes are not supported.
+ * Its path is passed to the process in the system property {@value #PROPERTY} and the environment variable {@value #ENVIRONMENT_VARIABLE}.
+ * <p>
+ * The channel contains a sequence of records, each consisting of a type byte, a key, and a value, encoded as by {@link java.io.DataOutputStream}:
+ * <ul>
+ * <li>{@value #LONG}: key (UTF), value (long)</li>
+ * <li>{@value #DOUBLE}: key (UTF), value (double)</li>
+ * <li>{@value #STRING}: key (UTF), value (UTF)</li>
+ * <li>{@value #PHASE}: phase name (UTF), duration in nanoseconds (long), durations of the same phase are added up</li>
+ * </ul>
+ */
+public class MetricsChannel implements AutoCloseable {
+
+    public static final String PROPERTY = "featjar.metrics";
+    public static final String ENVIRONMENT_VARIABLE = "FEATJAR_METRICS";
+
+    public static final byte LONG = 1;
+    public static final byte DOUBLE = 2;
+    public static final byte STRING = 3;
+    public static final byte PHASE = 4;
+
+    private static final long READ_TIMEOUT = 1000;
+
+    private final Path path;
+    private final boolean namedPipe;
+    private Map<String, Object> metrics;
+    private Map<String, Long> phases;
+    private volatile boolean opened;
+    private Thread reader;
+
+    private MetricsChannel(Path path, boolean namedPipe) {
+        this.path = path;
+        this.namedPipe = namedPipe;
+    }
+
+    /**
+     * Creates a new channel in the given directory.
+     *
+     * @param directory the directory
+     * @return the channel
+     * @throws IOException if the channel cannot be created
+     */
+    public static MetricsChannel create(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        final Path path = Files.createTempFile(directory, "metrics-", ".bin");
+        Files.delete(path);
+        try {
+            final Process mkfifo = new ProcessBuilder("mkfifo", path.toString()).start();
+            if (mkfifo.waitFor(10, TimeUnit.SECONDS) && mkfifo.exitValue() == 0) {
+                return new MetricsChannel(path, true);
+            }
+            mkfifo.destroyForcibly();
+        } catch (IOException e) {
+            FeatJAR.log().debug("Cannot create named pipe: %s", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Files.createFile(path);
+        return new MetricsChannel(path, false);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Starts receiving the metrics of a new run.
+     * Must be called before the process is started.
+     */
+    public void start() {
+        metrics = new LinkedHashMap<>();
+        phases = new LinkedHashMap<>();
+        opened = false;
+        if (namedPipe) {
+            final Map<String, Object> runMetrics = metrics;
+            final Map<String, Long> runPhases = phases;
+            reader = new Thread(() -> read(runMetrics, runPhases), "metrics-" + path.getFileName());
+            reader.setDaemon(true);
+            reader.start();
+        } else {
+            try {
+                Files.write(path, new byte[0]);
+            } catch (IOException e) {
+                FeatJAR.log().error(e);
+            }
+        }
+    }
+
+    /**
+     * Waits for the remaining metrics after the process has finished and adds all received metrics to a result.
+     * Does nothing if the channel was not {@link #start() started}.
+     *
+     * @param result the result of the run
+     */
+    public void finish(ProcessResult<?> result) {
+        if (metrics == null) {
+            return;
+        }
+        if (namedPipe) {
+            if (!opened && reader.isAlive()) {
+                // unblocks the reader if the process never opened the pipe
+                try (OutputStream out = Files.newOutputStream(path)) {
+                    out.flush();
+                } catch (IOException e) {
+                    FeatJAR.log().error(e);
+                }
+            }
+            try {
+                reader.join(READ_TIMEOUT);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (reader.isAlive()) {
+                FeatJAR.log().warning("Metrics channel %s is still open", path);
+            }
+        } else {
+            read(metrics, phases);
+        }
+        synchronized (this) {
+            result.setMetrics(new LinkedHashMap<>(metrics));
+            result.setPhaseTimes(new LinkedHashMap<>(phases));
+            metrics = null;
+            phases = null;
+        }
+    }
+
+    private void read(Map<String, Object> runMetrics, Map<String, Long> runPhases) {
+        try (InputStream in = Files.newInputStream(path)) {
+            opened = true;
+            final DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+            while (true) {
+                final int type = data.read();
+                if (type < 0) {
+                    break;
+                }
+                final String key = data.readUTF();
+                synchronized (this) {
+                    switch (type) {
+                        case LONG:
+                            runMetrics.put(key, data.readLong());
+                            break;
+                        case DOUBLE:
+                            runMetrics.put(key, data.readDouble());
+                            break;
+                        case STRING:
+                            runMetrics.put(key, data.readUTF());
+                            break;
+                        case PHASE:
+                            runPhases.merge(key, data.readLong(), Long::sum);
+                            break;
+                        default:
+                            throw new IOException(String.format("Unknown metric type %d for %s", type, key));
+                    }
+                }
+            }
+        } catch (EOFException e) {
+            FeatJAR.log().warning("Truncated metric in %s", path);
+        } catch (IOException e) {
+            FeatJAR.log().error(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        Files.deleteIfExists(path);
+    }
+}
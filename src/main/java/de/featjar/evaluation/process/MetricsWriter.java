@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.process;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes metrics to a {@link MetricsChannel} from within a started process.
+ * Metrics are buffered until the writer is {@link #flush() flushed} or closed.
+ */
+public class MetricsWriter implements AutoCloseable {
+
+    private final DataOutputStream out;
+
+    /**
+     * Opens the channel passed to this process.
+     *
+     * @return the writer or {@code null} if no channel was passed
+     * @throws IOException if the channel cannot be opened
+     */
+    public static MetricsWriter open() throws IOException {
+        String path = System.getProperty(MetricsChannel.PROPERTY);
+        if (path == null) {
+            path = System.getenv(MetricsChannel.ENVIRONMENT_VARIABLE);
+        }
+        return path == null ? null : new MetricsWriter(Path.of(path));
+    }
+
+    public MetricsWriter(Path path) throws IOException {
+        out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(path, StandardOpenOption.WRITE)));
+    }
+
+    public synchronized void write(String key, long value) throws IOException {
+        out.writeByte(MetricsChannel.LONG);
+        out.writeUTF(key);
+        out.writeLong(value);
+    }
+
+    public synchronized void write(String key, double value) throws IOException {
+        out.writeByte(MetricsChannel.DOUBLE);
+        out.writeUTF(key);
+        out.writeDouble(value);
+    }
+
+    public synchronized void write(String key, String value) throws IOException {
+        out.writeByte(MetricsChannel.STRING);
+        out.writeUTF(key);
+        out.writeUTF(value);
+    }
+
+    /**
+     * Writes the duration of a phase.
+     *
+     * @param phase the name of the phase
+     * @param nanos the duration in nanoseconds
+     * @throws IOException if the metric cannot be written
+     */
+    public synchronized void writePhase(String phase, long nanos) throws IOException {
+        out.writeByte(MetricsChannel.PHASE);
+        out.writeUTF(phase);
+        out.writeLong(nanos);
+    }
+
+    public synchronized void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.process;
+
+import de.featjar.base.FeatJAR;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Tracks the speed of the machine by periodically timing a fixed calibration workload.
+ * The noise level is the relative slowdown of the latest calibration compared to the fastest one observed so far (e.g., 0.25 means 25% slower).
+ * Runs measured while the noise level exceeds a threshold are considered unreliable and can be repeated by the {@link ProcessRunner}.
+ * The workload runs in this process, so it would also measure the load of the runs of this evaluation.
+ * Therefore, no calibration is done while a run is {@link #runStarted() in flight} and the last noise level is used instead.
+ * With parallel runs, the noise level is thus only updated in between runs.
+ */
+public class NoiseMonitor implements AutoCloseable {
+
+    private static final int WORKLOAD_SIZE = 1 << 22;
+    private static final int WORKLOAD_STEPS = 1 << 22;
+    private static final int WORKLOAD_REPETITIONS = 3;
+    private static final int WARMUP_CALIBRATIONS = 3;
+
+    private final long calibrationInterval;
+    private final double threshold;
+    private final int maxRepetitions;
+    private final long maxWaitTime;
+    private final int[] workload;
+
+    private long baselineTime = Long.MAX_VALUE;
+    private long lastCalibrationTime;
+    private double noiseLevel;
+    private int calibrations;
+    private int activeRuns;
+    private int workloadChecksum;
+
+    private Path logFile;
+    private BufferedWriter log;
+
+    /**
+     * Creates a new noise monitor and determines the initial speed of the machine.
+     *
+     * @param calibrationInterval the minimum time in milliseconds between two calibrations
+     * @param threshold the noise level above which the machine is considered degraded
+     * @param maxRepetitions the maximum number of times a run measured on a degraded machine is repeated
+     * @param maxWaitTime the maximum time in milliseconds to wait for the machine to recover before a run is repeated
+     */
+    public NoiseMonitor(long calibrationInterval, double threshold, int maxRepetitions, long maxWaitTime) {
+        this.calibrationInterval = calibrationInterval;
+        this.threshold = threshold;
+        this.maxRepetitions = maxRepetitions;
+        this.maxWaitTime = maxWaitTime;
+        workload = new int[WORKLOAD_SIZE];
+        final Random random = new Random(0);
+        for (int i = 0; i < workload.length; i++) {
+            workload[i] = random.nextInt(workload.length);
+        }
+        for (int i = 0; i < WARMUP_CALIBRATIONS; i++) {
+            calibrate();
+        }
+    }
+
+    /**
+     * Sets a CSV file to which each calibration is appended.
+     *
+     * @param logFile the file or {@code null}
+     */
+    public synchronized void setLog(Path logFile) {
+        this.logFile = logFile;
+    }
+
+    /**
+     * Times the calibration workload and updates the noise level.
+     * The workload combines random memory accesses with arithmetic and takes the fastest of a few repetitions.
+     *
+     * @return the current noise level
+     */
+    public synchronized double calibrate() {
+        long time = Long.MAX_VALUE;
+        int checksum = 0;
+        for (int repetition = 0; repetition < WORKLOAD_REPETITIONS; repetition++) {
+            final long startTime = System.nanoTime();
+            int index = repetition;
+            for (int step = 0; step < WORKLOAD_STEPS; step++) {
+                index = workload[index] ^ (step & 0xff);
+                checksum += index * 31;
+            }
+            time = Math.min(time, System.nanoTime() - startTime);
+        }
+        workloadChecksum = checksum;
+        baselineTime = Math.min(baselineTime, time);
+        noiseLevel = (double) time / baselineTime - 1;
+        lastCalibrationTime = System.currentTimeMillis();
+        calibrations++;
+        writeLog(time);
+        return noiseLevel;
+    }
+
+    /**
+     * Returns the current noise level, calibrating first if the last calibration is older than the calibration interval.
+     *
+     * @return the current noise level
+     */
+    public synchronized double getNoiseLevel() {
+        if (activeRuns == 0 && System.currentTimeMillis() - lastCalibrationTime >= calibrationInterval) {
+            calibrate();
+        }
+        return noiseLevel;
+    }
+
+    /**
+     * Returns the noise level determined by the last calibration without calibrating.
+     *
+     * @return the last noise level
+     */
+    public synchronized double getLastNoiseLevel() {
+        return noiseLevel;
+    }
+
+    public boolean isDegraded(double noiseLevel) {
+        return noiseLevel > threshold;
+    }
+
+    /**
+     * Calibrates repeatedly until the machine is no longer degraded or the maximum wait time has passed.
+     *
+     * @return the noise level after waiting
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public double awaitRecovery() throws InterruptedException {
+        final long endTime = System.currentTimeMillis() + maxWaitTime;
+        double level = calibrateIfIdle();
+        while (isDegraded(level) && System.currentTimeMillis() < endTime) {
+            Thread.sleep(Math.min(1000, Math.max(1, endTime - System.currentTimeMillis())));
+            level = calibrateIfIdle();
+        }
+        if (isDegraded(level)) {
+            FeatJAR.log().warning("Machine still degraded after %d ms (noise level %s)", maxWaitTime, format(level));
+        }
+        return level;
+    }
+
+    private synchronized double calibrateIfIdle() {
+        return activeRuns == 0 ? calibrate() : noiseLevel;
+    }
+
+    /**
+     * Notifies the monitor that a run was started, such that no calibration is done until it has {@link #runFinished() finished}.
+     */
+    public synchronized void runStarted() {
+        activeRuns++;
+    }
+
+    /**
+     * Notifies the monitor that a run has finished.
+     */
+    public synchronized void runFinished() {
+        activeRuns--;
+    }
+
+    public int getMaxRepetitions() {
+        return maxRepetitions;
+    }
+
+    public double getThreshold() {
+        return threshold;
+    }
+
+    public synchronized long getBaselineTime() {
+        return baselineTime;
+    }
+
+    public synchronized int getCalibrations() {
+        return calibrations;
+    }
+
+    public synchronized int getWorkloadChecksum() {
+        return workloadChecksum;
+    }
+
+    private void writeLog(long time) {
+        if (logFile == null) {
+            return;
+        }
+        try {
+            if (log == null) {
+                final boolean newFile = !Files.exists(logFile);
+                log = Files.newBufferedWriter(
+                        logFile, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                if (newFile) {
+                    log.write("timestamp;time;baseline;noiseLevel;systemLoadAverage");
+                    log.newLine();
+                }
+            }
+            log.write(String.valueOf(lastCalibrationTime));
+            log.write(';');
+            log.write(String.valueOf(time));
+            log.write(';');
+            log.write(String.valueOf(baselineTime));
+            log.write(';');
+            log.write(format(noiseLevel));
+            log.write(';');
+            log.write(format(ManagementFactory.getOperatingSystemMXBean().getSystemLoadAverage()));
+            log.newLine();
+            log.flush();
+        } catch (IOException e) {
+            FeatJAR.log().error(e);
+            logFile = null;
+        }
+    }
+
+    static String format(double value) {
+        return String.format(Locale.ENGLISH, "%.3f", value);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (log != null) {
+            try {
+                log.close();
+            } catch (IOException e) {
+                FeatJAR.log().error(e);
+            }
+            log = null;
+        }
+    }
+}
@@ -20,6 +20,8 @@
  */
 package de.featjar.evaluation.process;
 
+import java.util.Map;
+
 public class ProcessResult<R> {
 
     public static final long INVALID_TIME = -1;
@@ -27,7 +29,19 @@ public class ProcessResult<R> {
     private boolean terminatedInTime = false;
     private boolean noError = false;
     private long time = INVALID_TIME;
+    private long timeout = Long.MAX_VALUE;
     private R result = null;
+    private long queueTime = 0;
+    private boolean cached = false;
+    private double noiseLevel = Double.NaN;
+    private int repetitions = 0;
+    private long reportedTime = INVALID_TIME;
+    private long cpuTime = INVALID_TIME;
+    private Map<String, Object> metrics = Map.of();
+    private Map<String, Long> phaseTimes = Map.of();
+    private long peakMemory = -1;
+    private boolean outOfMemory = false;
+    private boolean adaptiveTimeout = false;
 
     public boolean isTerminatedInTime() {
         return terminatedInTime;
@@ -53,6 +67,166 @@ public class ProcessResult<R> {
         this.time = time;
     }
 
+    /**
+     * Returns the timeout that was applied to the run.
+     *
+     * @return the timeout in milliseconds
+     */
+    public long getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Returns whether the timeout of the run was lowered by an {@link ITimeoutPolicy}.
+     * If such a run timed out, it was cut off early and may still have finished within the regular timeout.
+     *
+     * @return {@code true} if an adaptive timeout was applied
+     */
+    public boolean isAdaptiveTimeout() {
+        return adaptiveTimeout;
+    }
+
+    public void setAdaptiveTimeout(boolean adaptiveTimeout) {
+        this.adaptiveTimeout = adaptiveTimeout;
+    }
+
+    /**
+     * Returns the time in milliseconds the run waited for memory, summed over all repetitions.
+     */
+    public long getQueueTime() {
+        return queueTime;
+    }
+
+    public void setQueueTime(long queueTime) {
+        this.queueTime = queueTime;
+    }
+
+    public boolean isCached() {
+        return cached;
+    }
+
+    public void setCached(boolean cached) {
+        this.cached = cached;
+    }
+
+    /**
+     * Returns the noise level of the machine while the process was running, as determined by a {@link NoiseMonitor}.
+     *
+     * @return the noise level or {@link Double#NaN} if it was not monitored
+     */
+    public double getNoiseLevel() {
+        return noiseLevel;
+    }
+
+    public void setNoiseLevel(double noiseLevel) {
+        this.noiseLevel = noiseLevel;
+    }
+
+    /**
+     * Returns how often the process was repeated, because the machine was degraded.
+     *
+     * @return the number of repetitions
+     */
+    public int getRepetitions() {
+        return repetitions;
+    }
+
+    public void setRepetitions(int repetitions) {
+        this.repetitions = repetitions;
+    }
+
+    /**
+     * Returns the time the process measured for the algorithm itself.
+     *
+     * @return the time in milliseconds or {@link #INVALID_TIME} if the process does not report its time
+     * @see Algorithm#getReportedTime()
+     */
+    public long getReportedTime() {
+        return reportedTime;
+    }
+
+    public void setReportedTime(long reportedTime) {
+        this.reportedTime = reportedTime;
+    }
+
+    /**
+     * Returns the overhead of the process that is not part of the algorithm, mostly the startup of the JVM.
+     *
+     * @return the difference between the {@link #getTime() time} and the {@link #getReportedTime() reported time} in milliseconds or {@link #INVALID_TIME} if one of them is not available
+     */
+    public long getStartupTime() {
+        return time == INVALID_TIME || reportedTime == INVALID_TIME ? INVALID_TIME : Math.max(0, time - reportedTime);
+    }
+
+    /**
+     * Returns the CPU time used by the process and all its descendants, as measured by a {@link CgroupSandbox}.
+     *
+     * @return the CPU time in milliseconds or {@link #INVALID_TIME} if it was not measured
+     */
+    public long getCpuTime() {
+        return cpuTime;
+    }
+
+    public void setCpuTime(long cpuTime) {
+        this.cpuTime = cpuTime;
+    }
+
+    /**
+     * Returns the peak memory used by the process and all its descendants, as measured by a {@link CgroupSandbox}.
+     *
+     * @return the peak memory in bytes or -1 if it was not measured
+     */
+    public long getPeakMemory() {
+        return peakMemory;
+    }
+
+    public void setPeakMemory(long peakMemory) {
+        this.peakMemory = peakMemory;
+    }
+
+    /**
+     * Returns whether a process of the run was killed for exceeding the memory limit of a {@link CgroupSandbox}.
+     *
+     * @return {@code true} if a process was killed, {@code false} otherwise
+     */
+    public boolean isOutOfMemory() {
+        return outOfMemory;
+    }
+
+    public void setOutOfMemory(boolean outOfMemory) {
+        this.outOfMemory = outOfMemory;
+    }
+
+    /**
+     * Returns the metrics the process wrote to its {@link MetricsChannel metrics channel}.
+     *
+     * @return the metrics with values of type {@link Long}, {@link Double}, or {@link String}
+     */
+    public Map<String, Object> getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(Map<String, Object> metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns the durations of phases the process wrote to its {@link MetricsChannel metrics channel}.
+     *
+     * @return the duration of each phase in nanoseconds
+     */
+    public Map<String, Long> getPhaseTimes() {
+        return phaseTimes;
+    }
+
+    public void setPhaseTimes(Map<String, Long> phaseTimes) {
+        this.phaseTimes = phaseTimes;
+    }
+
     public R getResult() {
         return result;
     }
@@ -21,61 +21,83 @@
 package de.featjar.evaluation.process;
 
 import de.featjar.base.FeatJAR;
+import de.featjar.evaluation.streams.AsyncLogSink;
 import de.featjar.evaluation.streams.ErrStreamCollector;
 import de.featjar.evaluation.streams.ErrStreamReader;
+import de.featjar.evaluation.streams.IOutputReader;
+import de.featjar.evaluation.streams.OutStreamCollector;
 import de.featjar.evaluation.streams.OutStreamReader;
 import de.featjar.evaluation.streams.StreamRedirector;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 public class ProcessRunner implements IProcessRunner {
 
+    /**
+     * Time in milliseconds a timed-out process gets to shut down (e.g., to write a flight recording) before it is killed.
+     */
+    private static final long TERMINATION_GRACE_PERIOD = 2000;
+
+    /**
+     * Time in milliseconds to wait for the remaining output of a finished process to be read.
+     */
+    private static final long STREAM_JOIN_TIMEOUT = 5000;
+
     private long timeout = Long.MAX_VALUE;
+    private ITimeoutPolicy timeoutPolicy;
+    private MemoryAdmission memoryAdmission;
+    private ResultCache resultCache;
+    private ScratchSpace scratchSpace;
+    private NoiseMonitor noiseMonitor;
+    private AsyncLogSink logSink;
+    private CgroupSandbox sandbox;
+    private boolean metricsEnabled;
+    private final List<IProcessListener> listeners = new CopyOnWriteArrayList<>();
 
     public <R> ProcessResult<R> run(Algorithm<R> algorithm) {
         final ProcessResult<R> result = new ProcessResult<>();
-        boolean terminatedInTime = false;
-        boolean noError = false;
-        long startTime = 0, endTime = 0;
+        Path tempDirectory = null;
+        MetricsChannel metricsChannel = null;
+        for (IProcessListener listener : listeners) {
+            listener.started(algorithm);
+        }
         try {
             System.gc();
+            if (scratchSpace != null) {
+                tempDirectory = scratchSpace.allocate();
+                algorithm.setTempDirectory(tempDirectory);
+            }
+            if (metricsEnabled) {
+                metricsChannel = MetricsChannel.create(
+                        tempDirectory != null ? tempDirectory : Path.of(System.getProperty("java.io.tmpdir")));
+                algorithm.setMetricsFile(metricsChannel.getPath());
+            }
             algorithm.preProcess();
 
-            FeatJAR.log().debug("Running command: %s", algorithm.getCommand());
+            FeatJAR.log().debug(() -> "Running command: " + algorithm.getCommand());
 
             final List<String> command = algorithm.getCommandElements();
+            final long runTimeout = timeoutPolicy != null ? timeoutPolicy.getTimeout(algorithm, timeout) : timeout;
+            result.setTimeout(runTimeout);
+            result.setAdaptiveTimeout(runTimeout < timeout);
             if (!command.isEmpty()) {
-                final ProcessBuilder processBuilder = new ProcessBuilder(command);
-                Process process = null;
-
-                final ErrStreamCollector errStreamCollector = new ErrStreamCollector();
-                final StreamRedirector errRedirector =
-                        new StreamRedirector(Arrays.asList(new ErrStreamReader(), errStreamCollector));
-                final StreamRedirector outRedirector =
-                        new StreamRedirector(Arrays.asList(new OutStreamReader(), algorithm));
-                final Thread outThread = new Thread(outRedirector);
-                final Thread errThread = new Thread(errRedirector);
-                try {
-                    startTime = System.nanoTime();
-                    process = processBuilder.start();
-
-                    outRedirector.setInputStream(process.getInputStream());
-                    errRedirector.setInputStream(process.getErrorStream());
-                    outThread.start();
-                    errThread.start();
-
-                    terminatedInTime = process.waitFor(timeout, TimeUnit.MILLISECONDS);
-                    endTime = System.nanoTime();
-                    noError = errStreamCollector.getErrList().isEmpty();
-                    result.setTerminatedInTime(terminatedInTime);
-                    result.setNoError(noError);
-                    result.setTime((endTime - startTime) / 1_000_000L);
-                } finally {
-                    if (process != null) {
-                        process.destroyForcibly();
+                final String cacheKey = resultCache != null ? resultCache.computeKey(algorithm) : null;
+                if (cacheKey != null && resultCache.restore(cacheKey, algorithm, result)) {
+                    FeatJAR.log().debug("Restored result from cache (%s)", cacheKey);
+                } else {
+                    final OutStreamCollector outputCollector = cacheKey != null ? new OutStreamCollector() : null;
+                    executeMonitored(algorithm, command, result, metricsChannel, outputCollector);
+                    if (cacheKey != null) {
+                        resultCache.store(cacheKey, algorithm, result, outputCollector.getOutList());
+                    }
+                    if (timeoutPolicy != null) {
+                        timeoutPolicy.record(algorithm, result);
                     }
-                    FeatJAR.log().debug("In time: " + terminatedInTime + ", no error: " + noError);
                 }
             } else {
                 result.setTerminatedInTime(false);
@@ -90,9 +112,13 @@ public class ProcessRunner implements IProcessRunner {
             result.setTime(ProcessResult.INVALID_TIME);
         }
         try {
-            if (terminatedInTime && noError) {
+            if (result.isTerminatedInTime() && result.isNoError()) {
                 result.setResult(algorithm.parseResults());
             }
+            if (result.isTerminatedInTime()) {
+                result.setReportedTime(algorithm.getReportedTime());
+                FeatJAR.log().debug("Startup time: %d ms", result.getStartupTime());
+            }
         } catch (final Exception e) {
             FeatJAR.log().error(e);
             result.setNoError(false);
@@ -102,9 +128,171 @@ public class ProcessRunner implements IProcessRunner {
         } catch (final Exception e) {
             FeatJAR.log().error(e);
         }
+        if (metricsChannel != null) {
+            algorithm.setMetricsFile(null);
+            try {
+                metricsChannel.close();
+            } catch (final Exception e) {
+                FeatJAR.log().error(e);
+            }
+        }
+        if (tempDirectory != null) {
+            algorithm.setTempDirectory(null);
+            scratchSpace.release(tempDirectory);
+        }
+        for (IProcessListener listener : listeners) {
+            try {
+                listener.finished(algorithm, result);
+            } catch (final Exception e) {
+                FeatJAR.log().error(e);
+            }
+        }
         return result;
     }
 
+    private <R> void executeMonitored(
+            Algorithm<R> algorithm,
+            List<String> command,
+            ProcessResult<R> result,
+            MetricsChannel metricsChannel,
+            OutStreamCollector outputCollector)
+            throws Exception {
+        if (noiseMonitor == null) {
+            execute(algorithm, command, result, metricsChannel, outputCollector);
+            return;
+        }
+        for (int repetition = 0; ; repetition++) {
+            if (repetition > 0) {
+                for (Path outputFile : algorithm.getOutputFiles()) {
+                    Files.deleteIfExists(outputFile);
+                }
+                algorithm.preProcess();
+            }
+            final double noiseLevelBefore = noiseMonitor.getNoiseLevel();
+            execute(algorithm, command, result, metricsChannel, outputCollector);
+            final double noiseLevel = Math.max(noiseLevelBefore, noiseMonitor.getNoiseLevel());
+            result.setNoiseLevel(noiseLevel);
+            result.setRepetitions(repetition);
+            if (!noiseMonitor.isDegraded(noiseLevel)
+                    || repetition >= noiseMonitor.getMaxRepetitions()
+                    || result.getTime() == ProcessResult.INVALID_TIME) {
+                break;
+            }
+            FeatJAR.log()
+                    .info("Repeating run measured at noise level %s: %s", NoiseMonitor.format(noiseLevel), algorithm);
+            noiseMonitor.awaitRecovery();
+        }
+    }
+
+    private <R> void execute(
+            Algorithm<R> algorithm,
+            List<String> command,
+            ProcessResult<R> result,
+            MetricsChannel metricsChannel,
+            OutStreamCollector outputCollector)
+            throws Exception {
+        boolean terminatedInTime = false;
+        boolean noError = false;
+        long startTime = 0, endTime = 0;
+        final CgroupSandbox.Run sandboxRun = sandbox != null ? sandbox.open() : null;
+        final ProcessBuilder processBuilder =
+                new ProcessBuilder(sandboxRun != null ? sandboxRun.wrap(command) : command);
+        Process process = null;
+
+        final ErrStreamCollector errStreamCollector = new ErrStreamCollector();
+        final AsyncLogSink.RunLog runLog = logSink != null ? logSink.openRun(algorithm.getFullName()) : null;
+        final StreamRedirector errRedirector = new StreamRedirector(Arrays.asList(
+                runLog != null ? runLog.getErrReader() : new ErrStreamReader(), errStreamCollector));
+        final IOutputReader outReader = runLog != null ? runLog.getOutReader() : new OutStreamReader();
+        final StreamRedirector outRedirector = new StreamRedirector(
+                outputCollector != null
+                        ? Arrays.asList(outReader, algorithm, outputCollector)
+                        : Arrays.asList(outReader, algorithm));
+        if (outputCollector != null) {
+            outputCollector.clear();
+        }
+        final Thread outThread = new Thread(outRedirector);
+        final Thread errThread = new Thread(errRedirector);
+        long reservation = -1;
+        boolean monitored = false;
+        try {
+            if (memoryAdmission != null) {
+                final long queueStartTime = System.nanoTime();
+                reservation = memoryAdmission.acquire(algorithm.getMemoryReservation());
+                final long queueTime = (System.nanoTime() - queueStartTime) / 1_000_000L;
+                result.setQueueTime(result.getQueueTime() + queueTime);
+                FeatJAR.log().debug("Waited %d ms for memory", queueTime);
+            }
+            if (noiseMonitor != null) {
+                noiseMonitor.runStarted();
+                monitored = true;
+            }
+            if (metricsChannel != null) {
+                processBuilder
+                        .environment()
+                        .put(MetricsChannel.ENVIRONMENT_VARIABLE, metricsChannel.getPath().toString());
+                metricsChannel.start();
+            }
+            startTime = System.nanoTime();
+            process = processBuilder.start();
+
+            outRedirector.setInputStream(process.getInputStream());
+            errRedirector.setInputStream(process.getErrorStream());
+            outThread.start();
+            errThread.start();
+
+            terminatedInTime = process.waitFor(result.getTimeout(), TimeUnit.MILLISECONDS);
+            endTime = System.nanoTime();
+            if (terminatedInTime) {
+                joinStream(outThread);
+                joinStream(errThread);
+            }
+            noError = errStreamCollector.getErrList().isEmpty();
+            result.setTerminatedInTime(terminatedInTime);
+            result.setNoError(noError);
+            result.setTime((endTime - startTime) / 1_000_000L);
+        } finally {
+            if (process != null) {
+                final List<ProcessHandle> descendants = process.descendants().collect(Collectors.toList());
+                if (process.isAlive()) {
+                    process.destroy();
+                    process.waitFor(TERMINATION_GRACE_PERIOD, TimeUnit.MILLISECONDS);
+                }
+                process.destroyForcibly();
+                descendants.forEach(ProcessHandle::destroyForcibly);
+            }
+            if (sandboxRun != null) {
+                sandboxRun.close(result);
+            }
+            if (metricsChannel != null) {
+                metricsChannel.finish(result);
+            }
+            if (monitored) {
+                noiseMonitor.runFinished();
+            }
+            if (reservation >= 0) {
+                memoryAdmission.release(reservation);
+            }
+            joinStream(outThread);
+            joinStream(errThread);
+            if (runLog != null) {
+                runLog.close();
+            }
+            FeatJAR.log().debug("In time: " + terminatedInTime + ", no error: " + noError);
+        }
+    }
+
+    private static void joinStream(Thread streamThread) {
+        try {
+            streamThread.join(STREAM_JOIN_TIMEOUT);
+            if (streamThread.isAlive()) {
+                FeatJAR.log().warning("Output of process was not read completely within %d ms", STREAM_JOIN_TIMEOUT);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     public long getTimeout() {
         return timeout;
     }
@@ -112,4 +300,113 @@ public class ProcessRunner implements IProcessRunner {
     public void setTimeout(long timeout) {
         this.timeout = timeout;
     }
+
+    public ITimeoutPolicy getTimeoutPolicy() {
+        return timeoutPolicy;
+    }
+
+    public void setTimeoutPolicy(ITimeoutPolicy timeoutPolicy) {
+        this.timeoutPolicy = timeoutPolicy;
+    }
+
+    public MemoryAdmission getMemoryAdmission() {
+        return memoryAdmission;
+    }
+
+    /**
+     * Sets the admission control that delays the start of processes until their memory is available.
+     *
+     * @param memoryAdmission the admission control or {@code null} to start processes immediately
+     */
+    public void setMemoryAdmission(MemoryAdmission memoryAdmission) {
+        this.memoryAdmission = memoryAdmission;
+    }
+
+    public ResultCache getResultCache() {
+        return resultCache;
+    }
+
+    /**
+     * Sets the cache from which results of identical runs are restored instead of starting a new process.
+     *
+     * @param resultCache the cache or {@code null} to always start a new process
+     */
+    public void setResultCache(ResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    public ScratchSpace getScratchSpace() {
+        return scratchSpace;
+    }
+
+    /**
+     * Sets the scratch space that provides a separate temporary directory for each run.
+     *
+     * @param scratchSpace the scratch space or {@code null} to not provide temporary directories
+     */
+    public void setScratchSpace(ScratchSpace scratchSpace) {
+        this.scratchSpace = scratchSpace;
+    }
+
+    public NoiseMonitor getNoiseMonitor() {
+        return noiseMonitor;
+    }
+
+    /**
+     * Sets the noise monitor that tags results with the noise level of the machine and repeats runs measured on a degraded machine.
+     * Before a run is repeated, its output files are deleted and its algorithm is {@link Algorithm#preProcess() prepared} again.
+     *
+     * @param noiseMonitor the noise monitor or {@code null} to not monitor noise
+     */
+    public void setNoiseMonitor(NoiseMonitor noiseMonitor) {
+        this.noiseMonitor = noiseMonitor;
+    }
+
+    public AsyncLogSink getLogSink() {
+        return logSink;
+    }
+
+    /**
+     * Sets the sink that logs the output of started processes asynchronously and rate-limited.
+     *
+     * @param logSink the sink or {@code null} to log every line synchronously
+     */
+    public void setLogSink(AsyncLogSink logSink) {
+        this.logSink = logSink;
+    }
+
+    public CgroupSandbox getSandbox() {
+        return sandbox;
+    }
+
+    /**
+     * Sets the sandbox that runs each process in its own cgroup.
+     * Without a sandbox, only the descendants of a process that are alive when it is stopped are killed.
+     *
+     * @param sandbox the sandbox or {@code null} to run processes in the cgroup of this process
+     */
+    public void setSandbox(CgroupSandbox sandbox) {
+        this.sandbox = sandbox;
+    }
+
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    /**
+     * Sets whether each process gets a {@link MetricsChannel metrics channel} whose metrics are added to its result.
+     *
+     * @param metricsEnabled {@code true} to create metrics channels
+     */
+    public void setMetricsEnabled(boolean metricsEnabled) {
+        this.metricsEnabled = metricsEnabled;
+    }
+
+    public void addListener(IProcessListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(IProcessListener listener) {
+        listeners.remove(listener);
+    }
 }
@@ -0,0 +1,393 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.process;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.evaluation.util.FileUtils;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stores results and output files of runs in a directory, such that identical runs can be restored instead of executed again.
+ * Runs are identified by their command, the content of their {@link Algorithm#getInputFiles() input files}, and the seed.
+ * The timeout is stored with the result instead, so a result is reused for a different (e.g., adaptive) timeout
+ * if it finished within this timeout or if it timed out at a timeout that is at least as long.
+ * Paths of input, output, temporary, and {@link Algorithm#getTransientFiles() transient} files within the command are ignored, so results can be restored across different evaluation outputs.
+ * A restored result contains the same measurements as the stored one, including the reported and CPU time, peak memory, metrics, and phase times.
+ * Only the queue time, noise level, and repetitions are not restored, as they describe the scheduling of the current run.
+ * The standard output of a run is stored as well and passed to {@link Algorithm#readOutput(String)} on restore.
+ * Only runs that finished in time without error are stored, unless {@link #setCacheTimeouts(boolean) timeouts} are cached as well,
+ * so transient failures are executed again.
+ */
+public class ResultCache {
+
+    private static final String RESULT_FILE = "result.properties";
+    private static final String STDOUT_FILE = "stdout";
+
+    private static class FileHash {
+        private final long size;
+        private final long lastModified;
+        private final String hash;
+
+        private FileHash(long size, long lastModified, String hash) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.hash = hash;
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private final Path cacheDirectory;
+    private final Long seed;
+    private final Map<Path, FileHash> fileHashes = new ConcurrentHashMap<>();
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+    private boolean cacheTimeouts;
+
+    /**
+     * Creates a new result cache.
+     *
+     * @param cacheDirectory the directory in which results are stored
+     * @param seed the seed of the evaluation, may be {@code null}
+     */
+    public ResultCache(Path cacheDirectory, Long seed) {
+        this.cacheDirectory = cacheDirectory;
+        this.seed = seed;
+    }
+
+    public boolean isCacheTimeouts() {
+        return cacheTimeouts;
+    }
+
+    /**
+     * Sets whether runs that did not finish in time are stored, such that they are not executed again.
+     *
+     * @param cacheTimeouts {@code true} to store timeouts
+     */
+    public void setCacheTimeouts(boolean cacheTimeouts) {
+        this.cacheTimeouts = cacheTimeouts;
+    }
+
+    /**
+     * Computes the key identifying a run of the given algorithm.
+     * Must be called after {@link Algorithm#preProcess()}.
+     *
+     * @param algorithm the algorithm
+     * @return the key
+     * @throws IOException if an input file cannot be read
+     */
+    public String computeKey(Algorithm<?> algorithm) throws IOException {
+        final MessageDigest digest = newDigest();
+        final List<Path> inputFiles = algorithm.getInputFiles();
+        final List<Path> outputFiles = algorithm.getOutputFiles();
+        final Path tempDirectory = algorithm.getTempDirectory();
+        final List<Path> transientFiles = algorithm.getTransientFiles();
+        for (String element : algorithm.getCommandElements()) {
+            for (int i = 0; i < transientFiles.size(); i++) {
+                element = element.replace(transientFiles.get(i).toString(), "<transient" + i + ">");
+            }
+            if (tempDirectory != null) {
+                element = element.replace(tempDirectory.toString(), "<temp>");
+            }
+            update(digest, normalize(normalize(element, inputFiles, "input"), outputFiles, "output"));
+        }
+        for (Path inputFile : inputFiles) {
+            update(digest, getContentHash(inputFile));
+        }
+        update(digest, String.valueOf(seed));
+        return FileUtils.toHex(digest.digest());
+    }
+
+    private String normalize(String element, List<Path> files, String name) {
+        for (int i = 0; i < files.size(); i++) {
+            if (element.equals(files.get(i).toString())) {
+                return "<" + name + i + ">";
+            }
+        }
+        return element;
+    }
+
+    private void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private String getContentHash(Path file) throws IOException {
+        final Path key = file.toAbsolutePath().normalize();
+        if (Files.isRegularFile(key)) {
+            final long size = Files.size(key);
+            final long lastModified = Files.getLastModifiedTime(key).toMillis();
+            final FileHash fileHash = fileHashes.get(key);
+            if (fileHash != null && fileHash.size == size && fileHash.lastModified == lastModified) {
+                return fileHash.hash;
+            }
+            final String hash = FileUtils.hashContent(key);
+            fileHashes.put(key, new FileHash(size, lastModified, hash));
+            return hash;
+        } else if (Files.isDirectory(key)) {
+            return FileUtils.hashContent(key);
+        } else {
+            return "";
+        }
+    }
+
+    /**
+     * Restores a stored result and copies the stored output files to the {@link Algorithm#getOutputFiles() output files} of the given algorithm.
+     * The stored standard output is passed to the algorithm line by line.
+     * Entries without stored standard output are ignored, as are entries that do not hold for the timeout of the given result.
+     *
+     * @param key the key of the run
+     * @param algorithm the algorithm
+     * @param result the result to fill with the stored values, whose timeout must be set
+     * @return {@code true} if a result was stored for the key and timeout, {@code false} otherwise
+     * @throws IOException if the stored result cannot be read
+     */
+    public boolean restore(String key, Algorithm<?> algorithm, ProcessResult<?> result) throws IOException {
+        final Path entry = cacheDirectory.resolve(key);
+        final Path stdoutFile = entry.resolve(STDOUT_FILE);
+        final Properties properties = readProperties(entry);
+        if (properties == null || !Files.isReadable(stdoutFile) || !holds(properties, result.getTimeout())) {
+            misses.incrementAndGet();
+            return false;
+        }
+        final List<Path> outputFiles = algorithm.getOutputFiles();
+        for (int i = 0; i < outputFiles.size(); i++) {
+            final Path storedFile = entry.resolve("output-" + i);
+            if (Files.isRegularFile(storedFile)) {
+                final Path outputFile = outputFiles.get(i);
+                final Path parent = outputFile.toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                Files.copy(storedFile, outputFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        result.setTerminatedInTime(Boolean.parseBoolean(properties.getProperty("terminatedInTime")));
+        result.setNoError(Boolean.parseBoolean(properties.getProperty("noError")));
+        result.setTime(Long.parseLong(properties.getProperty("time")));
+        result.setReportedTime(getLong(properties, "reportedTime", ProcessResult.INVALID_TIME));
+        result.setCpuTime(getLong(properties, "cpuTime", ProcessResult.INVALID_TIME));
+        result.setPeakMemory(getLong(properties, "peakMemory", -1));
+        result.setOutOfMemory(Boolean.parseBoolean(properties.getProperty("outOfMemory")));
+        final LinkedHashMap<String, Object> metrics = new LinkedHashMap<>();
+        final LinkedHashMap<String, Long> phaseTimes = new LinkedHashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            final String value = properties.getProperty(name);
+            if (name.startsWith("metric.")) {
+                metrics.put(name.substring(7), parseMetric(value));
+            } else if (name.startsWith("phase.")) {
+                phaseTimes.put(name.substring(6), Long.parseLong(value));
+            }
+        }
+        result.setMetrics(metrics);
+        result.setPhaseTimes(phaseTimes);
+        for (String line : Files.readAllLines(stdoutFile, StandardCharsets.UTF_8)) {
+            try {
+                algorithm.readOutput(line);
+            } catch (final Exception e) {
+                // ignored as for a running process
+            }
+        }
+        result.setCached(true);
+        hits.incrementAndGet();
+        return true;
+    }
+
+    private static Properties readProperties(Path entry) throws IOException {
+        final Path resultFile = entry.resolve(RESULT_FILE);
+        if (!Files.isReadable(resultFile)) {
+            return null;
+        }
+        final Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(resultFile)) {
+            properties.load(in);
+        }
+        return properties;
+    }
+
+    /**
+     * Checks whether a stored result is the result of a run with the given timeout.
+     * This holds if the run finished within the timeout or if it timed out at a timeout that is at least as long.
+     */
+    private static boolean holds(Properties properties, long timeout) {
+        if (Boolean.parseBoolean(properties.getProperty("terminatedInTime"))) {
+            return getLong(properties, "time", Long.MAX_VALUE) <= timeout;
+        } else {
+            return getLong(properties, "timeout", -1) >= timeout;
+        }
+    }
+
+    /**
+     * Checks whether a stored result holds for every timeout the given result holds for.
+     */
+    private static boolean covers(Properties properties, ProcessResult<?> result) {
+        if (Boolean.parseBoolean(properties.getProperty("terminatedInTime"))) {
+            return true;
+        }
+        return !result.isTerminatedInTime() && holds(properties, result.getTimeout());
+    }
+
+    private static long getLong(Properties properties, String name, long defaultValue) {
+        final String value = properties.getProperty(name);
+        return value == null ? defaultValue : Long.parseLong(value);
+    }
+
+    private static String printMetric(Object value) {
+        if (value instanceof Long) {
+            return "L:" + value;
+        } else if (value instanceof Double) {
+            return "D:" + value;
+        } else {
+            return "S:" + value;
+        }
+    }
+
+    private static Object parseMetric(String value) {
+        final String content = value.substring(2);
+        switch (value.charAt(0)) {
+            case 'L':
+                return Long.parseLong(content);
+            case 'D':
+                return Double.parseDouble(content);
+            default:
+                return content;
+        }
+    }
+
+    /**
+     * Stores the result, the standard output, and the {@link Algorithm#getOutputFiles() output files} of a run.
+     * Results with an {@link ProcessResult#INVALID_TIME invalid time} or an error are not stored, timeouts only if {@link #setCacheTimeouts(boolean) enabled}.
+     * An existing entry for the same key is kept, unless it is a timeout and the new result finished in time or timed out at a longer timeout.
+     * Failures are only logged, as they must not affect the result of the run.
+     *
+     * @param key the key of the run
+     * @param algorithm the algorithm
+     * @param result the result of the run
+     * @param outputLines the lines of the standard output of the run
+     */
+    public void store(String key, Algorithm<?> algorithm, ProcessResult<?> result, List<String> outputLines) {
+        if (result.getTime() == ProcessResult.INVALID_TIME
+                || (result.isTerminatedInTime() ? !result.isNoError() : !cacheTimeouts)) {
+            return;
+        }
+        final Path entry = cacheDirectory.resolve(key);
+        Path tempEntry = null;
+        Path replacedEntry = null;
+        try {
+            if (Files.exists(entry)) {
+                final Properties storedProperties = readProperties(entry);
+                if (storedProperties == null || covers(storedProperties, result)) {
+                    return;
+                }
+            }
+            Files.createDirectories(cacheDirectory);
+            tempEntry = Files.createTempDirectory(cacheDirectory, ".tmp-");
+            final List<Path> outputFiles = algorithm.getOutputFiles();
+            for (int i = 0; i < outputFiles.size(); i++) {
+                final Path outputFile = outputFiles.get(i);
+                if (Files.isRegularFile(outputFile)) {
+                    Files.copy(outputFile, tempEntry.resolve("output-" + i));
+                }
+            }
+            Files.write(tempEntry.resolve(STDOUT_FILE), outputLines, StandardCharsets.UTF_8);
+            final Properties properties = new Properties();
+            properties.setProperty("terminatedInTime", String.valueOf(result.isTerminatedInTime()));
+            properties.setProperty("noError", String.valueOf(result.isNoError()));
+            properties.setProperty("time", String.valueOf(result.getTime()));
+            properties.setProperty("timeout", String.valueOf(result.getTimeout()));
+            properties.setProperty("reportedTime", String.valueOf(result.getReportedTime()));
+            properties.setProperty("cpuTime", String.valueOf(result.getCpuTime()));
+            properties.setProperty("peakMemory", String.valueOf(result.getPeakMemory()));
+            properties.setProperty("outOfMemory", String.valueOf(result.isOutOfMemory()));
+            for (Map.Entry<String, Object> metric : result.getMetrics().entrySet()) {
+                properties.setProperty("metric." + metric.getKey(), printMetric(metric.getValue()));
+            }
+            for (Map.Entry<String, Long> phase : result.getPhaseTimes().entrySet()) {
+                properties.setProperty("phase." + phase.getKey(), String.valueOf(phase.getValue()));
+            }
+            properties.setProperty("command", algorithm.getCommand());
+            try (OutputStream out = Files.newOutputStream(tempEntry.resolve(RESULT_FILE))) {
+                properties.store(out, null);
+            }
+            if (Files.exists(entry)) {
+                replacedEntry = cacheDirectory.resolve(tempEntry.getFileName() + "-replaced");
+                Files.move(entry, replacedEntry, StandardCopyOption.ATOMIC_MOVE);
+            }
+            Files.move(tempEntry, entry, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            if (!Files.exists(entry)) {
+                FeatJAR.log().warning("Could not store result in cache (%s): %s", key, e);
+            }
+            // otherwise stored concurrently by another process
+        } finally {
+            if (tempEntry != null) {
+                try {
+                    FileUtils.deleteRecursively(tempEntry);
+                } catch (IOException e) {
+                    FeatJAR.log().error(e);
+                }
+            }
+            if (replacedEntry != null) {
+                try {
+                    FileUtils.deleteRecursively(replacedEntry);
+                } catch (IOException e) {
+                    FeatJAR.log().error(e);
+                }
+            }
+        }
+    }
+
+    public Path getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    public int getHits() {
+        return hits.get();
+    }
+
+    public int getMisses() {
+        return misses.get();
+    }
+
+    public String printStatus() {
+        return String.format("Result cache: %d hits, %d misses (%s)", getHits(), getMisses(), cacheDirectory);
+    }
+}
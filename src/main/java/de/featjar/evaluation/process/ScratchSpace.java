@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.process;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.evaluation.util.FileUtils;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Provides a separate temporary directory for each run.
+ * Directories are placed on a RAM-backed file system (e.g., {@code /dev/shm}), as long as the files in it stay within a given budget, and on disk otherwise.
+ * Released directories are deleted in the background.
+ * The budget is only advisory: the size of a run directory is only known when it is deleted, so each new directory on the RAM-backed file system is expected to grow as large as the largest deleted one.
+ * A single run may still exceed the budget after its directory was allocated.
+ */
+public class ScratchSpace implements AutoCloseable {
+
+    private final Path diskRoot;
+    private final Path ramRoot;
+    private final long ramBudget;
+
+    private final AtomicLong runCounter = new AtomicLong();
+    private final AtomicLong deletedBytes = new AtomicLong();
+    private final Map<Path, Long> ramReservations = new HashMap<>();
+    private long ramReserved;
+    private long expectedRamUsage;
+    private final ExecutorService cleaner = Executors.newSingleThreadExecutor(r -> {
+        final Thread thread = new Thread(r, "scratch-cleaner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Creates a scratch space that only uses the disk.
+     *
+     * @param diskRoot the directory in which run directories are created
+     */
+    public ScratchSpace(Path diskRoot) {
+        this(diskRoot, null, 0);
+    }
+
+    /**
+     * Creates a scratch space that prefers a RAM-backed file system.
+     *
+     * @param diskRoot the directory in which run directories are created if the budget is exhausted
+     * @param ramFileSystem a directory on a RAM-backed file system, may be {@code null}
+     * @param ramBudget the maximum number of bytes in run directories on the RAM-backed file system
+     */
+    public ScratchSpace(Path diskRoot, Path ramFileSystem, long ramBudget) {
+        this.diskRoot = diskRoot;
+        this.ramRoot = ramFileSystem != null && Files.isWritable(ramFileSystem)
+                ? ramFileSystem.resolve("featjar-evaluation-" + ProcessHandle.current().pid())
+                : null;
+        this.ramBudget = ramBudget;
+        if (ramFileSystem != null && ramRoot == null) {
+            FeatJAR.log().warning("Cannot write to %s, using %s for temporary files.", ramFileSystem, diskRoot);
+        }
+    }
+
+    /**
+     * Creates a new empty directory for a run.
+     *
+     * @return the path to the directory
+     * @throws IOException if the directory cannot be created
+     */
+    public Path allocate() throws IOException {
+        final String name = "run-" + runCounter.getAndIncrement();
+        if (ramRoot != null) {
+            synchronized (ramReservations) {
+                if (ramReserved + expectedRamUsage <= ramBudget) {
+                    final Path runDirectory = Files.createDirectories(ramRoot.resolve(name));
+                    ramReservations.put(runDirectory, expectedRamUsage);
+                    ramReserved += expectedRamUsage;
+                    return runDirectory;
+                }
+            }
+        }
+        return Files.createDirectories(diskRoot.resolve(name));
+    }
+
+    /**
+     * Schedules the deletion of a directory that was created by {@link #allocate()}.
+     * Its reservation on the RAM-backed file system ends when it is deleted.
+     *
+     * @param runDirectory the directory
+     */
+    public void release(Path runDirectory) {
+        cleaner.execute(() -> {
+            long size = 0;
+            try {
+                size = FileUtils.deleteRecursively(runDirectory);
+                deletedBytes.addAndGet(size);
+            } catch (IOException e) {
+                FeatJAR.log().error(e);
+            }
+            synchronized (ramReservations) {
+                final Long reservation = ramReservations.remove(runDirectory);
+                if (reservation != null) {
+                    ramReserved -= reservation;
+                    expectedRamUsage = Math.max(expectedRamUsage, size);
+                }
+            }
+        });
+    }
+
+    public boolean isRamBacked(Path runDirectory) {
+        return ramRoot != null && runDirectory.startsWith(ramRoot);
+    }
+
+    public long getDeletedBytes() {
+        return deletedBytes.get();
+    }
+
+    /**
+     * Waits for all scheduled deletions and removes the directory on the RAM-backed file system.
+     */
+    @Override
+    public void close() {
+        cleaner.shutdown();
+        try {
+            if (!cleaner.awaitTermination(1, TimeUnit.HOURS)) {
+                FeatJAR.log().warning("Deletion of temporary files did not finish.");
+            }
+            if (ramRoot != null) {
+                FileUtils.deleteRecursively(ramRoot);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            FeatJAR.log().error(e);
+        }
+    }
+}
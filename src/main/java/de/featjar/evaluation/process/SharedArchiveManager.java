@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.process;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.evaluation.util.FileUtils;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Creates and reuses a dynamic class data sharing (CDS) archive for each jar started by {@link EvaluationAlgorithm evaluation algorithms}, which reduces the startup time of their JVMs.
+ * Before the first run of a jar, its archive is created by an unmeasured warm-up launch of the same command, so all measured runs of a jar use the same archive.
+ * An archive is only kept if its warm-up launch exits normally.
+ * Archives are named by the content hash of their jar, such that an archive is replaced when its jar changes.
+ * Archives that do not match the JVM of a run are ignored by the JVM.
+ */
+public class SharedArchiveManager implements IProcessListener {
+
+    private static final class Entry {
+        private final long lastModified;
+        private final long size;
+        private final Path archive;
+
+        private Entry(long lastModified, long size, Path archive) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.archive = archive;
+        }
+    }
+
+    private final Path archiveDirectory;
+    private final long warmUpTimeout;
+    private final Map<Path, Entry> archives = new ConcurrentHashMap<>();
+    private final Map<Path, Object> archiveLocks = new ConcurrentHashMap<>();
+    private final Set<Path> failedArchives = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger sharedRuns = new AtomicInteger();
+    private final AtomicInteger createdArchives = new AtomicInteger();
+
+    /**
+     * Creates a new archive manager.
+     *
+     * @param archiveDirectory the directory in which archives are stored
+     * @param warmUpTimeout the maximum time in milliseconds of a warm-up launch that creates an archive
+     */
+    public SharedArchiveManager(Path archiveDirectory, long warmUpTimeout) {
+        this.archiveDirectory = archiveDirectory;
+        this.warmUpTimeout = warmUpTimeout;
+    }
+
+    /**
+     * Returns the archive for a jar, which may not exist yet.
+     *
+     * @param jar the jar
+     * @return the archive
+     * @throws IOException if the jar cannot be read
+     */
+    public Path getArchive(Path jar) throws IOException {
+        final Path key = jar.toAbsolutePath().normalize();
+        final long lastModified = Files.getLastModifiedTime(key).toMillis();
+        final long size = Files.size(key);
+        final Entry entry = archives.get(key);
+        if (entry != null && entry.lastModified == lastModified && entry.size == size) {
+            return entry.archive;
+        }
+        final Path archive = archiveDirectory.resolve(getBaseName(key) + "-" + FileUtils.hashContent(key) + ".jsa");
+        archives.put(key, new Entry(lastModified, size, archive));
+        return archive;
+    }
+
+    private static String getBaseName(Path jar) {
+        return jar.getFileName().toString().replaceFirst("[.]jar$", "");
+    }
+
+    @Override
+    public void started(Algorithm<?> algorithm) {
+        if (!(algorithm instanceof EvaluationAlgorithm)) {
+            return;
+        }
+        final EvaluationAlgorithm evaluationAlgorithm = (EvaluationAlgorithm) algorithm;
+        try {
+            final Path archive = getArchive(evaluationAlgorithm.getJarPath());
+            if (!Files.isRegularFile(archive) && !failedArchives.contains(archive)) {
+                synchronized (archiveLocks.computeIfAbsent(archive, k -> new Object())) {
+                    if (!Files.isRegularFile(archive) && !failedArchives.contains(archive)) {
+                        createArchive(evaluationAlgorithm, archive);
+                    }
+                }
+            }
+            if (Files.isRegularFile(archive)) {
+                evaluationAlgorithm.setSharedArchive(archive);
+                sharedRuns.incrementAndGet();
+            }
+        } catch (IOException e) {
+            FeatJAR.log().warning("Cannot use a shared archive for %s", evaluationAlgorithm.getJarPath());
+            FeatJAR.log().error(e);
+        }
+    }
+
+    private void createArchive(EvaluationAlgorithm algorithm, Path archive) throws IOException {
+        Files.createDirectories(archiveDirectory);
+        final Path tempArchive =
+                archiveDirectory.resolve(".tmp-" + ProcessHandle.current().pid() + "-" + archive.getFileName());
+        FeatJAR.log().info("Creating shared archive %s in a warm-up launch of %s", archive, algorithm);
+        Process process = null;
+        try {
+            process = new ProcessBuilder(algorithm.getArchiveCommand(tempArchive))
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .redirectError(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            if (process.waitFor(warmUpTimeout, TimeUnit.MILLISECONDS)
+                    && process.exitValue() == 0
+                    && Files.isRegularFile(tempArchive)) {
+                removeStaleArchives(algorithm.getJarPath(), archive);
+                Files.move(tempArchive, archive, StandardCopyOption.ATOMIC_MOVE);
+                createdArchives.incrementAndGet();
+            } else {
+                failedArchives.add(archive);
+                FeatJAR.log().warning("Warm-up launch of %s did not create a shared archive", algorithm);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (process != null) {
+                process.descendants().forEach(ProcessHandle::destroyForcibly);
+                process.destroyForcibly();
+            }
+            Files.deleteIfExists(tempArchive);
+            for (Path outputFile : algorithm.getOutputFiles()) {
+                Files.deleteIfExists(outputFile);
+            }
+        }
+    }
+
+    @Override
+    public void finished(Algorithm<?> algorithm, ProcessResult<?> result) {
+        if (algorithm instanceof EvaluationAlgorithm) {
+            ((EvaluationAlgorithm) algorithm).setSharedArchive(null);
+        }
+    }
+
+    private void removeStaleArchives(Path jar, Path archive) throws IOException {
+        final Pattern pattern = Pattern.compile(Pattern.quote(getBaseName(jar)) + "-[0-9a-f]+[.]jsa");
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(archiveDirectory)) {
+            for (Path file : files) {
+                if (!file.equals(archive) && pattern.matcher(file.getFileName().toString()).matches()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    public Path getArchiveDirectory() {
+        return archiveDirectory;
+    }
+
+    public String printStatus() {
+        return String.format(
+                "Shared archives: %d created, %d runs started with an archive",
+                createdArchives.get(), sharedRuns.get());
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.streams;
+
+import de.featjar.base.FeatJAR;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logs the output of started processes on a separate thread, so reading their output never waits for the log.
+ * Lines are passed through a bounded queue; if it is full, lines are dropped instead of blocking the reading thread.
+ * The output of each run and stream is rate-limited: the first lines are always logged, further lines only within a rate of lines per second,
+ * and of the remaining lines every n-th is logged as a sample.
+ * When a run is closed, the number of suppressed and dropped lines is logged.
+ */
+public class AsyncLogSink implements AutoCloseable {
+
+    private enum Level {
+        DEBUG,
+        INFO,
+        ERROR
+    }
+
+    private static final class LogLine {
+        private final Level level;
+        private final String line;
+
+        private LogLine(Level level, String line) {
+            this.level = level;
+            this.line = line;
+        }
+    }
+
+    private static final LogLine END = new LogLine(Level.INFO, null);
+
+    /**
+     * Limits the lines of one stream of one run.
+     */
+    private final class Limiter implements IOutputReader {
+        private final String name;
+        private final boolean error;
+        private long lines;
+        private long passed;
+        private long suppressed;
+        private long dropped;
+        private double tokens = linesPerSecond;
+        private long lastRefill = System.nanoTime();
+
+        private Limiter(String name, boolean error) {
+            this.name = name;
+            this.error = error;
+        }
+
+        @Override
+        public synchronized void readOutput(String line) {
+            lines++;
+            String loggedLine = null;
+            if (lines <= burstLines || takeToken()) {
+                loggedLine = line;
+            } else {
+                suppressed++;
+                if (sampleInterval > 0 && suppressed % sampleInterval == 0) {
+                    loggedLine = "[sample, " + suppressed + " lines suppressed] " + line;
+                }
+            }
+            if (loggedLine != null) {
+                if (queue.offer(new LogLine(error ? Level.ERROR : Level.DEBUG, loggedLine))) {
+                    passed++;
+                } else {
+                    dropped++;
+                    droppedLines.incrementAndGet();
+                }
+            }
+        }
+
+        private boolean takeToken() {
+            final long now = System.nanoTime();
+            tokens = Math.min(linesPerSecond, tokens + (now - lastRefill) * linesPerSecond / 1e9);
+            lastRefill = now;
+            if (tokens >= 1) {
+                tokens--;
+                return true;
+            }
+            return false;
+        }
+
+        private synchronized void close() {
+            suppressedLines.addAndGet(suppressed);
+            if (suppressed > 0 || dropped > 0) {
+                final String summary = String.format(
+                        "%s: logged %d of %d lines on %s (%d suppressed by rate limit, %d dropped by full queue)",
+                        name, passed, lines, error ? "stderr" : "stdout", suppressed, dropped);
+                if (!queue.offer(new LogLine(Level.INFO, summary))) {
+                    FeatJAR.log().info(summary);
+                }
+            }
+        }
+    }
+
+    /**
+     * The log of one run with separate readers for standard output and standard error.
+     */
+    public final class RunLog implements AutoCloseable {
+        private final Limiter out;
+        private final Limiter err;
+
+        private RunLog(String name) {
+            out = new Limiter(name, false);
+            err = new Limiter(name, true);
+        }
+
+        public IOutputReader getOutReader() {
+            return out;
+        }
+
+        public IOutputReader getErrReader() {
+            return err;
+        }
+
+        /**
+         * Logs a summary of the suppressed and dropped lines of this run.
+         */
+        @Override
+        public void close() {
+            out.close();
+            err.close();
+        }
+    }
+
+    private final int burstLines;
+    private final double linesPerSecond;
+    private final int sampleInterval;
+    private final BlockingQueue<LogLine> queue;
+    private final Thread writer;
+
+    private final AtomicLong loggedLines = new AtomicLong();
+    private final AtomicLong suppressedLines = new AtomicLong();
+    private final AtomicLong droppedLines = new AtomicLong();
+
+    /**
+     * Creates a new log sink and starts its thread.
+     *
+     * @param queueCapacity the maximum number of lines waiting to be logged
+     * @param burstLines the number of lines of each run and stream that are always logged
+     * @param linesPerSecond the number of further lines per second of each run and stream that are logged
+     * @param sampleInterval every how many suppressed lines one is logged as a sample, or 0 to log no samples
+     */
+    public AsyncLogSink(int queueCapacity, int burstLines, double linesPerSecond, int sampleInterval) {
+        this.burstLines = burstLines;
+        this.linesPerSecond = linesPerSecond;
+        this.sampleInterval = sampleInterval;
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        writer = new Thread(this::write, "process-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Creates the log of a new run.
+     *
+     * @param name the name of the run used in summaries
+     * @return the log of the run
+     */
+    public RunLog openRun(String name) {
+        return new RunLog(name);
+    }
+
+    private void write() {
+        try {
+            while (true) {
+                final LogLine logLine = queue.take();
+                if (logLine == END) {
+                    break;
+                }
+                switch (logLine.level) {
+                    case ERROR:
+                        FeatJAR.log().error(logLine.line);
+                        break;
+                    case INFO:
+                        FeatJAR.log().info(logLine.line);
+                        break;
+                    default:
+                        FeatJAR.log().debug(logLine.line);
+                        break;
+                }
+                loggedLines.incrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public long getLoggedLines() {
+        return loggedLines.get();
+    }
+
+    public long getSuppressedLines() {
+        return suppressedLines.get();
+    }
+
+    public long getDroppedLines() {
+        return droppedLines.get();
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public String printStatus() {
+        return String.format(
+                "Process output: %d lines logged, %d suppressed by rate limit, %d dropped by full queue",
+                getLoggedLines(), getSuppressedLines(), getDroppedLines());
+    }
+
+    /**
+     * Logs all queued lines and stops the thread.
+     */
+    @Override
+    public void close() {
+        try {
+            queue.offer(END, 10, TimeUnit.SECONDS);
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
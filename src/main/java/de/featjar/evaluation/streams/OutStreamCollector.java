@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.streams;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects all lines of the standard output of a process, e.g., to replay them for a cached result.
+ */
+public class OutStreamCollector implements IOutputReader {
+
+    private final List<String> outList = new ArrayList<>();
+
+    @Override
+    public synchronized void readOutput(String line) throws Exception {
+        outList.add(line);
+    }
+
+    public synchronized List<String> getOutList() {
+        return new ArrayList<>(outList);
+    }
+
+    public synchronized void clear() {
+        outList.clear();
+    }
+}
@@ -0,0 +1,383 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.util;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.evaluation.process.ProcessResult;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Races configurations against each other on a growing number of instances (e.g., systems), such that only promising configurations are evaluated on all instances.
+ * A configuration is a combination of the values of all options that neither describe the instance nor a replicate.
+ * Replicate options (e.g., the iteration) repeat each run of a configuration on an instance, and the cost of the configuration on the instance is the median cost of its replicates.
+ * After each round, all surviving configurations have been evaluated on the same instances and dominated configurations are eliminated:
+ * <ul>
+ * <li>{@link Elimination#FRIEDMAN}: if a Friedman test finds a significant difference, all configurations whose rank sum is significantly worse than the best one are eliminated (F-race).
+ * Each round adds one instance.</li>
+ * <li>{@link Elimination#HALVING}: the worse half of the configurations by rank sum is eliminated and the number of instances is doubled for the next round (successive halving).</li>
+ * </ul>
+ * The race ends when a single configuration survives or all instances have been used.
+ * Runs that did not finish in time or without error are ranked last.
+ *
+ * @see OptionCombiner#setRace(ConfigurationRace)
+ */
+public class ConfigurationRace {
+
+    public enum Elimination {
+        FRIEDMAN,
+        HALVING
+    }
+
+    private final Elimination elimination;
+    private final int[] instanceOptions;
+    private final int[] replicateOptions;
+    private final int initialInstances;
+    private final double alpha;
+    private Path logFile;
+
+    private int[] sizes;
+    private boolean[] isInstanceOption;
+    private boolean[] isReplicateOption;
+    private List<int[]> instances;
+    private List<int[]> replicates;
+    private List<int[]> configurations;
+    private List<Integer> survivors;
+    private int evaluatedInstances;
+    private int round;
+    private final HashMap<String, Double> costs = new HashMap<>();
+    private Function<int[], List<String>> formatter;
+    private Runnable roundBarrier;
+
+    /**
+     * Creates a new race.
+     *
+     * @param elimination how dominated configurations are eliminated
+     * @param instanceOptions the indices of the options whose value combinations form the instances, in the order in which instances are added
+     * @param initialInstances the number of instances evaluated before the first elimination, at least 2
+     * @param alpha the significance level of the Friedman test
+     */
+    public ConfigurationRace(Elimination elimination, int[] instanceOptions, int initialInstances, double alpha) {
+        this(elimination, instanceOptions, new int[0], initialInstances, alpha);
+    }
+
+    /**
+     * Creates a new race whose runs are replicated.
+     *
+     * @param elimination how dominated configurations are eliminated
+     * @param instanceOptions the indices of the options whose value combinations form the instances, in the order in which instances are added
+     * @param replicateOptions the indices of the options whose value combinations form the replicates of each run, e.g., the iteration
+     * @param initialInstances the number of instances evaluated before the first elimination, at least 2
+     * @param alpha the significance level of the Friedman test
+     */
+    public ConfigurationRace(
+            Elimination elimination,
+            int[] instanceOptions,
+            int[] replicateOptions,
+            int initialInstances,
+            double alpha) {
+        if (instanceOptions.length == 0) {
+            throw new IllegalArgumentException("At least one instance option is required.");
+        }
+        for (int replicateOption : replicateOptions) {
+            for (int instanceOption : instanceOptions) {
+                if (replicateOption == instanceOption) {
+                    throw new IllegalArgumentException(String.format(
+                            "Option %d cannot describe both an instance and a replicate.", replicateOption));
+                }
+            }
+        }
+        this.elimination = elimination;
+        this.instanceOptions = instanceOptions.clone();
+        this.replicateOptions = replicateOptions.clone();
+        this.initialInstances = Math.max(2, initialInstances);
+        this.alpha = alpha;
+    }
+
+    /**
+     * Sets a CSV file to which the rank sum of each surviving configuration is appended after each round.
+     *
+     * @param logFile the file or {@code null}
+     */
+    public void setLog(Path logFile) {
+        this.logFile = logFile;
+    }
+
+    /**
+     * Sets an operation that blocks until all runs of the current round have been {@link #record(int[], ProcessResult) recorded}.
+     * It is executed before each elimination and is required if runs are reported asynchronously, e.g., from a {@link StagedPipeline}.
+     *
+     * @param roundBarrier the operation or {@code null} if all runs are recorded before the function for the next combination returns
+     */
+    public void setRoundBarrier(Runnable roundBarrier) {
+        this.roundBarrier = roundBarrier;
+    }
+
+    /**
+     * Starts a new race with all configurations.
+     *
+     * @param sizes the number of values of each option
+     * @param formatter formats the values of all options of a combination
+     */
+    public void init(int[] sizes, Function<int[], List<String>> formatter) {
+        this.sizes = sizes.clone();
+        this.formatter = formatter;
+        isInstanceOption = new boolean[sizes.length];
+        isReplicateOption = new boolean[sizes.length];
+        final int[] instanceSizes = new int[instanceOptions.length];
+        for (int i = 0; i < instanceOptions.length; i++) {
+            isInstanceOption[instanceOptions[i]] = true;
+            instanceSizes[i] = sizes[instanceOptions[i]];
+        }
+        final int[] replicateSizes = new int[replicateOptions.length];
+        for (int i = 0; i < replicateOptions.length; i++) {
+            isReplicateOption[replicateOptions[i]] = true;
+            replicateSizes[i] = sizes[replicateOptions[i]];
+        }
+        final int[] configurationSizes = new int[sizes.length - instanceOptions.length - replicateOptions.length];
+        for (int i = 0, j = 0; i < sizes.length; i++) {
+            if (isConfigurationOption(i)) {
+                configurationSizes[j++] = sizes[i];
+            }
+        }
+        instances = ICombinationSampler.enumerate(instanceSizes);
+        replicates = ICombinationSampler.enumerate(replicateSizes);
+        configurations = ICombinationSampler.enumerate(configurationSizes);
+        survivors = new ArrayList<>(configurations.size());
+        for (int i = 0; i < configurations.size(); i++) {
+            survivors.add(i);
+        }
+        evaluatedInstances = 0;
+        round = 0;
+        costs.clear();
+    }
+
+    /**
+     * Returns the combinations of the next round, i.e., all replicates of all surviving configurations on the instances added in this round.
+     *
+     * @return the value indices of the combinations, empty if the race has ended
+     */
+    public List<int[]> nextRound() {
+        if (survivors.size() <= 1 || evaluatedInstances >= instances.size()) {
+            return List.of();
+        }
+        final int newInstances;
+        if (round == 0) {
+            newInstances = initialInstances;
+        } else {
+            newInstances = elimination == Elimination.HALVING ? evaluatedInstances : 1;
+        }
+        final int end = Math.min(instances.size(), evaluatedInstances + newInstances);
+        final ArrayList<int[]> combinations =
+                new ArrayList<>((end - evaluatedInstances) * survivors.size() * replicates.size());
+        for (int instance = evaluatedInstances; instance < end; instance++) {
+            for (int configuration : survivors) {
+                for (int replicate = 0; replicate < replicates.size(); replicate++) {
+                    combinations.add(combine(instance, configuration, replicate));
+                }
+            }
+        }
+        evaluatedInstances = end;
+        round++;
+        FeatJAR.log()
+                .info(
+                        "Race round %d: %d configurations on %d of %d instances",
+                        round,
+                        survivors.size(),
+                        evaluatedInstances,
+                        instances.size());
+        return combinations;
+    }
+
+    private boolean isConfigurationOption(int option) {
+        return !isInstanceOption[option] && !isReplicateOption[option];
+    }
+
+    private int[] combine(int instance, int configuration, int replicate) {
+        final int[] instanceIndices = instances.get(instance);
+        final int[] replicateIndices = replicates.get(replicate);
+        final int[] configurationIndices = configurations.get(configuration);
+        final int[] indices = new int[sizes.length];
+        for (int i = 0; i < instanceOptions.length; i++) {
+            indices[instanceOptions[i]] = instanceIndices[i];
+        }
+        for (int i = 0; i < replicateOptions.length; i++) {
+            indices[replicateOptions[i]] = replicateIndices[i];
+        }
+        for (int i = 0, j = 0; i < sizes.length; i++) {
+            if (isConfigurationOption(i)) {
+                indices[i] = configurationIndices[j++];
+            }
+        }
+        return indices;
+    }
+
+    /**
+     * Records the cost of a run, which is its time if it finished in time and without error.
+     * Can be called from other threads, if the {@link #setRoundBarrier(Runnable) round barrier} waits for them.
+     * Runs that are not recorded before their round ends are ranked last.
+     *
+     * @param indices the value indices of the combination
+     * @param result the result of the run
+     */
+    public synchronized void record(int[] indices, ProcessResult<?> result) {
+        final double cost = result.isTerminatedInTime() && result.isNoError() && result.getTime() >= 0
+                ? result.getTime()
+                : Double.POSITIVE_INFINITY;
+        costs.put(Arrays.toString(indices), cost);
+    }
+
+    /**
+     * Waits for the {@link #setRoundBarrier(Runnable) round barrier} and eliminates dominated configurations based on all instances evaluated so far.
+     */
+    public void eliminate() {
+        if (roundBarrier != null) {
+            roundBarrier.run();
+        }
+        eliminateDominated();
+    }
+
+    private synchronized void eliminateDominated() {
+        final int k = survivors.size();
+        if (k <= 1) {
+            return;
+        }
+        int missing = 0;
+        final double[][] ranks = new double[evaluatedInstances][];
+        for (int instance = 0; instance < evaluatedInstances; instance++) {
+            final double[] instanceCosts = new double[k];
+            final double[] replicateCosts = new double[replicates.size()];
+            for (int j = 0; j < k; j++) {
+                for (int replicate = 0; replicate < replicateCosts.length; replicate++) {
+                    final Double cost = costs.get(Arrays.toString(combine(instance, survivors.get(j), replicate)));
+                    if (cost == null) {
+                        missing++;
+                        replicateCosts[replicate] = Double.POSITIVE_INFINITY;
+                    } else {
+                        replicateCosts[replicate] = cost;
+                    }
+                }
+                instanceCosts[j] = median(replicateCosts);
+            }
+            ranks[instance] = StatisticalTests.rank(instanceCosts);
+        }
+        if (missing > 0) {
+            FeatJAR.log()
+                    .warning("Race round %d: %d runs were skipped or not reported and are ranked last", round, missing);
+        }
+        final double[] rankSums = StatisticalTests.rankSums(ranks);
+        final boolean[] eliminated = new boolean[k];
+        if (elimination == Elimination.HALVING) {
+            final Integer[] order = new Integer[k];
+            for (int j = 0; j < k; j++) {
+                order[j] = j;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(rankSums[a], rankSums[b]));
+            for (int j = (k + 1) / 2; j < k; j++) {
+                eliminated[order[j]] = true;
+            }
+        } else if (StatisticalTests.friedman(ranks) > StatisticalTests.chiSquareQuantile(1 - alpha, k - 1)) {
+            final double best = Arrays.stream(rankSums).min().getAsDouble();
+            final double criticalDifference = StatisticalTests.friedmanCriticalDifference(ranks, alpha);
+            for (int j = 0; j < k; j++) {
+                eliminated[j] = rankSums[j] - best > criticalDifference;
+            }
+        }
+        writeLog(rankSums, eliminated);
+        final ArrayList<Integer> newSurvivors = new ArrayList<>(k);
+        for (int j = 0; j < k; j++) {
+            if (!eliminated[j]) {
+                newSurvivors.add(survivors.get(j));
+            }
+        }
+        FeatJAR.log().info("Race round %d: eliminated %d of %d configurations", round, k - newSurvivors.size(), k);
+        survivors = newSurvivors;
+    }
+
+    private static double median(double[] values) {
+        final double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        final int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    private void writeLog(double[] rankSums, boolean[] eliminated) {
+        if (logFile == null) {
+            return;
+        }
+        try {
+            final boolean newFile = !Files.exists(logFile);
+            try (BufferedWriter writer = Files.newBufferedWriter(
+                    logFile, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                if (newFile) {
+                    writer.write("round;instances;configuration;meanRank;eliminated");
+                    writer.newLine();
+                }
+                for (int j = 0; j < rankSums.length; j++) {
+                    writer.write(String.join(
+                            ";",
+                            String.valueOf(round),
+                            String.valueOf(evaluatedInstances),
+                            printConfiguration(survivors.get(j)),
+                            String.valueOf(rankSums[j] / evaluatedInstances),
+                            String.valueOf(eliminated[j])));
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            FeatJAR.log().error(e);
+            logFile = null;
+        }
+    }
+
+    /**
+     * Returns the configurations that have not been eliminated.
+     *
+     * @return the values of the configuration options of each survivor, each formatted as {@code name=value}
+     */
+    public synchronized List<String> getSurvivors() {
+        final ArrayList<String> survivingConfigurations = new ArrayList<>(survivors.size());
+        for (int configuration : survivors) {
+            survivingConfigurations.add(printConfiguration(configuration));
+        }
+        return survivingConfigurations;
+    }
+
+    private String printConfiguration(int configuration) {
+        final List<String> values = formatter.apply(combine(0, configuration, 0));
+        final ArrayList<String> configurationValues = new ArrayList<>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            if (isConfigurationOption(i)) {
+                configurationValues.add(values.get(i));
+            }
+        }
+        return String.join(",", configurationValues);
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.util;
+
+import de.featjar.base.FeatJAR;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Estimates the cost of an evaluation without executing it.
+ * The {@link OptionCombiner option combiner} passes each combination that would be executed in a {@link OptionCombiner#setDryRun(java.util.function.Consumer) dry run} to {@link #add(int[])}.
+ * The runtime of each combination is predicted from the {@link RuntimeHistory runtime history} and bounded by the timeout.
+ * The wall time is simulated by assigning the runs in their order to the next free of a given number of parallel workers.
+ * Peak memory is derived from the memory reserved for each run, disk usage from the sizes of all used systems plus one copy of the largest system per worker.
+ * The cost of option prefixes is only tracked for prefix lengths with at most {@value #MAX_PREFIXES_PER_LEVEL} possible prefixes, so memory does not grow with the number of combinations.
+ */
+public class CostEstimator {
+
+    private static final long MAX_PREFIXES_PER_LEVEL = 1 << 16;
+
+    private final OptionCombiner optionCombiner;
+    private final RuntimeHistory runtimeHistory;
+    private final ToLongFunction<String> systemSize;
+    private final int parallelism;
+    private final long memoryPerRun;
+    private final long timeout;
+
+    private Function<int[], String> algorithmName;
+    private int systemOptionIndex = -1;
+
+    private long runs;
+    private long unobservedRuns;
+    private double cpuTime;
+    private final PriorityQueue<Double> workers = new PriorityQueue<>();
+    private final Map<String, Long> systems = new HashMap<>();
+    private final List<Map<Long, double[]>> prefixes = new ArrayList<>();
+    private int[] sizes;
+
+    /**
+     * Creates a new cost estimator.
+     *
+     * @param optionCombiner the option combiner whose combinations are estimated
+     * @param runtimeHistory the runtime history used to predict runtimes
+     * @param systemSize maps the name of a system to its size in bytes or -1 if unknown
+     * @param parallelism the number of runs executed in parallel
+     * @param memoryPerRun the memory in bytes reserved for each run or -1 if unknown
+     * @param timeout the timeout of each run in milliseconds
+     */
+    public CostEstimator(
+            OptionCombiner optionCombiner,
+            RuntimeHistory runtimeHistory,
+            ToLongFunction<String> systemSize,
+            int parallelism,
+            long memoryPerRun,
+            long timeout) {
+        this.optionCombiner = optionCombiner;
+        this.runtimeHistory = runtimeHistory;
+        this.systemSize = systemSize;
+        this.parallelism = Math.max(1, parallelism);
+        this.memoryPerRun = memoryPerRun;
+        this.timeout = timeout;
+        for (int i = 0; i < this.parallelism; i++) {
+            workers.add(0.0);
+        }
+    }
+
+    /**
+     * Sets how the algorithm and system of a combination are determined.
+     * Without it, all runs are counted as unobserved.
+     *
+     * @param algorithmName maps the value indices of a combination to the full name of the algorithm that is run
+     * @param systemOptionIndex the index of the option that contains the system name
+     */
+    public void setCostModel(Function<int[], String> algorithmName, int systemOptionIndex) {
+        this.algorithmName = algorithmName;
+        this.systemOptionIndex = systemOptionIndex;
+    }
+
+    /**
+     * Adds the predicted cost of a combination that would be executed.
+     *
+     * @param indices the value indices of the combination
+     */
+    public void add(int[] indices) {
+        double time = -1;
+        if (algorithmName != null && systemOptionIndex >= 0) {
+            final String system = optionCombiner.getValue(systemOptionIndex, indices);
+            final long size = systems.computeIfAbsent(system, systemSize::applyAsLong);
+            final String algorithm = algorithmName.apply(indices);
+            if (runtimeHistory.isObserved(algorithm, system, size)) {
+                time = Math.min(runtimeHistory.predict(algorithm, system, size), timeout);
+            }
+        }
+        if (time < 0) {
+            unobservedRuns++;
+            time = timeout < Long.MAX_VALUE ? timeout : 0;
+        }
+        runs++;
+        cpuTime += time;
+        workers.add(workers.poll() + time);
+
+        if (sizes == null) {
+            initPrefixes();
+        }
+        long prefix = 0;
+        for (int level = 1; level <= prefixes.size(); level++) {
+            prefix = prefix * sizes[level - 1] + indices[level - 1];
+            final double[] cost = prefixes.get(level - 1).computeIfAbsent(prefix, k -> new double[2]);
+            cost[0]++;
+            cost[1] += time;
+        }
+    }
+
+    private void initPrefixes() {
+        sizes = optionCombiner.getProgress().getSizes().clone();
+        long prefixCount = 1;
+        for (int level = 1; level < sizes.length; level++) {
+            prefixCount *= sizes[level - 1];
+            if (prefixCount > MAX_PREFIXES_PER_LEVEL) {
+                break;
+            }
+            prefixes.add(new LinkedHashMap<>());
+        }
+    }
+
+    private String printPrefix(int level, long prefix) {
+        final int[] indices = new int[sizes.length];
+        for (int i = level - 1; i >= 0; i--) {
+            indices[i] = (int) (prefix % sizes[i]);
+            prefix /= sizes[i];
+        }
+        return String.join(",", optionCombiner.getCombination(indices).subList(0, level));
+    }
+
+    public long getRuns() {
+        return runs;
+    }
+
+    public long getUnobservedRuns() {
+        return unobservedRuns;
+    }
+
+    /**
+     * Returns the predicted sum of the runtimes of all runs.
+     *
+     * @return the CPU time in milliseconds
+     */
+    public double getCpuTime() {
+        return cpuTime;
+    }
+
+    /**
+     * Returns the predicted time until all runs are finished when they are executed by the given number of workers.
+     *
+     * @return the wall time in milliseconds
+     */
+    public double getWallTime() {
+        double wallTime = 0;
+        for (Double workerTime : workers) {
+            wallTime = Math.max(wallTime, workerTime);
+        }
+        return wallTime;
+    }
+
+    /**
+     * Returns the memory reserved by the runs that are executed at the same time.
+     *
+     * @return the peak memory in bytes or -1 if unknown
+     */
+    public long getPeakMemory() {
+        return memoryPerRun < 0 ? -1 : memoryPerRun * Math.min(parallelism, runs);
+    }
+
+    /**
+     * Returns the disk space used by the systems of all runs and one copy of the largest system per worker.
+     *
+     * @return the disk usage in bytes
+     */
+    public long getDiskUsage() {
+        long total = 0, largest = 0;
+        for (Long size : systems.values()) {
+            if (size > 0) {
+                total += size;
+                largest = Math.max(largest, size);
+            }
+        }
+        return total + largest * Math.min(parallelism, runs);
+    }
+
+    /**
+     * Logs the estimated cost and the most expensive option prefixes of each level and writes the cost of all prefixes to a CSV file.
+     *
+     * @param planFile the CSV file or {@code null}
+     * @param top the number of prefixes that are logged per level
+     */
+    public void report(Path planFile, int top) {
+        FeatJAR.log()
+                .info(
+                        "Dry run: %d runs (%d without observed runtimes, estimated with %s)",
+                        runs,
+                        unobservedRuns,
+                        timeout < Long.MAX_VALUE ? "the timeout" : "0 ms");
+        FeatJAR.log()
+                .info(
+                        "Estimated CPU time %s, wall time %s with %d parallel runs",
+                        printTime(getCpuTime()),
+                        printTime(getWallTime()),
+                        parallelism);
+        final long peakMemory = getPeakMemory();
+        FeatJAR.log()
+                .info(
+                        "Estimated peak memory %s, disk usage %d MiB for %d systems",
+                        peakMemory < 0 ? "unknown" : (peakMemory >> 20) + " MiB",
+                        getDiskUsage() >> 20,
+                        systems.size());
+        if (sizes != null && prefixes.size() < sizes.length - 1) {
+            FeatJAR.log().info("Prefixes longer than %d options are not estimated", prefixes.size());
+        }
+        for (int level = 0; level < prefixes.size(); level++) {
+            final Map<Long, double[]> levelPrefixes = prefixes.get(level);
+            if (levelPrefixes.size() <= 1) {
+                continue;
+            }
+            final List<Map.Entry<Long, double[]>> sorted = new ArrayList<>(levelPrefixes.entrySet());
+            sorted.sort(Comparator.comparingDouble((Map.Entry<Long, double[]> e) -> e.getValue()[1])
+                    .reversed());
+            FeatJAR.log().info("Most expensive prefixes of length %d:", level + 1);
+            for (Map.Entry<Long, double[]> entry : sorted.subList(0, Math.min(top, sorted.size()))) {
+                FeatJAR.log()
+                        .info(
+                                "\t%5.1f%% %s (%d runs, %s)",
+                                share(entry.getValue()[1]),
+                                printPrefix(level + 1, entry.getKey()),
+                                (long) entry.getValue()[0],
+                                printTime(entry.getValue()[1]));
+            }
+        }
+        if (planFile != null) {
+            writePlan(planFile);
+        }
+    }
+
+    private double share(double time) {
+        return cpuTime > 0 ? 100 * time / cpuTime : 0;
+    }
+
+    private void writePlan(Path planFile) {
+        try (BufferedWriter writer = Files.newBufferedWriter(planFile, StandardCharsets.UTF_8)) {
+            writer.write("level;prefix;runs;cpuTime;share");
+            writer.newLine();
+            for (int level = 0; level < prefixes.size(); level++) {
+                for (Map.Entry<Long, double[]> entry : prefixes.get(level).entrySet()) {
+                    writer.write(String.join(
+                            ";",
+                            String.valueOf(level + 1),
+                            printPrefix(level + 1, entry.getKey()),
+                            String.valueOf((long) entry.getValue()[0]),
+                            String.valueOf((long) entry.getValue()[1]),
+                            String.format(Locale.ENGLISH, "%.4f", share(entry.getValue()[1]) / 100)));
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            FeatJAR.log().error(e);
+        }
+    }
+
+    private static String printTime(double millis) {
+        final long seconds = (long) (millis / 1000);
+        return String.format(
+                "%dd %02d:%02d:%02d", seconds / 86400, (seconds / 3600) % 24, (seconds / 60) % 60, seconds % 60);
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Helper methods for files and directories.
+ */
+public final class FileUtils {
+
+    private FileUtils() {}
+
+    /**
+     * Deletes a file or a directory including all of its contents.
+     * Does nothing if the path does not exist.
+     *
+     * @param path the file or directory
+     * @return the total size of all deleted files in bytes
+     * @throws IOException if a file cannot be deleted
+     */
+    public static long deleteRecursively(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        final long[] size = {0};
+        Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                size[0] += attrs.size();
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                Files.deleteIfExists(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return size[0];
+    }
+
+    /**
+     * Computes the SHA-256 hash of a file's content.
+     * For a directory, the names and contents of all contained files are hashed.
+     *
+     * @param path the file or directory
+     * @return the hash as hex string
+     * @throws IOException if the file cannot be read
+     */
+    public static String hashContent(Path path) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        if (Files.isDirectory(path)) {
+            final List<Path> files;
+            try (Stream<Path> walk = Files.walk(path)) {
+                files = walk.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+            for (Path file : files) {
+                digest.update(path.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+                updateWithContent(digest, file);
+            }
+        } else {
+            updateWithContent(digest, path);
+        }
+        return toHex(digest.digest());
+    }
+
+    private static void updateWithContent(MessageDigest digest, Path file) throws IOException {
+        final byte[] buffer = new byte[1 << 16];
+        try (InputStream in = Files.newInputStream(file)) {
+            for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                digest.update(buffer, 0, read);
+            }
+        }
+    }
+
+    public static String toHex(byte[] bytes) {
+        return String.format("%0" + (bytes.length * 2) + "x", new BigInteger(1, bytes));
+    }
+
+    /**
+     * Computes the total size of a file or all files within a directory.
+     *
+     * @param path the file or directory
+     * @return the size in bytes or 0 if the path does not exist
+     * @throws IOException if a directory cannot be read
+     */
+    public static long size(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        final long[] size = {0};
+        Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                size[0] += attrs.size();
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return size[0];
+    }
+
+    /**
+     * Acquires an exclusive lock on a file that coordinates different processes on the same machine.
+     * The lock is released when the returned channel is closed.
+     * Must not be called concurrently for the same file within one process.
+     *
+     * @param lockFile the lock file, which is created if it does not exist
+     * @return the channel holding the lock
+     * @throws IOException if the lock cannot be acquired
+     */
+    public static FileChannel lock(Path lockFile) throws IOException {
+        final FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            channel.lock();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return channel;
+    }
+
+    /**
+     * Replaces the content of a file atomically, such that readers and concurrent writers never see a partially written file.
+     *
+     * @param file the file
+     * @param lines the lines to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeAtomically(Path file, List<String> lines) throws IOException {
+        final Path tempFile = Files.createTempFile(file.toAbsolutePath().getParent(), "." + file.getFileName(), ".tmp");
+        try {
+            Files.write(tempFile, lines, StandardCharsets.UTF_8);
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+}
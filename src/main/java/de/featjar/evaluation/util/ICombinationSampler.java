@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Selects a subset of all combinations of option values, such that large option grids can be explored with fewer runs.
+ *
+ * @see OptionCombiner#setSampler(ICombinationSampler, long)
+ */
+public interface ICombinationSampler {
+
+    /**
+     * Selects combinations of option values.
+     *
+     * @param sizes the number of values of each option
+     * @param random the source of randomness
+     * @return the value indices of the selected combinations without duplicates
+     */
+    List<int[]> sample(int[] sizes, Random random);
+
+    /**
+     * Returns a name describing this sampler.
+     *
+     * @return the name
+     */
+    String getName();
+
+    /**
+     * Enumerates all combinations of option values in lexicographic order.
+     *
+     * @param sizes the number of values of each option
+     * @return the value indices of all combinations
+     */
+    static List<int[]> enumerate(int[] sizes) {
+        final ProgressTracker tracker = new ProgressTracker(sizes);
+        final ArrayList<int[]> combinations = new ArrayList<>();
+        while (tracker.hasNext()) {
+            combinations.add(tracker.next().clone());
+        }
+        return combinations;
+    }
+}
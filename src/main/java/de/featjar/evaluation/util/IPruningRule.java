@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.util;
+
+import de.featjar.evaluation.process.ProcessResult;
+import java.util.function.Predicate;
+
+/**
+ * Determines combinations of option values that need not be run, because a finished run already implies their outcome.
+ *
+ * @see OptionCombiner#addPruningRule(IPruningRule)
+ */
+public interface IPruningRule {
+
+    /**
+     * Determines the combinations that are dominated by a finished run.
+     *
+     * @param indices the value indices of the finished combination
+     * @param result the result of the run
+     * @return a predicate matching the value indices of all dominated combinations, or {@code null} if no combination is dominated
+     */
+    Predicate<int[]> getDominated(int[] indices, ProcessResult<?> result);
+
+    /**
+     * Returns the options whose values must be equal in a finished and a dominated combination.
+     * Used to look up only the prunings that can match a combination instead of testing all of them.
+     *
+     * @return the indices of the options or {@code null} if dominated combinations may differ in every option
+     */
+    default int[] getFixedOptions() {
+        return null;
+    }
+
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Selects combinations by Latin hypercube sampling.
+ * For each option, the values are spread evenly over the selected combinations (each value occurs equally often, up to one),
+ * and the values of different options are combined randomly.
+ * Duplicate combinations are removed, so fewer combinations than requested may be selected for small grids.
+ */
+public class LatinHypercubeSampler implements ICombinationSampler {
+
+    private final int count;
+
+    /**
+     * Creates a new Latin hypercube sampler.
+     *
+     * @param count the number of combinations to select
+     */
+    public LatinHypercubeSampler(int count) {
+        this.count = count;
+    }
+
+    @Override
+    public List<int[]> sample(int[] sizes, Random random) {
+        final int[][] columns = new int[sizes.length][];
+        for (int i = 0; i < sizes.length; i++) {
+            final ArrayList<Integer> column = new ArrayList<>(count);
+            for (int k = 0; k < count; k++) {
+                column.add((int) ((long) k * sizes[i] / count));
+            }
+            Collections.shuffle(column, random);
+            columns[i] = column.stream().mapToInt(Integer::intValue).toArray();
+        }
+        final HashSet<List<Integer>> selected = new HashSet<>();
+        final ArrayList<int[]> combinations = new ArrayList<>(count);
+        for (int k = 0; k < count; k++) {
+            final int[] indices = new int[sizes.length];
+            for (int i = 0; i < sizes.length; i++) {
+                indices[i] = columns[i][k];
+            }
+            if (selected.add(Arrays.asList(Arrays.stream(indices).boxed().toArray(Integer[]::new)))) {
+                combinations.add(indices);
+            }
+        }
+        return combinations;
+    }
+
+    @Override
+    public String getName() {
+        return "latin-hypercube(" + count + ")";
+    }
+}
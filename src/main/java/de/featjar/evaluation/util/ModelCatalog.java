@@ -0,0 +1,303 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.util;
+
+import de.featjar.base.FeatJAR;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Persistent list of all models in a directory together with their content hash, size, and statistics.
+ * On {@link #update(IModelStatistics) update}, only new and changed models are hashed and parsed.
+ * Models whose statistics could not be computed are not parsed again until their size or modification time changes.
+ */
+public class ModelCatalog {
+
+    public static final String CATALOG_FILE_NAME = ".catalog.csv";
+
+    private static final String SEPARATOR = ";";
+    private static final String HEADER = "name;hash;size;lastModified;features;constraints;statisticsFailed";
+
+    /**
+     * Metadata of a single model.
+     */
+    public static class Entry {
+        private final String name;
+        private final String hash;
+        private final long size;
+        private final long lastModified;
+        private final long featureCount;
+        private final long constraintCount;
+        private final boolean statisticsFailed;
+
+        public Entry(
+                String name, String hash, long size, long lastModified, long featureCount, long constraintCount) {
+            this(name, hash, size, lastModified, featureCount, constraintCount, false);
+        }
+
+        public Entry(
+                String name,
+                String hash,
+                long size,
+                long lastModified,
+                long featureCount,
+                long constraintCount,
+                boolean statisticsFailed) {
+            this.name = name;
+            this.hash = hash;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.featureCount = featureCount;
+            this.constraintCount = constraintCount;
+            this.statisticsFailed = statisticsFailed;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * Returns the number of features or -1 if unknown.
+         */
+        public long getFeatureCount() {
+            return featureCount;
+        }
+
+        /**
+         * Returns the number of constraints or -1 if unknown.
+         */
+        public long getConstraintCount() {
+            return constraintCount;
+        }
+
+        /**
+         * Returns whether the statistics of the model with this size and modification time could not be computed.
+         */
+        public boolean isStatisticsFailed() {
+            return statisticsFailed;
+        }
+
+        private String toLine() {
+            return String.join(
+                    SEPARATOR,
+                    name,
+                    hash,
+                    String.valueOf(size),
+                    String.valueOf(lastModified),
+                    String.valueOf(featureCount),
+                    String.valueOf(constraintCount),
+                    String.valueOf(statisticsFailed));
+        }
+
+        private static Entry fromLine(String line) {
+            final String[] values = line.split(SEPARATOR, -1);
+            return new Entry(
+                    values[0],
+                    values[1],
+                    Long.parseLong(values[2]),
+                    Long.parseLong(values[3]),
+                    Long.parseLong(values[4]),
+                    Long.parseLong(values[5]),
+                    values.length > 6 && Boolean.parseBoolean(values[6]));
+        }
+    }
+
+    private final Path modelPath;
+    private final Path catalogFile;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    /**
+     * Creates a catalog for a model directory that is stored in the directory itself.
+     *
+     * @param modelPath the model directory
+     */
+    public ModelCatalog(Path modelPath) {
+        this(modelPath, modelPath.resolve(CATALOG_FILE_NAME));
+    }
+
+    /**
+     * Creates a catalog for a model directory.
+     *
+     * @param modelPath the model directory
+     * @param catalogFile the file in which the catalog is stored
+     */
+    public ModelCatalog(Path modelPath, Path catalogFile) {
+        this.modelPath = modelPath;
+        this.catalogFile = catalogFile;
+    }
+
+    /**
+     * Reads the stored catalog and updates all entries of models that were added, removed, or modified since.
+     * Models are only hashed if their size or modification time changed and only parsed if their hash changed.
+     * The catalog file is rewritten only if an entry changed.
+     *
+     * @param statistics extracts the number of features and constraints, may be {@code null}
+     * @throws IOException if the model directory cannot be read
+     */
+    public void update(IModelStatistics statistics) throws IOException {
+        final Map<String, Entry> storedEntries = read();
+        final List<Path> models;
+        try (Stream<Path> files = Files.list(modelPath)) {
+            models = files.filter(p -> !p.getFileName().toString().startsWith("."))
+                    .sorted(Comparator.comparing(p -> p.getFileName().toString()))
+                    .collect(Collectors.toList());
+        }
+        boolean changed = storedEntries.size() != models.size();
+        entries.clear();
+        for (Path model : models) {
+            final String name = model.getFileName().toString();
+            final long size = FileUtils.size(model);
+            final long lastModified = Files.getLastModifiedTime(model).toMillis();
+            Entry entry = storedEntries.get(name);
+            if (entry == null || entry.size != size || entry.lastModified != lastModified) {
+                final String hash = FileUtils.hashContent(model);
+                if (entry != null && entry.hash.equals(hash) && entry.featureCount >= 0) {
+                    entry = new Entry(
+                            name, hash, size, lastModified, entry.featureCount, entry.constraintCount, false);
+                } else {
+                    entry = createEntry(statistics, model, name, hash, size, lastModified);
+                }
+                changed = true;
+            } else if (statistics != null && entry.featureCount < 0 && !entry.statisticsFailed) {
+                entry = createEntry(statistics, model, name, entry.hash, size, lastModified);
+                changed = true;
+            }
+            entries.put(name, entry);
+        }
+        if (changed) {
+            write();
+        }
+    }
+
+    private Entry createEntry(
+            IModelStatistics statistics, Path model, String name, String hash, long size, long lastModified) {
+        final ModelStatistics counts = computeStatistics(statistics, model);
+        return new Entry(
+                name,
+                hash,
+                size,
+                lastModified,
+                counts.getFeatureCount(),
+                counts.getConstraintCount(),
+                statistics != null && counts.getFeatureCount() < 0);
+    }
+
+    private ModelStatistics computeStatistics(IModelStatistics statistics, Path model) {
+        if (statistics != null) {
+            try {
+                final ModelStatistics counts = statistics.compute(model);
+                if (counts != null) {
+                    return counts;
+                }
+            } catch (final Exception e) {
+                FeatJAR.log().warning("Could not compute statistics of %s", model);
+                FeatJAR.log().error(e);
+            }
+        }
+        return ModelStatistics.UNKNOWN;
+    }
+
+    private Map<String, Entry> read() {
+        final LinkedHashMap<String, Entry> storedEntries = new LinkedHashMap<>();
+        if (Files.isReadable(catalogFile)) {
+            try {
+                final List<String> lines = Files.readAllLines(catalogFile, StandardCharsets.UTF_8);
+                for (String line : lines.subList(Math.min(1, lines.size()), lines.size())) {
+                    if (!line.isBlank()) {
+                        final Entry entry = Entry.fromLine(line);
+                        storedEntries.put(entry.name, entry);
+                    }
+                }
+            } catch (final Exception e) {
+                FeatJAR.log().warning("Could not read model catalog %s", catalogFile);
+                FeatJAR.log().error(e);
+                storedEntries.clear();
+            }
+        }
+        return storedEntries;
+    }
+
+    private void write() {
+        final List<String> lines = new ArrayList<>(entries.size() + 1);
+        lines.add(HEADER);
+        for (Entry entry : entries.values()) {
+            lines.add(entry.toLine());
+        }
+        try {
+            FileUtils.writeAtomically(catalogFile, lines);
+        } catch (final IOException e) {
+            FeatJAR.log().warning("Could not write model catalog %s", catalogFile);
+            FeatJAR.log().error(e);
+        }
+    }
+
+    public Entry get(String name) {
+        return entries.get(name);
+    }
+
+    public List<Entry> getEntries() {
+        return new ArrayList<>(entries.values());
+    }
+
+    /**
+     * Returns the names of all models that match the filter in the given order.
+     *
+     * @param filter the filter
+     * @param order the order
+     */
+    public List<String> getNames(Predicate<Entry> filter, Comparator<Entry> order) {
+        return entries.values().stream()
+                .filter(filter)
+                .sorted(order)
+                .map(Entry::getName)
+                .collect(Collectors.toList());
+    }
+
+    public Path getModelPath() {
+        return modelPath;
+    }
+
+    public Path getCatalogFile() {
+        return catalogFile;
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.util;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.base.data.Result;
+import de.featjar.base.io.IO;
+import de.featjar.base.io.format.IFormat;
+import de.featjar.base.io.format.IFormatSupplier;
+import de.featjar.evaluation.process.Algorithm;
+import de.featjar.evaluation.process.EvaluationAlgorithm;
+import de.featjar.evaluation.process.IProcessListener;
+import de.featjar.evaluation.process.ProcessResult;
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Converts input models once into a format that loads faster (e.g., a binary format) and passes the converted file to started processes.
+ * Converted files are stored in a directory and named by the content hash of the original model, so they are reused across runs and evaluations.
+ * Only {@link EvaluationAlgorithm algorithms} that {@link EvaluationAlgorithm#setPreparedInputSupported(boolean) support} prepared inputs receive them.
+ *
+ * @param <T> the type of the models
+ */
+public class ModelPreparer<T> implements IProcessListener {
+
+    private final Path preparedDirectory;
+    private final IFormatSupplier<T> inputFormats;
+    private final IFormat<T> preparedFormat;
+
+    private final Map<Path, Path> preparedModels = new ConcurrentHashMap<>();
+    private final AtomicInteger conversions = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+
+    /**
+     * Creates a new model preparer.
+     *
+     * @param preparedDirectory the directory in which converted models are stored
+     * @param inputFormats the formats of the original models
+     * @param preparedFormat the format of the converted models, must support writing
+     */
+    public ModelPreparer(Path preparedDirectory, IFormatSupplier<T> inputFormats, IFormat<T> preparedFormat) {
+        if (!preparedFormat.supportsWrite()) {
+            throw new IllegalArgumentException(
+                    String.format("Format %s does not support writing", preparedFormat.getName()));
+        }
+        this.preparedDirectory = preparedDirectory;
+        this.inputFormats = inputFormats;
+        this.preparedFormat = preparedFormat;
+    }
+
+    /**
+     * Returns the converted file for a model and converts the model if necessary.
+     *
+     * @param model the original model
+     * @return the converted file or the original model if it cannot be converted
+     */
+    public Path prepare(Path model) {
+        final Path key = model.toAbsolutePath().normalize();
+        final Path prepared = preparedModels.get(key);
+        if (prepared != null && Files.exists(prepared)) {
+            return prepared;
+        }
+        try {
+            final Path preparedModel = preparedDirectory.resolve(
+                    FileUtils.hashContent(key) + "." + preparedFormat.getFileExtension());
+            if (!Files.exists(preparedModel)) {
+                convert(key, preparedModel);
+            }
+            preparedModels.put(key, preparedModel);
+            return preparedModel;
+        } catch (final Exception e) {
+            failures.incrementAndGet();
+            FeatJAR.log().warning("Could not prepare %s", model);
+            FeatJAR.log().error(e);
+            preparedModels.put(key, key);
+            return key;
+        }
+    }
+
+    /**
+     * Converts all given models in parallel.
+     *
+     * @param models the original models
+     */
+    public void prepareAll(Collection<Path> models) {
+        models.parallelStream().forEach(this::prepare);
+        FeatJAR.log().info(printStatus());
+    }
+
+    private void convert(Path model, Path preparedModel) throws IOException {
+        final Result<T> loadedModel = IO.load(model, inputFormats);
+        if (!loadedModel.isPresent()) {
+            throw new IOException(String.format("Could not load %s: %s", model, loadedModel.getProblems()));
+        }
+        Files.createDirectories(preparedDirectory);
+        final Path tempFile = Files.createTempFile(preparedDirectory, ".tmp-", "." + preparedFormat.getFileExtension());
+        try {
+            IO.save(loadedModel.get(), tempFile, preparedFormat);
+            Files.move(tempFile, preparedModel, StandardCopyOption.ATOMIC_MOVE);
+            conversions.incrementAndGet();
+        } catch (FileAlreadyExistsException e) {
+            // converted concurrently by another process
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    @Override
+    public void started(Algorithm<?> algorithm) {
+        if (algorithm instanceof EvaluationAlgorithm) {
+            final EvaluationAlgorithm evaluationAlgorithm = (EvaluationAlgorithm) algorithm;
+            if (evaluationAlgorithm.isPreparedInputSupported()) {
+                evaluationAlgorithm.setPreparedInput(prepare(evaluationAlgorithm.getInput()));
+            }
+        }
+    }
+
+    @Override
+    public void finished(Algorithm<?> algorithm, ProcessResult<?> result) {
+        if (algorithm instanceof EvaluationAlgorithm) {
+            ((EvaluationAlgorithm) algorithm).setPreparedInput(null);
+        }
+    }
+
+    public Path getPreparedDirectory() {
+        return preparedDirectory;
+    }
+
+    public IFormat<T> getPreparedFormat() {
+        return preparedFormat;
+    }
+
+    public String printStatus() {
+        return String.format(
+                "Model preparation: %d models prepared, %d converted, %d failed (%s)",
+                preparedModels.size(), conversions.get(), failures.get(), preparedDirectory);
+    }
+}
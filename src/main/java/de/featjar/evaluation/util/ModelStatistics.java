@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.util;
+
+/**
+ * Statistics of a model file as stored in the {@link ModelCatalog}.
+ */
+public class ModelStatistics {
+
+    /**
+     * Statistics of a model that could not be parsed.
+     */
+    public static final ModelStatistics UNKNOWN = new ModelStatistics(-1, -1);
+
+    private final long featureCount;
+    private final long constraintCount;
+
+    /**
+     * Creates new statistics.
+     *
+     * @param featureCount the number of features or -1 if unknown
+     * @param constraintCount the number of constraints or -1 if unknown
+     */
+    public ModelStatistics(long featureCount, long constraintCount) {
+        this.featureCount = featureCount;
+        this.constraintCount = constraintCount;
+    }
+
+    public long getFeatureCount() {
+        return featureCount;
+    }
+
+    public long getConstraintCount() {
+        return constraintCount;
+    }
+}
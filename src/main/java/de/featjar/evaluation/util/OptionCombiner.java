@@ -24,9 +24,30 @@ import de.featjar.base.FeatJAR;
 import de.featjar.base.cli.AListOption;
 import de.featjar.base.cli.ListOption;
 import de.featjar.base.cli.OptionList;
+import de.featjar.evaluation.process.ProcessResult;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
 
 /**
  * Iterates over a list of {@link ListOption list options}.
@@ -35,9 +56,43 @@ import java.util.function.Function;
  */
 public class OptionCombiner {
 
+    /**
+     * The maximum number of combinations that are ordered by a {@link #setPriority(ToDoubleFunction) priority} without a sampler.
+     * All combinations must be held in memory to sort them.
+     */
+    public static final long MAX_PRIORITIZED_COMBINATIONS = 1 << 22;
+
+    private static final class Pruning {
+        private final Predicate<int[]> dominated;
+        private final String reason;
+
+        private Pruning(Predicate<int[]> dominated, String reason) {
+            this.dominated = dominated;
+            this.reason = reason;
+        }
+    }
+
     private OptionList optionParser;
     private AListOption<?>[] options;
+    private Object[][] values;
+    private String[][] labels;
+    private long[][] longValues;
+    private double[][] doubleValues;
     private ProgressTracker progress;
+    private ToDoubleFunction<int[]> priority;
+    private ICombinationSampler sampler;
+    private long samplingSeed;
+    private Path sampleFile;
+    private Path coverageFile;
+    private ConfigurationRace race;
+    private Consumer<int[]> dryRun;
+    private volatile Thread loopThread;
+    private final List<IPruningRule> pruningRules = new ArrayList<>();
+    private final List<Pruning> prunings = new ArrayList<>();
+    private final Map<IPruningRule, Map<Long, List<Pruning>>> indexedPrunings = new HashMap<>();
+    private Path skipLogFile;
+    private BufferedWriter skipLog;
+    private final AtomicLong skippedCount = new AtomicLong();
 
     public OptionCombiner(OptionList parser) {
         this.optionParser = parser;
@@ -57,18 +112,66 @@ public class OptionCombiner {
     }
 
     public void init(AListOption<?>... options) {
+        final ArrayList<List<?>> optionValues = new ArrayList<>(options.length);
+        for (AListOption<?> option : options) {
+            optionValues.add(optionParser.getResult(option).orElseThrow());
+        }
+        init(options, optionValues);
+    }
+
+    /**
+     * Initializes the combinations with the given values of each option instead of the values parsed for the options.
+     *
+     * @param options the options
+     * @param optionValues the values of each option
+     */
+    void init(AListOption<?>[] options, List<? extends List<?>> optionValues) {
         this.options = options;
 
         int[] sizes = new int[options.length];
+        values = new Object[options.length][];
+        labels = new String[options.length][];
+        longValues = new long[options.length][];
+        doubleValues = new double[options.length][];
         for (int i = 0; i < options.length; i++) {
-            int size = optionParser.getResult(options[i]).orElseThrow().size();
+            int size = optionValues.get(i).size();
             if (size <= 0) {
                 throw new IllegalArgumentException(
                         String.format("Option list must not be empty. Option: %s", options[i].getName()));
             }
             sizes[i] = size;
+            initValueTable(i, optionValues.get(i));
         }
         progress = new ProgressTracker(sizes);
+        synchronized (this) {
+            prunings.clear();
+            indexedPrunings.clear();
+        }
+    }
+
+    /**
+     * Copies the values of an option into tables, such that accessing a value of a combination requires no lookup in the option list.
+     * Numeric values are additionally stored as primitives and each value is formatted once as {@code name=value}.
+     */
+    private void initValueTable(int index, List<?> optionValues) {
+        final int size = optionValues.size();
+        values[index] = optionValues.toArray();
+        labels[index] = new String[size];
+        long[] longs = new long[size];
+        double[] doubles = new double[size];
+        for (int j = 0; j < size; j++) {
+            final Object value = values[index][j];
+            labels[index][j] = options[index].getName() + "=" + value;
+            if (longs != null && value instanceof Number) {
+                longs[j] = ((Number) value).longValue();
+                doubles[j] = ((Number) value).doubleValue();
+            } else {
+                longs = null;
+                doubles = null;
+            }
+        }
+        longValues[index] = longs;
+        doubleValues[index] = doubles;
     }
 
     /**
@@ -87,19 +190,50 @@ public class OptionCombiner {
         Objects.requireNonNull(progress, () -> "Call init method first!");
         FeatJAR.log().info(printOptionNames(options));
 
+        loopThread = Thread.currentThread();
+        try {
+            if (dryRun != null) {
+                loopDry();
+            } else if (race != null) {
+                loopOverRace(forEachOption, errorHandler);
+            } else if (priority != null || sampler != null) {
+                progress = new ProgressTracker(progress.getSizes(), computeSchedule());
+                loopOverSchedule(forEachOption, errorHandler);
+            } else {
+                loopOverLexicographicOrder(forEachOption, errorHandler);
+            }
+        } finally {
+            loopThread = null;
+            closeSkipLog();
+        }
+    }
+
+    /**
+     * Returns whether the current thread executes the function for each combination.
+     * Only then, the {@link #getCurrentCombination() current combination} is the combination of a run started by this thread.
+     *
+     * @return {@code true} if called from within the loop
+     */
+    public boolean isLoopThread() {
+        return loopThread == Thread.currentThread();
+    }
+
+    private void loopOverLexicographicOrder(
+            Function<Integer, Integer> forEachOption, Consumer<Integer> errorHandler) {
         int lastErrorLevel = -1;
+        int changedSinceLastRun = Integer.MAX_VALUE;
         while (progress.hasNext()) {
             if (lastErrorLevel < 0) {
-                FeatJAR.log().info(progress::nextAndPrint);
+                progress.next();
             } else {
                 do {
                     progress.next();
                     if (progress.getLastChanged() <= lastErrorLevel) {
                         lastErrorLevel = -1;
-                        FeatJAR.log().info(progress::printStatus);
                         break;
                     } else {
-                        errorHandler.accept(progress.getLastChanged());
+                        changedSinceLastRun = Math.min(changedSinceLastRun, progress.getLastChanged());
+                        skip(errorHandler, "error at " + options[lastErrorLevel].getName());
                     }
                 } while (progress.hasNext());
                 if (lastErrorLevel >= 0) {
@@ -107,8 +241,18 @@ public class OptionCombiner {
                 }
             }
 
+            final int lastChanged = Math.min(changedSinceLastRun, progress.getLastChanged());
+            final String pruningReason = getPruningReason(progress.getIndices());
+            if (pruningReason != null) {
+                changedSinceLastRun = lastChanged;
+                skip(errorHandler, pruningReason);
+                continue;
+            }
+            changedSinceLastRun = Integer.MAX_VALUE;
+            FeatJAR.log().info(progress::printStatus);
+
             try {
-                lastErrorLevel = forEachOption.apply(progress.getLastChanged());
+                lastErrorLevel = forEachOption.apply(lastChanged);
             } catch (Exception e) {
                 FeatJAR.log().error(e);
                 lastErrorLevel = 0;
@@ -116,12 +260,493 @@ public class OptionCombiner {
         }
     }
 
+    /**
+     * Sets a priority for each combination of option values.
+     * Combinations with a higher priority are executed first, combinations with equal priority in lexicographic order.
+     * If the function executed for a combination returns the index of an option, all remaining combinations with the same values for this and all previous options are skipped, regardless of their position.
+     * Without a {@link #setSampler(ICombinationSampler, long) sampler}, the loop fails if there are more than {@link #MAX_PRIORITIZED_COMBINATIONS} combinations.
+     *
+     * @param priority maps the value indices of a combination to its priority, or {@code null} to execute all combinations in lexicographic order
+     */
+    public void setPriority(ToDoubleFunction<int[]> priority) {
+        this.priority = priority;
+    }
+
+    /**
+     * Sets a sampler that selects the combinations to execute instead of all combinations.
+     * Selected combinations are executed in lexicographic order, unless a {@link #setPriority(ToDoubleFunction) priority} is set.
+     *
+     * @param sampler the sampler or {@code null} to execute all combinations
+     * @param seed the seed for the random choices of the sampler
+     */
+    public void setSampler(ICombinationSampler sampler, long seed) {
+        this.sampler = sampler;
+        this.samplingSeed = seed;
+    }
+
+    /**
+     * Sets files to which the combinations selected by the {@link #setSampler(ICombinationSampler, long) sampler} and their coverage of all combinations are written.
+     *
+     * @param sampleFile the CSV file for the selected combinations or {@code null}
+     * @param coverageFile the CSV file for the coverage or {@code null}
+     */
+    public void setSampleLog(Path sampleFile, Path coverageFile) {
+        this.sampleFile = sampleFile;
+        this.coverageFile = coverageFile;
+    }
+
+    /**
+     * Sets a race that evaluates configurations on a growing number of instances and eliminates dominated configurations after each round.
+     * Results must be passed to {@link #report(ProcessResult)} while the function for their combination is executed,
+     * or the {@link ConfigurationRace#setRoundBarrier(Runnable) round barrier} of the race must wait for them.
+     * While racing, no {@link #setPriority(ToDoubleFunction) priority} or {@link #setSampler(ICombinationSampler, long) sampler} is used.
+     *
+     * @param race the race or {@code null} to execute all combinations
+     */
+    public void setRace(ConfigurationRace race) {
+        this.race = race;
+    }
+
+    public ConfigurationRace getRace() {
+        return race;
+    }
+
+    /**
+     * Sets a function that is called for each combination instead of executing it, e.g., to {@link CostEstimator estimate the cost} of an evaluation.
+     * The combinations are passed in the order in which they would be executed, considering the {@link #setPriority(ToDoubleFunction) priority} and {@link #setSampler(ICombinationSampler, long) sampler}.
+     * A {@link #setRace(ConfigurationRace) race} is ignored, such that all combinations are passed as an upper bound.
+     *
+     * @param dryRun the function or {@code null} to execute all combinations
+     */
+    public void setDryRun(Consumer<int[]> dryRun) {
+        this.dryRun = dryRun;
+    }
+
+    private void loopDry() {
+        if (sampler == null && priority != null && progress.getTotalSize() > MAX_PRIORITIZED_COMBINATIONS) {
+            FeatJAR.log()
+                    .warning(
+                            "Dry run ignores the priority of more than %d combinations, wall time assumes lexicographic order.",
+                            MAX_PRIORITIZED_COMBINATIONS);
+        } else if (priority != null || sampler != null) {
+            progress = new ProgressTracker(progress.getSizes(), computeSchedule());
+        }
+        while (progress.hasNext()) {
+            dryRun.accept(progress.next());
+        }
+    }
+
+    private void loopOverRace(Function<Integer, Integer> forEachOption, Consumer<Integer> errorHandler) {
+        final int[] sizes = progress.getSizes();
+        race.init(sizes, this::getCombination);
+        for (List<int[]> round = race.nextRound(); !round.isEmpty(); round = race.nextRound()) {
+            progress = new ProgressTracker(sizes, round);
+            loopOverSchedule(forEachOption, errorHandler);
+            race.eliminate();
+        }
+        FeatJAR.log().info("Race survivors: %s", race.getSurvivors());
+    }
+
+    private List<int[]> computeSchedule() {
+        final int[] sizes = progress.getSizes();
+        final ArrayList<int[]> combinations;
+        if (sampler != null) {
+            combinations = new ArrayList<>(sampler.sample(sizes, new Random(samplingSeed)));
+            combinations.sort(Arrays::compare);
+            writeSample(combinations);
+        } else {
+            if (progress.getTotalSize() > MAX_PRIORITIZED_COMBINATIONS) {
+                throw new IllegalArgumentException(String.format(
+                        "Cannot prioritize %s combinations, at most %d combinations can be held in memory. Use a sampler or a lexicographic schedule.",
+                        progress.getCombinationCount(), MAX_PRIORITIZED_COMBINATIONS));
+            }
+            combinations = new ArrayList<>(ICombinationSampler.enumerate(sizes));
+        }
+        if (priority == null) {
+            return combinations;
+        }
+        final double[] priorities = new double[combinations.size()];
+        for (int i = 0; i < priorities.length; i++) {
+            priorities[i] = priority.applyAsDouble(combinations.get(i));
+        }
+        final Integer[] order = new Integer[combinations.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble((Integer i) -> priorities[i]).reversed());
+        final ArrayList<int[]> schedule = new ArrayList<>(order.length);
+        for (Integer i : order) {
+            schedule.add(combinations.get(i));
+        }
+        return schedule;
+    }
+
+    private void writeSample(List<int[]> combinations) {
+        final int[] sizes = progress.getSizes();
+        final BigInteger combinationCount = progress.getCombinationCount();
+        final double spaceCoverage = new BigDecimal(combinations.size())
+                .divide(new BigDecimal(combinationCount), MathContext.DECIMAL64)
+                .doubleValue();
+        double valueCoverage = 1;
+        for (int i = 0; i < sizes.length; i++) {
+            final int option = i;
+            valueCoverage = Math.min(
+                    valueCoverage,
+                    (double) combinations.stream().mapToInt(c -> c[option]).distinct().count() / sizes[i]);
+        }
+        long coveredPairs = 0;
+        double pairs = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            for (int j = i + 1; j < sizes.length; j++) {
+                final HashSet<Long> pairSet = new HashSet<>();
+                for (int[] combination : combinations) {
+                    pairSet.add((long) combination[i] * sizes[j] + combination[j]);
+                }
+                coveredPairs += pairSet.size();
+                pairs += (double) sizes[i] * sizes[j];
+            }
+        }
+        final double pairCoverage = pairs > 0 ? coveredPairs / pairs : 1;
+        FeatJAR.log()
+                .info(
+                        "Sampled %d of %s combinations with %s (value coverage %.3f, pair coverage %.3f)",
+                        combinations.size(),
+                        combinationCount,
+                        sampler.getName(),
+                        valueCoverage,
+                        pairCoverage);
+        try {
+            if (coverageFile != null) {
+                Files.write(
+                        coverageFile,
+                        List.of(
+                                "sampler;seed;combinations;allCombinations;spaceCoverage;valueCoverage;pairCoverage",
+                                String.join(
+                                        ";",
+                                        sampler.getName(),
+                                        String.valueOf(samplingSeed),
+                                        String.valueOf(combinations.size()),
+                                        combinationCount.toString(),
+                                        String.valueOf(spaceCoverage),
+                                        String.valueOf(valueCoverage),
+                                        String.valueOf(pairCoverage))),
+                        StandardCharsets.UTF_8);
+            }
+            if (sampleFile != null) {
+                try (BufferedWriter writer = Files.newBufferedWriter(sampleFile, StandardCharsets.UTF_8)) {
+                    writer.write("combination");
+                    writer.newLine();
+                    for (int[] combination : combinations) {
+                        writer.write(printCombination(combination));
+                        writer.newLine();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            FeatJAR.log().error(e);
+        }
+    }
+
+    private void loopOverSchedule(Function<Integer, Integer> forEachOption, Consumer<Integer> errorHandler) {
+        final HashMap<String, String> failedPrefixes = new HashMap<>();
+        int[] lastIndices = null;
+        while (progress.hasNext()) {
+            final int[] indices = progress.next();
+            String skipReason = getFailedPrefixReason(failedPrefixes, indices);
+            if (skipReason == null) {
+                skipReason = getPruningReason(indices);
+            }
+            if (skipReason != null) {
+                skip(errorHandler, skipReason);
+                continue;
+            }
+            FeatJAR.log().info(progress::printStatus);
+
+            int lastChanged = 0;
+            if (lastIndices != null) {
+                while (lastChanged < indices.length && lastIndices[lastChanged] == indices[lastChanged]) {
+                    lastChanged++;
+                }
+            }
+            lastIndices = indices.clone();
+
+            int errorLevel;
+            try {
+                errorLevel = forEachOption.apply(lastChanged);
+            } catch (Exception e) {
+                FeatJAR.log().error(e);
+                errorLevel = 0;
+            }
+            if (errorLevel >= 0) {
+                failedPrefixes.put(
+                        Arrays.toString(Arrays.copyOf(indices, errorLevel + 1)),
+                        "error at " + options[errorLevel].getName());
+            }
+        }
+    }
+
+    private String getFailedPrefixReason(Map<String, String> failedPrefixes, int[] indices) {
+        if (failedPrefixes.isEmpty()) {
+            return null;
+        }
+        for (int i = 1; i <= indices.length; i++) {
+            final String reason = failedPrefixes.get(Arrays.toString(Arrays.copyOf(indices, i)));
+            if (reason != null) {
+                return reason;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds a rule that skips combinations that are dominated by the result of a finished run.
+     * Results must be passed to {@link #report(ProcessResult)} while the function for their combination is executed.
+     *
+     * @param rule the rule
+     */
+    public void addPruningRule(IPruningRule rule) {
+        pruningRules.add(rule);
+    }
+
+    public List<IPruningRule> getPruningRules() {
+        return pruningRules;
+    }
+
+    /**
+     * Applies all {@link #addPruningRule(IPruningRule) pruning rules} to the result of the current combination.
+     * All remaining combinations that are dominated by it are skipped.
+     *
+     * @param result the result of the run for the current combination
+     */
+    public void report(ProcessResult<?> result) {
+        report(progress.getIndices(), result);
+    }
+
+    /**
+     * Applies all {@link #addPruningRule(IPruningRule) pruning rules} to the result of the given combination.
+     * Can be called from other threads, e.g., if runs are executed in a {@link StagedPipeline}.
+     *
+     * @param indices the value indices of the combination
+     * @param result the result of the run for the combination
+     */
+    public synchronized void report(int[] indices, ProcessResult<?> result) {
+        if (race != null) {
+            race.record(indices, result);
+        }
+        if (pruningRules.isEmpty()) {
+            return;
+        }
+        final int[] reportedIndices = indices.clone();
+        for (IPruningRule rule : pruningRules) {
+            final Predicate<int[]> dominated = rule.getDominated(reportedIndices, result);
+            if (dominated != null) {
+                final Pruning pruning =
+                        new Pruning(dominated, rule.getName() + " of " + printCombination(reportedIndices));
+                final int[] fixedOptions = rule.getFixedOptions();
+                if (fixedOptions != null) {
+                    indexedPrunings
+                            .computeIfAbsent(rule, r -> new HashMap<>())
+                            .computeIfAbsent(getPruningKey(fixedOptions, reportedIndices), k -> new ArrayList<>())
+                            .add(pruning);
+                } else {
+                    prunings.add(pruning);
+                }
+            }
+        }
+    }
+
+    /**
+     * Combines the values of the given options, such that prunings of a rule are only tested for combinations that agree on its fixed options.
+     * Different values may share a key, as each pruning is tested anyway.
+     */
+    private static long getPruningKey(int[] fixedOptions, int[] indices) {
+        long key = 0;
+        for (int option : fixedOptions) {
+            key = 31 * key + indices[option];
+        }
+        return key;
+    }
+
+    private synchronized String getPruningReason(int[] indices) {
+        for (Map.Entry<IPruningRule, Map<Long, List<Pruning>>> entry : indexedPrunings.entrySet()) {
+            final List<Pruning> candidates =
+                    entry.getValue().get(getPruningKey(entry.getKey().getFixedOptions(), indices));
+            if (candidates != null) {
+                for (Pruning pruning : candidates) {
+                    if (pruning.dominated.test(indices)) {
+                        return pruning.reason;
+                    }
+                }
+            }
+        }
+        for (Pruning pruning : prunings) {
+            if (pruning.dominated.test(indices)) {
+                return pruning.reason;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Sets a file to which all skipped combinations are appended together with the reason for skipping them.
+     *
+     * @param skipLogFile the file or {@code null} to not record skipped combinations
+     */
+    public void setSkipLog(Path skipLogFile) {
+        this.skipLogFile = skipLogFile;
+    }
+
+    public long getSkippedCount() {
+        return skippedCount.get();
+    }
+
+    private void skip(Consumer<Integer> errorHandler, String reason) {
+        skippedCount.incrementAndGet();
+        errorHandler.accept(progress.getLastChanged());
+        if (skipLogFile != null) {
+            try {
+                if (skipLog == null) {
+                    final boolean newFile = !Files.exists(skipLogFile);
+                    skipLog = Files.newBufferedWriter(
+                            skipLogFile,
+                            StandardCharsets.UTF_8,
+                            StandardOpenOption.CREATE,
+                            StandardOpenOption.APPEND);
+                    if (newFile) {
+                        skipLog.write("combination;reason");
+                        skipLog.newLine();
+                    }
+                }
+                skipLog.write(printCombination(progress.getIndices()));
+                skipLog.write(';');
+                skipLog.write(reason);
+                skipLog.newLine();
+            } catch (IOException e) {
+                FeatJAR.log().error(e);
+                skipLogFile = null;
+            }
+        }
+    }
+
+    private void closeSkipLog() {
+        if (skipLog != null) {
+            try {
+                skipLog.close();
+            } catch (IOException e) {
+                FeatJAR.log().error(e);
+            }
+            skipLog = null;
+        }
+    }
+
+    private String printCombination(int[] indices) {
+        return String.join(",", getCombination(indices));
+    }
+
+    /**
+     * Returns the values of all options for the given combination.
+     *
+     * @param indices the indices of the option values
+     * @return the option values, each formatted as {@code name=value}
+     */
+    public List<String> getCombination(int[] indices) {
+        final ArrayList<String> combination = new ArrayList<>(options.length);
+        for (int i = 0; i < options.length; i++) {
+            combination.add(labels[i][indices[i]]);
+        }
+        return combination;
+    }
+
+    /**
+     * Returns the values of all options for the current combination.
+     *
+     * @return the option values, each formatted as {@code name=value}
+     */
+    public List<String> getCurrentCombination() {
+        return getCombination(progress.getIndices());
+    }
+
+    /**
+     * Returns the value of an option for the given combination.
+     *
+     * @param <T> the type of the value
+     * @param index the index of the option
+     * @param indices the indices of the option values
+     * @return the value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getValue(int index, int[] indices) {
+        return (T) values[index][indices[index]];
+    }
+
     @SuppressWarnings("unchecked")
     public <T> T getValue(int index) {
         int optionIndex = progress.getIndices()[index];
-        return optionIndex < 0
-                ? null
-                : (T) optionParser.getResult(options[index]).orElseThrow().get(optionIndex);
+        return optionIndex < 0 ? null : (T) values[index][optionIndex];
+    }
+
+    /**
+     * Returns the value of a numeric option for the given combination without unboxing.
+     *
+     * @param index the index of the option
+     * @param indices the indices of the option values
+     * @return the value
+     * @throws IllegalArgumentException if not all values of the option are numbers
+     */
+    public long getLongValue(int index, int[] indices) {
+        final long[] longs = longValues[index];
+        if (longs == null) {
+            throw new IllegalArgumentException(
+                    String.format("Option has non-numeric values. Option: %s", options[index].getName()));
+        }
+        return longs[indices[index]];
+    }
+
+    /**
+     * Returns the value of a numeric option for the given combination without unboxing.
+     *
+     * @param index the index of the option
+     * @param indices the indices of the option values
+     * @return the value
+     * @throws IllegalArgumentException if not all values of the option are numbers
+     */
+    public double getDoubleValue(int index, int[] indices) {
+        final double[] doubles = doubleValues[index];
+        if (doubles == null) {
+            throw new IllegalArgumentException(
+                    String.format("Option has non-numeric values. Option: %s", options[index].getName()));
+        }
+        return doubles[indices[index]];
+    }
+
+    /**
+     * Returns the value of a numeric option for the current combination without unboxing.
+     *
+     * @param index the index of the option
+     * @return the value
+     * @throws IllegalArgumentException if not all values of the option are numbers
+     */
+    public long getLongValue(int index) {
+        return getLongValue(index, progress.getIndices());
+    }
+
+    /**
+     * Returns the value of a numeric option for the current combination without unboxing.
+     *
+     * @param index the index of the option
+     * @return the value
+     * @throws IllegalArgumentException if not all values of the option are numbers
+     */
+    public double getDoubleValue(int index) {
+        return getDoubleValue(index, progress.getIndices());
+    }
+
+    public ProgressTracker getProgress() {
+        return progress;
+    }
+
+    public AListOption<?>[] getOptions() {
+        return options;
     }
 
     private String printOptionNames(AListOption<?>... loptions) {
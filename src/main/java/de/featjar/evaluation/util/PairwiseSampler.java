@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Selects combinations that cover every pair of values of any two options at least once (a covering array of strength two).
+ * Combinations are constructed greedily: each new combination starts from an uncovered pair and completes the remaining options with the values that cover the most uncovered pairs.
+ * Of several random candidates, the one covering the most pairs is selected.
+ */
+public class PairwiseSampler implements ICombinationSampler {
+
+    private static final int CANDIDATES = 20;
+
+    @Override
+    public List<int[]> sample(int[] sizes, Random random) {
+        final int n = sizes.length;
+        final ArrayList<int[]> combinations = new ArrayList<>();
+        if (n == 0) {
+            combinations.add(new int[0]);
+            return combinations;
+        } else if (n == 1) {
+            for (int value = 0; value < sizes[0]; value++) {
+                combinations.add(new int[] {value});
+            }
+            return combinations;
+        }
+        final boolean[][][] covered = new boolean[n][n][];
+        long uncovered = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                covered[i][j] = new boolean[sizes[i] * sizes[j]];
+                uncovered += covered[i][j].length;
+            }
+        }
+        final ArrayList<Integer> optionOrder = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            optionOrder.add(i);
+        }
+        while (uncovered > 0) {
+            final int[] firstPair = findUncoveredPair(sizes, covered, random);
+            int[] best = null;
+            int bestGain = -1;
+            for (int c = 0; c < CANDIDATES; c++) {
+                final int[] candidate = new int[n];
+                final boolean[] assigned = new boolean[n];
+                candidate[firstPair[0]] = firstPair[1];
+                candidate[firstPair[2]] = firstPair[3];
+                assigned[firstPair[0]] = true;
+                assigned[firstPair[2]] = true;
+                Collections.shuffle(optionOrder, random);
+                for (int option : optionOrder) {
+                    if (!assigned[option]) {
+                        int bestValue = random.nextInt(sizes[option]);
+                        int bestValueGain = -1;
+                        final int offset = random.nextInt(sizes[option]);
+                        for (int k = 0; k < sizes[option]; k++) {
+                            final int value = (offset + k) % sizes[option];
+                            final int gain = countNewPairs(sizes, covered, candidate, assigned, option, value);
+                            if (gain > bestValueGain) {
+                                bestValueGain = gain;
+                                bestValue = value;
+                            }
+                        }
+                        candidate[option] = bestValue;
+                        assigned[option] = true;
+                    }
+                }
+                final int gain = countNewPairs(sizes, covered, candidate);
+                if (gain > bestGain) {
+                    bestGain = gain;
+                    best = candidate;
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    final int pair = best[i] * sizes[j] + best[j];
+                    if (!covered[i][j][pair]) {
+                        covered[i][j][pair] = true;
+                        uncovered--;
+                    }
+                }
+            }
+            combinations.add(best);
+        }
+        return combinations;
+    }
+
+    private static int[] findUncoveredPair(int[] sizes, boolean[][][] covered, Random random) {
+        final int n = sizes.length;
+        final int start = random.nextInt(n * n);
+        for (int k = 0; k < n * n; k++) {
+            final int i = ((start + k) / n) % n;
+            final int j = (start + k) % n;
+            if (i < j) {
+                final boolean[] pairs = covered[i][j];
+                final int offset = random.nextInt(pairs.length);
+                for (int p = 0; p < pairs.length; p++) {
+                    final int pair = (offset + p) % pairs.length;
+                    if (!pairs[pair]) {
+                        return new int[] {i, pair / sizes[j], j, pair % sizes[j]};
+                    }
+                }
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private static int countNewPairs(
+            int[] sizes, boolean[][][] covered, int[] candidate, boolean[] assigned, int option, int value) {
+        int gain = 0;
+        for (int other = 0; other < sizes.length; other++) {
+            if (assigned[other]) {
+                gain += option < other
+                        ? (covered[option][other][value * sizes[other] + candidate[other]] ? 0 : 1)
+                        : (covered[other][option][candidate[other] * sizes[option] + value] ? 0 : 1);
+            }
+        }
+        return gain;
+    }
+
+    private static int countNewPairs(int[] sizes, boolean[][][] covered, int[] candidate) {
+        int gain = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            for (int j = i + 1; j < sizes.length; j++) {
+                if (!covered[i][j][candidate[i] * sizes[j] + candidate[j]]) {
+                    gain++;
+                }
+            }
+        }
+        return gain;
+    }
+
+    @Override
+    public String getName() {
+        return "pairwise";
+    }
+}
@@ -20,17 +20,23 @@
  */
 package de.featjar.evaluation.util;
 
+import java.math.BigInteger;
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * Iterates over a given list of options with different ranges.
+ * The number of combinations may exceed the range of {@code long}, in which case {@link #getTotalSize()} is {@link Long#MAX_VALUE}.
  *
  * @author Sebastian Krieter
  */
 public class ProgressTracker implements Iterator<int[]> {
 
     private int[] sizes, indices;
-    private int totalSize, totalIndex, lastIndexChanged;
+    private long totalSize, totalIndex;
+    private int lastIndexChanged;
+    private List<int[]> order;
+    private double combinationCount = -1;
 
     public ProgressTracker(int... optionRanges) {
         sizes = new int[optionRanges.length];
@@ -45,11 +51,31 @@ public class ProgressTracker implements Iterator<int[]> {
             }
             sizes[i] = size;
             indices[i] = size - 1;
-            totalSize *= size;
+            totalSize = multiply(totalSize, size);
         }
         assert totalSize >= 1;
     }
 
+    /**
+     * Iterates only over the given combinations in the given order.
+     *
+     * @param optionRanges the number of values for each option
+     * @param order the indices of the option values for each combination
+     */
+    public ProgressTracker(int[] optionRanges, List<int[]> order) {
+        this(optionRanges);
+        this.order = order;
+        totalSize = order.size();
+    }
+
+    private static long multiply(long a, long b) {
+        try {
+            return Math.multiplyExact(a, b);
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
     public String nextAndPrint() {
         next();
         return printStatus();
@@ -62,12 +88,45 @@ public class ProgressTracker implements Iterator<int[]> {
                 statusMessage.append(String.format("%d/%d ", indices[i] + 1, sizes[i]));
             }
         }
+        if (order == null && totalSize == Long.MAX_VALUE) {
+            if (combinationCount < 0) {
+                combinationCount = getCombinationCount().doubleValue();
+            }
+            statusMessage.append(String.format("%d/%.3g", totalIndex + 1, combinationCount));
+            return statusMessage.toString();
+        }
         statusMessage.append(
                 String.format("%5.1f", ((Math.floor(((double) (totalIndex + 1) / totalSize) * 1000)) / 10.0)));
         statusMessage.append('%');
         return statusMessage.toString();
     }
 
+    /**
+     * Returns the number of combinations that are iterated.
+     *
+     * @return the number of combinations or {@link Long#MAX_VALUE} if it exceeds the range of {@code long}
+     */
+    public long getTotalSize() {
+        return totalSize;
+    }
+
+    public long getTotalIndex() {
+        return totalIndex;
+    }
+
+    /**
+     * Returns the number of all combinations of option values, regardless of a given order.
+     *
+     * @return the exact number of combinations
+     */
+    public BigInteger getCombinationCount() {
+        BigInteger count = BigInteger.ONE;
+        for (int size : sizes) {
+            count = count.multiply(BigInteger.valueOf(size));
+        }
+        return count;
+    }
+
     public int[] getSizes() {
         return sizes;
     }
@@ -78,7 +137,18 @@ public class ProgressTracker implements Iterator<int[]> {
 
     @Override
     public boolean hasNext() {
-        return totalIndex < totalSize - 1;
+        if (order != null || totalSize < Long.MAX_VALUE) {
+            return totalIndex < totalSize - 1;
+        }
+        if (totalIndex < 0) {
+            return true;
+        }
+        for (int i = 0; i < sizes.length; i++) {
+            if (indices[i] < sizes[i] - 1) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
@@ -86,6 +156,17 @@ public class ProgressTracker implements Iterator<int[]> {
         if (!hasNext()) {
             return null;
         }
+        if (order != null) {
+            final int[] nextIndices = order.get((int) (totalIndex + 1));
+            int i = 0;
+            while (i < indices.length && indices[i] == nextIndices[i]) {
+                i++;
+            }
+            System.arraycopy(nextIndices, 0, indices, 0, indices.length);
+            lastIndexChanged = totalIndex < 0 ? 0 : i;
+            totalIndex++;
+            return indices;
+        }
         int i = sizes.length - 1;
         for (; i >= 0; i--) {
             final int index = indices[i];
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.util;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Selects a uniformly random subset of all combinations of option values.
+ */
+public class RandomSampler implements ICombinationSampler {
+
+    private final long count;
+
+    /**
+     * Creates a new random sampler.
+     *
+     * @param count the number of combinations to select
+     */
+    public RandomSampler(long count) {
+        this.count = count;
+    }
+
+    @Override
+    public List<int[]> sample(int[] sizes, Random random) {
+        final BigInteger total = new ProgressTracker(sizes).getCombinationCount();
+        if (total.compareTo(BigInteger.valueOf(count)) <= 0) {
+            return ICombinationSampler.enumerate(sizes);
+        }
+        if (total.bitLength() < Long.SIZE - 1) {
+            return sampleIndices(sizes, total.longValueExact(), random);
+        }
+        final HashSet<List<Integer>> selected = new HashSet<>();
+        final ArrayList<int[]> combinations = new ArrayList<>();
+        while (combinations.size() < count) {
+            final int[] indices = new int[sizes.length];
+            final Integer[] key = new Integer[sizes.length];
+            for (int i = 0; i < sizes.length; i++) {
+                indices[i] = random.nextInt(sizes[i]);
+                key[i] = indices[i];
+            }
+            if (selected.add(Arrays.asList(key))) {
+                combinations.add(indices);
+            }
+        }
+        return combinations;
+    }
+
+    /**
+     * Selects distinct positions in the lexicographic order with Floyd's algorithm and decodes them into combinations.
+     */
+    private List<int[]> sampleIndices(int[] sizes, long total, Random random) {
+        final HashSet<Long> selected = new HashSet<>();
+        for (long j = total - count; j < total; j++) {
+            final long position = nextLong(random, j + 1);
+            selected.add(selected.contains(position) ? j : position);
+        }
+        final ArrayList<int[]> combinations = new ArrayList<>(selected.size());
+        for (long position : selected) {
+            final int[] indices = new int[sizes.length];
+            for (int i = sizes.length - 1; i >= 0; i--) {
+                indices[i] = (int) (position % sizes[i]);
+                position /= sizes[i];
+            }
+            combinations.add(indices);
+        }
+        return combinations;
+    }
+
+    private static long nextLong(Random random, long bound) {
+        long bits, value;
+        do {
+            bits = random.nextLong() >>> 1;
+            value = bits % bound;
+        } while (bits - value + (bound - 1) < 0);
+        return value;
+    }
+
+    @Override
+    public String getName() {
+        return "random(" + count + ")";
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.util;
+
+import java.util.Arrays;
+
+/**
+ * Summarizes a stream of non-negative values in constant memory.
+ * Mean and variance are computed exactly (Welford's algorithm).
+ * Quantiles are estimated from logarithmic buckets with a relative error of at most 1% (values below 1 share a single bucket).
+ * Two instances can be {@link #merge(RunningStatistics) merged}.
+ */
+public class RunningStatistics {
+
+    private static final double RELATIVE_ERROR = 0.01;
+    private static final double GAMMA = (1 + RELATIVE_ERROR) / (1 - RELATIVE_ERROR);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    private long count;
+    private double mean;
+    private double m2;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    private long zeroCount;
+    private long[] buckets = new long[0];
+    private int bucketOffset;
+
+    /**
+     * Adds a value.
+     *
+     * @param value the value, negative values are ignored
+     */
+    public void add(double value) {
+        if (value < 0 || Double.isNaN(value)) {
+            return;
+        }
+        count++;
+        final double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        if (value < 1) {
+            zeroCount++;
+        } else {
+            addToBucket((int) Math.ceil(Math.log(value) / LOG_GAMMA), 1);
+        }
+    }
+
+    private void addToBucket(int index, long bucketCount) {
+        if (buckets.length == 0) {
+            buckets = new long[8];
+            bucketOffset = index;
+        } else if (index < bucketOffset) {
+            final int shift = bucketOffset - index;
+            final long[] newBuckets = new long[Math.max(buckets.length + shift, buckets.length * 2)];
+            System.arraycopy(buckets, 0, newBuckets, shift, buckets.length);
+            buckets = newBuckets;
+            bucketOffset = index;
+        } else if (index - bucketOffset >= buckets.length) {
+            buckets = Arrays.copyOf(buckets, Math.max(index - bucketOffset + 1, buckets.length * 2));
+        }
+        buckets[index - bucketOffset] += bucketCount;
+    }
+
+    /**
+     * Adds all values of another instance to this instance.
+     *
+     * @param other the other instance
+     */
+    public void merge(RunningStatistics other) {
+        if (other.count == 0) {
+            return;
+        }
+        final long newCount = count + other.count;
+        final double delta = other.mean - mean;
+        mean += delta * other.count / newCount;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / newCount);
+        count = newCount;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        zeroCount += other.zeroCount;
+        for (int i = 0; i < other.buckets.length; i++) {
+            if (other.buckets[i] > 0) {
+                addToBucket(i + other.bucketOffset, other.buckets[i]);
+            }
+        }
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return count > 0 ? mean : Double.NaN;
+    }
+
+    public double getVariance() {
+        return count > 1 ? m2 / (count - 1) : Double.NaN;
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    public double getMin() {
+        return count > 0 ? min : Double.NaN;
+    }
+
+    public double getMax() {
+        return count > 0 ? max : Double.NaN;
+    }
+
+    /**
+     * Estimates a quantile.
+     *
+     * @param q the quantile between 0 and 1 (e.g., 0.5 for the median)
+     * @return the estimated value or {@link Double#NaN} if no value was added
+     */
+    public double getQuantile(double q) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        final long rank = (long) Math.ceil(Math.max(0, Math.min(1, q)) * count);
+        long seen = zeroCount;
+        if (rank <= seen) {
+            return min;
+        }
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                final double estimate = 2 * Math.pow(GAMMA, i + bucketOffset) / (GAMMA + 1);
+                return Math.max(min, Math.min(max, estimate));
+            }
+        }
+        return max;
+    }
+}
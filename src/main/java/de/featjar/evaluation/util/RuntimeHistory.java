@@ -0,0 +1,312 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.util;
+
+import de.featjar.base.FeatJAR;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persistent record of observed runtimes per algorithm and system.
+ * Used to predict the duration of future runs.
+ * For unknown systems, the duration is extrapolated from the size of the system and the observed time per byte of the same algorithm.
+ */
+public class RuntimeHistory {
+
+    private static final String SEPARATOR = ";";
+    private static final String HEADER = "algorithm;system;size;count;timeouts;totalTime;maxTime";
+
+    /**
+     * Observed runtimes of one algorithm on one system.
+     */
+    public static class Entry {
+        private final String algorithm;
+        private final String system;
+        private long size;
+        private long count;
+        private long timeouts;
+        private long totalTime;
+        private long maxTime;
+
+        private Entry(String algorithm, String system, long size) {
+            this.algorithm = algorithm;
+            this.system = system;
+            this.size = size;
+        }
+
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        public String getSystem() {
+            return system;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getTimeouts() {
+            return timeouts;
+        }
+
+        public long getTotalTime() {
+            return totalTime;
+        }
+
+        public long getMaxTime() {
+            return maxTime;
+        }
+
+        /**
+         * Returns the mean runtime in milliseconds.
+         * If a run timed out, the maximum observed time is returned, as the mean would underestimate the duration.
+         */
+        public double getExpectedTime() {
+            return timeouts > 0 ? maxTime : (double) totalTime / count;
+        }
+
+        private void add(Entry other) {
+            if (other.size >= 0) {
+                size = other.size;
+            }
+            count += other.count;
+            timeouts += other.timeouts;
+            totalTime += other.totalTime;
+            maxTime = Math.max(maxTime, other.maxTime);
+        }
+
+        private String toLine() {
+            return String.join(
+                    SEPARATOR,
+                    algorithm,
+                    system,
+                    String.valueOf(size),
+                    String.valueOf(count),
+                    String.valueOf(timeouts),
+                    String.valueOf(totalTime),
+                    String.valueOf(maxTime));
+        }
+    }
+
+    private final Path historyFile;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+    private final LinkedHashMap<String, Entry> recorded = new LinkedHashMap<>();
+    private Map<String, Double> timePerByte;
+    private double totalTimePerByte;
+
+    public RuntimeHistory(Path historyFile) {
+        this.historyFile = historyFile;
+    }
+
+    private static String getKey(String algorithm, String system) {
+        return algorithm + SEPARATOR + system;
+    }
+
+    /**
+     * Reads all entries from the history file, if it exists.
+     */
+    public synchronized void load() {
+        entries.clear();
+        recorded.clear();
+        timePerByte = null;
+        entries.putAll(read());
+    }
+
+    private LinkedHashMap<String, Entry> read() {
+        final LinkedHashMap<String, Entry> storedEntries = new LinkedHashMap<>();
+        if (Files.isReadable(historyFile)) {
+            try {
+                final List<String> lines = Files.readAllLines(historyFile, StandardCharsets.UTF_8);
+                for (String line : lines.subList(Math.min(1, lines.size()), lines.size())) {
+                    if (!line.isBlank()) {
+                        final String[] values = line.split(SEPARATOR, -1);
+                        final Entry entry = new Entry(values[0], values[1], Long.parseLong(values[2]));
+                        entry.count = Long.parseLong(values[3]);
+                        entry.timeouts = Long.parseLong(values[4]);
+                        entry.totalTime = Long.parseLong(values[5]);
+                        entry.maxTime = Long.parseLong(values[6]);
+                        storedEntries.put(getKey(entry.algorithm, entry.system), entry);
+                    }
+                }
+            } catch (final Exception e) {
+                FeatJAR.log().warning("Could not read runtime history %s", historyFile);
+                FeatJAR.log().error(e);
+                storedEntries.clear();
+            }
+        }
+        return storedEntries;
+    }
+
+    /**
+     * Adds all runtimes recorded since the last load or save to the history file.
+     * The file is locked and read again before writing, such that runtimes saved by other processes in the meantime are kept.
+     */
+    @SuppressWarnings("try")
+    public synchronized void save() {
+        final Path lockFile = historyFile.resolveSibling(historyFile.getFileName() + ".lock");
+        try (FileChannel lock = FileUtils.lock(lockFile)) {
+            final LinkedHashMap<String, Entry> storedEntries = read();
+            for (Entry delta : recorded.values()) {
+                storedEntries
+                        .computeIfAbsent(
+                                getKey(delta.algorithm, delta.system),
+                                k -> new Entry(delta.algorithm, delta.system, delta.size))
+                        .add(delta);
+            }
+            final List<String> lines = new ArrayList<>(storedEntries.size() + 1);
+            lines.add(HEADER);
+            for (Entry entry : storedEntries.values()) {
+                lines.add(entry.toLine());
+            }
+            FileUtils.writeAtomically(historyFile, lines);
+            entries.clear();
+            entries.putAll(storedEntries);
+            recorded.clear();
+            timePerByte = null;
+        } catch (final IOException e) {
+            FeatJAR.log().warning("Could not write runtime history %s", historyFile);
+            FeatJAR.log().error(e);
+        }
+    }
+
+    /**
+     * Adds an observed runtime.
+     *
+     * @param algorithm the full name of the algorithm
+     * @param system the name of the system
+     * @param size the size of the system in bytes or a negative value if unknown
+     * @param time the runtime in milliseconds
+     * @param terminatedInTime whether the run finished before the timeout
+     */
+    public synchronized void record(String algorithm, String system, long size, long time, boolean terminatedInTime) {
+        if (time < 0) {
+            return;
+        }
+        timePerByte = null;
+        final String key = getKey(algorithm, system);
+        final Entry delta = new Entry(algorithm, system, size);
+        delta.count = 1;
+        delta.totalTime = time;
+        delta.maxTime = time;
+        delta.timeouts = terminatedInTime ? 0 : 1;
+        entries.computeIfAbsent(key, k -> new Entry(algorithm, system, size)).add(delta);
+        recorded.computeIfAbsent(key, k -> new Entry(algorithm, system, size)).add(delta);
+    }
+
+    public synchronized Entry get(String algorithm, String system) {
+        return entries.get(getKey(algorithm, system));
+    }
+
+    public synchronized List<Entry> getEntries() {
+        return new ArrayList<>(entries.values());
+    }
+
+    /**
+     * Predicts the runtime of an algorithm on a system.
+     * Uses the observed runtimes of the same algorithm and system, if available.
+     * Otherwise, extrapolates from the observed time per byte of the same algorithm, or of all algorithms if the algorithm was never observed.
+     * Without any observations, the size itself is returned, such that larger systems are still expected to take longer.
+     *
+     * @param algorithm the full name of the algorithm
+     * @param system the name of the system
+     * @param size the size of the system in bytes or a negative value if unknown
+     * @return the expected runtime in milliseconds
+     */
+    public synchronized double predict(String algorithm, String system, long size) {
+        final Entry entry = entries.get(getKey(algorithm, system));
+        if (entry != null && entry.count > 0) {
+            return entry.getExpectedTime();
+        }
+        if (size < 0) {
+            return 0;
+        }
+        if (timePerByte == null) {
+            computeTimePerByte();
+        }
+        final Double algorithmTimePerByte = timePerByte.get(algorithm);
+        if (algorithmTimePerByte != null) {
+            return size * algorithmTimePerByte;
+        } else if (totalTimePerByte > 0) {
+            return size * totalTimePerByte;
+        } else {
+            return size;
+        }
+    }
+
+    /**
+     * Returns whether the {@link #predict(String, String, long) predicted} runtime is based on observed runtimes.
+     *
+     * @param algorithm the full name of the algorithm
+     * @param system the name of the system
+     * @param size the size of the system in bytes or a negative value if unknown
+     * @return {@code true} if the runtime is predicted from observations, {@code false} if it is only a placeholder
+     */
+    public synchronized boolean isObserved(String algorithm, String system, long size) {
+        final Entry entry = entries.get(getKey(algorithm, system));
+        if (entry != null && entry.count > 0) {
+            return true;
+        }
+        if (size < 0) {
+            return false;
+        }
+        if (timePerByte == null) {
+            computeTimePerByte();
+        }
+        return timePerByte.containsKey(algorithm) || totalTimePerByte > 0;
+    }
+
+    private void computeTimePerByte() {
+        final Map<String, double[]> sums = new HashMap<>();
+        double totalTime = 0, totalSize = 0;
+        for (Entry entry : entries.values()) {
+            if (entry.size > 0 && entry.count > 0) {
+                final double time = entry.getExpectedTime();
+                final double[] sum = sums.computeIfAbsent(entry.algorithm, k -> new double[2]);
+                sum[0] += time;
+                sum[1] += entry.size;
+                totalTime += time;
+                totalSize += entry.size;
+            }
+        }
+        timePerByte = new HashMap<>();
+        for (Map.Entry<String, double[]> sum : sums.entrySet()) {
+            timePerByte.put(sum.getKey(), sum.getValue()[0] / sum.getValue()[1]);
+        }
+        totalTimePerByte = totalSize > 0 ? totalTime / totalSize : 0;
+    }
+
+    public Path getHistoryFile() {
+        return historyFile;
+    }
+}
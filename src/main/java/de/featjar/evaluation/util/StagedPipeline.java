@@ -0,0 +1,401 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.util;
+
+import de.featjar.base.FeatJAR;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Passes work items through a sequence of stages, each with its own worker threads.
+ * Stages are connected by bounded queues, so a slow stage blocks the submission of further items instead of buffering them without limit (backpressure).
+ * Items are processed in submission order by stages with a single worker; stages with multiple workers may reorder them.
+ * If a stage throws an exception or error, it is logged and the item is not passed to the remaining stages; the worker continues with the next item.
+ *
+ * @param <T> the type of the work items
+ */
+public class StagedPipeline<T> implements AutoCloseable {
+
+    /**
+     * Processes one work item within a stage.
+     *
+     * @param <T> the type of the work items
+     */
+    @FunctionalInterface
+    public interface IStageTask<T> {
+        void process(T item) throws Exception;
+    }
+
+    private static final class QueuedItem<T> {
+        private final T item;
+        private final long enqueueTime;
+
+        private QueuedItem(T item) {
+            this.item = item;
+            this.enqueueTime = System.nanoTime();
+        }
+    }
+
+    /**
+     * A stage of the pipeline and its statistics.
+     */
+    public final class Stage {
+        private final String name;
+        private final int workerCount;
+        private final IStageTask<T> task;
+        private final BlockingQueue<QueuedItem<T>> queue;
+        private final CountDownLatch finishedWorkers;
+        private final AtomicInteger busyWorkers = new AtomicInteger();
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong totalWaitTime = new AtomicLong();
+        private final AtomicLong totalProcessTime = new AtomicLong();
+        private final AtomicLong maxProcessTime = new AtomicLong();
+        private final AtomicLong totalBlockedTime = new AtomicLong();
+        private final AtomicInteger maxQueueDepth = new AtomicInteger();
+        private Stage next;
+
+        private Stage(String name, int workerCount, int queueCapacity, IStageTask<T> task) {
+            this.name = name;
+            this.workerCount = workerCount;
+            this.task = task;
+            queue = new ArrayBlockingQueue<>(queueCapacity);
+            finishedWorkers = new CountDownLatch(workerCount);
+        }
+
+        private void put(QueuedItem<T> item) throws InterruptedException {
+            if (!queue.offer(item)) {
+                final long startTime = System.nanoTime();
+                queue.put(item);
+                totalBlockedTime.addAndGet(System.nanoTime() - startTime);
+            }
+            maxQueueDepth.accumulateAndGet(queue.size(), Math::max);
+        }
+
+        private void work() {
+            try {
+                while (true) {
+                    final QueuedItem<T> queuedItem = queue.take();
+                    if (queuedItem.item == null) {
+                        break;
+                    }
+                    final long startTime = System.nanoTime();
+                    totalWaitTime.addAndGet(startTime - queuedItem.enqueueTime);
+                    busyWorkers.incrementAndGet();
+                    boolean success = false;
+                    try {
+                        task.process(queuedItem.item);
+                        success = true;
+                    } catch (Throwable e) {
+                        failed.incrementAndGet();
+                        FeatJAR.log().error(e);
+                    } finally {
+                        busyWorkers.decrementAndGet();
+                    }
+                    final long processTime = System.nanoTime() - startTime;
+                    totalProcessTime.addAndGet(processTime);
+                    maxProcessTime.accumulateAndGet(processTime, Math::max);
+                    processed.incrementAndGet();
+                    if (success && next != null) {
+                        next.put(new QueuedItem<>(queuedItem.item));
+                    } else {
+                        itemFinished();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                finishedWorkers.countDown();
+                if (finishedWorkers.getCount() == 0 && next != null) {
+                    next.end();
+                }
+            }
+        }
+
+        private void end() {
+            for (int i = 0; i < workerCount; i++) {
+                try {
+                    queue.put(new QueuedItem<>(null));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getWorkerCount() {
+            return workerCount;
+        }
+
+        public int getQueueDepth() {
+            return queue.size();
+        }
+
+        public int getMaxQueueDepth() {
+            return maxQueueDepth.get();
+        }
+
+        public int getBusyWorkers() {
+            return busyWorkers.get();
+        }
+
+        public long getProcessed() {
+            return processed.get();
+        }
+
+        public long getFailed() {
+            return failed.get();
+        }
+
+        /**
+         * Returns the mean time an item waited in the queue of this stage.
+         *
+         * @return the time in milliseconds
+         */
+        public double getMeanWaitTime() {
+            final long count = processed.get();
+            return count == 0 ? 0 : totalWaitTime.get() / 1_000_000.0 / count;
+        }
+
+        /**
+         * Returns the mean time this stage took to process an item.
+         *
+         * @return the time in milliseconds
+         */
+        public double getMeanProcessTime() {
+            final long count = processed.get();
+            return count == 0 ? 0 : totalProcessTime.get() / 1_000_000.0 / count;
+        }
+
+        public double getMaxProcessTime() {
+            return maxProcessTime.get() / 1_000_000.0;
+        }
+
+        /**
+         * Returns the time the previous stage (or the submitter) was blocked, because the queue of this stage was full.
+         *
+         * @return the time in milliseconds
+         */
+        public long getBlockedTime() {
+            return totalBlockedTime.get() / 1_000_000L;
+        }
+
+        /**
+         * Returns the fraction of the elapsed time in which the workers of this stage were processing items.
+         *
+         * @return the utilization between 0 and 1
+         */
+        public double getUtilization() {
+            final long elapsedTime = System.nanoTime() - startTime;
+            return elapsedTime <= 0 ? 0 : (double) totalProcessTime.get() / elapsedTime / workerCount;
+        }
+
+        public String printStatus() {
+            return String.format(
+                    Locale.ENGLISH,
+                    "%s: %d workers (%.0f%% busy), %d processed, %d failed, queue %d (max %d), wait %.1f ms, process %.1f ms (max %.1f ms), blocked %d ms",
+                    name,
+                    workerCount,
+                    100 * getUtilization(),
+                    getProcessed(),
+                    getFailed(),
+                    getQueueDepth(),
+                    getMaxQueueDepth(),
+                    getMeanWaitTime(),
+                    getMeanProcessTime(),
+                    getMaxProcessTime(),
+                    getBlockedTime());
+        }
+    }
+
+    private final String name;
+    private final ArrayList<Stage> stages = new ArrayList<>();
+    private final ArrayList<Thread> threads = new ArrayList<>();
+    private long startTime;
+    private boolean started, closed;
+    private final ReadWriteLock submitLock = new ReentrantReadWriteLock();
+    private final Object idleLock = new Object();
+    private int pendingItems;
+
+    public StagedPipeline(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Appends a stage to the pipeline.
+     *
+     * @param stageName the name of the stage
+     * @param workerCount the number of threads processing items in this stage
+     * @param queueCapacity the maximum number of items waiting for this stage
+     * @param task the task executed for each item
+     * @return this pipeline
+     */
+    public StagedPipeline<T> addStage(String stageName, int workerCount, int queueCapacity, IStageTask<T> task) {
+        if (started) {
+            throw new IllegalStateException("Pipeline already started");
+        }
+        if (workerCount < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid workers (%d) or queue capacity (%d) for stage %s", workerCount, queueCapacity, stageName));
+        }
+        final Stage stage = new Stage(stageName, workerCount, queueCapacity, task);
+        if (!stages.isEmpty()) {
+            stages.get(stages.size() - 1).next = stage;
+        }
+        stages.add(stage);
+        return this;
+    }
+
+    /**
+     * Starts the worker threads of all stages.
+     */
+    public synchronized void start() {
+        if (started) {
+            return;
+        }
+        if (stages.isEmpty()) {
+            throw new IllegalStateException("Pipeline has no stages");
+        }
+        started = true;
+        startTime = System.nanoTime();
+        for (Stage stage : stages) {
+            for (int i = 0; i < stage.workerCount; i++) {
+                final Thread thread = new Thread(stage::work, name + "-" + stage.name + "-" + i);
+                thread.setDaemon(true);
+                threads.add(thread);
+                thread.start();
+            }
+        }
+    }
+
+    /**
+     * Passes an item to the first stage.
+     * Blocks while the queue of the first stage is full.
+     * A concurrent {@link #close()} waits until the item is queued, so it is processed before the pipeline stops.
+     *
+     * @param item the item
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws IllegalStateException if the pipeline is already closed
+     */
+    public void submit(T item) throws InterruptedException {
+        if (item == null) {
+            throw new IllegalArgumentException("Item must not be null");
+        }
+        start();
+        submitLock.readLock().lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Pipeline already closed");
+            }
+            synchronized (idleLock) {
+                pendingItems++;
+            }
+            boolean queued = false;
+            try {
+                stages.get(0).put(new QueuedItem<>(item));
+                queued = true;
+            } finally {
+                if (!queued) {
+                    itemFinished();
+                }
+            }
+        } finally {
+            submitLock.readLock().unlock();
+        }
+    }
+
+    private void itemFinished() {
+        synchronized (idleLock) {
+            if (--pendingItems == 0) {
+                idleLock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Waits until all items submitted so far have passed all stages or failed in one of them.
+     * In contrast to {@link #close()}, the pipeline keeps running and accepts further items.
+     */
+    public void awaitIdle() {
+        synchronized (idleLock) {
+            try {
+                while (pendingItems > 0) {
+                    idleLock.wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public List<Stage> getStages() {
+        return stages;
+    }
+
+    public String printStatus() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("Pipeline ").append(name);
+        for (Stage stage : stages) {
+            sb.append("\n\t").append(stage.printStatus());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Waits until all submitted items have passed all stages and stops the worker threads.
+     */
+    @Override
+    public void close() {
+        submitLock.writeLock().lock();
+        try {
+            synchronized (this) {
+                if (!started || closed) {
+                    closed = true;
+                    return;
+                }
+                closed = true;
+            }
+        } finally {
+            submitLock.writeLock().unlock();
+        }
+        stages.get(0).end();
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        FeatJAR.log().info(printStatus());
+    }
+}
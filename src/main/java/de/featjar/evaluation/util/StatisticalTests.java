@@ -0,0 +1,420 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.util;
+
+import java.util.Arrays;
+
+/**
+ * Provides rank-based statistical tests and the quantiles of common distributions they need.
+ * Quantiles are approximated closely enough for significance decisions.
+ */
+public final class StatisticalTests {
+
+    private static final double[] CENTRAL_NUMERATOR = {
+        -3.969683028665376e+01,
+        2.209460984245205e+02,
+        -2.759285104469687e+02,
+        1.383577518672690e+02,
+        -3.066479806614716e+01,
+        2.506628277459239e+00
+    };
+    private static final double[] CENTRAL_DENOMINATOR = {
+        -5.447609879822406e+01,
+        1.615858368580409e+02,
+        -1.556989798598866e+02,
+        6.680131188771972e+01,
+        -1.328068155288572e+01,
+        1
+    };
+    private static final double[] TAIL_NUMERATOR = {
+        -7.784894002430293e-03,
+        -3.223964580411365e-01,
+        -2.400758277161838e+00,
+        -2.549732539343734e+00,
+        4.374664141464968e+00,
+        2.938163982698783e+00
+    };
+    private static final double[] TAIL_DENOMINATOR = {
+        7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00, 3.754408661907416e+00, 1
+    };
+    private static final double TAIL_PROBABILITY = 0.02425;
+    private static final double[] ERFC_COEFFICIENTS = {
+        1.061405429, -1.453152027, 1.421413741, -0.284496736, 0.254829592
+    };
+    private static final int EXACT_WILCOXON_LIMIT = 25;
+    private static final int CHI_SQUARE_REFINEMENT_LIMIT = 100;
+
+    private StatisticalTests() {}
+
+    /**
+     * Ranks the given values in ascending order, assigning the average rank to ties.
+     *
+     * @param values the values
+     * @return the rank of each value, starting at 1
+     */
+    public static double[] rank(double[] values) {
+        final Integer[] order = new Integer[values.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+        final double[] ranks = new double[values.length];
+        int start = 0;
+        while (start < order.length) {
+            int end = start + 1;
+            while (end < order.length && Double.compare(values[order[start]], values[order[end]]) == 0) {
+                end++;
+            }
+            final double rank = (start + end + 1) / 2.0;
+            for (int i = start; i < end; i++) {
+                ranks[order[i]] = rank;
+            }
+            start = end;
+        }
+        return ranks;
+    }
+
+    /**
+     * Computes the Friedman test statistic (in the tie-corrected form of Conover) for a complete block design.
+     *
+     * @param ranks the rank of each treatment within each block, indexed by block and treatment
+     * @return the statistic, which approximately follows a chi-square distribution with one degree of freedom less than the number of treatments,
+     *     or 0 if all treatments are tied in all blocks
+     */
+    public static double friedman(double[][] ranks) {
+        final int n = ranks.length;
+        final int k = ranks[0].length;
+        final double[] rankSums = rankSums(ranks);
+        final double a = sumOfSquares(ranks);
+        final double c = (double) n * k * (k + 1) * (k + 1) / 4;
+        if (a - c <= 0) {
+            return 0;
+        }
+        double deviation = 0;
+        for (double rankSum : rankSums) {
+            final double difference = rankSum - n * (k + 1) / 2.0;
+            deviation += difference * difference;
+        }
+        return (k - 1) * deviation / (a - c);
+    }
+
+    /**
+     * Computes the smallest difference of rank sums that is significant in the post-hoc comparison of two treatments after a {@link #friedman(double[][]) Friedman test}.
+     *
+     * @param ranks the rank of each treatment within each block, indexed by block and treatment
+     * @param alpha the significance level
+     * @return the critical difference, or {@link Double#POSITIVE_INFINITY} if there are too few blocks
+     */
+    public static double friedmanCriticalDifference(double[][] ranks, double alpha) {
+        final int n = ranks.length;
+        final int k = ranks[0].length;
+        if (n < 2 || k < 2) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double squaredRankSums = 0;
+        for (double rankSum : rankSums(ranks)) {
+            squaredRankSums += rankSum * rankSum;
+        }
+        final int degreesOfFreedom = (n - 1) * (k - 1);
+        final double variance = 2 * (n * sumOfSquares(ranks) - squaredRankSums) / degreesOfFreedom;
+        return tQuantile(1 - alpha / 2, degreesOfFreedom) * Math.sqrt(Math.max(0, variance));
+    }
+
+    /**
+     * Computes the sum of the ranks of each treatment.
+     *
+     * @param ranks the rank of each treatment within each block, indexed by block and treatment
+     * @return the rank sum of each treatment
+     */
+    public static double[] rankSums(double[][] ranks) {
+        final double[] rankSums = new double[ranks[0].length];
+        for (double[] blockRanks : ranks) {
+            for (int j = 0; j < rankSums.length; j++) {
+                rankSums[j] += blockRanks[j];
+            }
+        }
+        return rankSums;
+    }
+
+    /**
+     * Computes the two-sided p-value of the Wilcoxon signed-rank test, i.e., whether paired differences are symmetric around zero.
+     * Zero differences are discarded.
+     * The p-value is exact for up to {@value #EXACT_WILCOXON_LIMIT} non-zero differences and uses the normal approximation with tie and continuity correction otherwise.
+     *
+     * @param differences the differences of the pairs
+     * @return the p-value, or 1 if all differences are zero
+     */
+    public static double wilcoxonSignedRank(double[] differences) {
+        final double[] nonZero = Arrays.stream(differences).filter(d -> d != 0).toArray();
+        final int n = nonZero.length;
+        if (n == 0) {
+            return 1;
+        }
+        final double[] ranks = rank(Arrays.stream(nonZero).map(Math::abs).toArray());
+        double positiveRankSum = 0;
+        for (int i = 0; i < n; i++) {
+            if (nonZero[i] > 0) {
+                positiveRankSum += ranks[i];
+            }
+        }
+        if (n <= EXACT_WILCOXON_LIMIT) {
+            final int[] doubledRanks = new int[n];
+            int total = 0;
+            for (int i = 0; i < n; i++) {
+                doubledRanks[i] = (int) Math.round(2 * ranks[i]);
+                total += doubledRanks[i];
+            }
+            final double[] counts = new double[total + 1];
+            counts[0] = 1;
+            for (int doubledRank : doubledRanks) {
+                for (int sum = total; sum >= doubledRank; sum--) {
+                    counts[sum] += counts[sum - doubledRank];
+                }
+            }
+            final int observed = (int) Math.round(2 * positiveRankSum);
+            double lower = 0, upper = 0;
+            for (int sum = 0; sum <= total; sum++) {
+                if (sum <= observed) {
+                    lower += counts[sum];
+                }
+                if (sum >= observed) {
+                    upper += counts[sum];
+                }
+            }
+            return Math.min(1, 2 * Math.min(lower, upper) / Math.pow(2, n));
+        }
+        final double mean = (double) n * (n + 1) / 4;
+        double variance = (double) n * (n + 1) * (2 * n + 1) / 24;
+        final double[] sortedRanks = ranks.clone();
+        Arrays.sort(sortedRanks);
+        for (int start = 0; start < n; ) {
+            int end = start + 1;
+            while (end < n && sortedRanks[end] == sortedRanks[start]) {
+                end++;
+            }
+            final double ties = end - start;
+            variance -= (ties * ties * ties - ties) / 48;
+            start = end;
+        }
+        if (variance <= 0) {
+            return 1;
+        }
+        final double z = Math.max(0, Math.abs(positiveRankSum - mean) - 0.5) / Math.sqrt(variance);
+        return Math.min(1, 2 * (1 - normalCdf(z)));
+    }
+
+    /**
+     * Computes the matched-pairs rank-biserial correlation as effect size of the {@link #wilcoxonSignedRank(double[]) Wilcoxon signed-rank test}.
+     *
+     * @param differences the differences of the pairs
+     * @return the effect size between -1 (all differences negative) and 1 (all differences positive), or 0 if all differences are zero
+     */
+    public static double rankBiserial(double[] differences) {
+        final double[] nonZero = Arrays.stream(differences).filter(d -> d != 0).toArray();
+        if (nonZero.length == 0) {
+            return 0;
+        }
+        final double[] ranks = rank(Arrays.stream(nonZero).map(Math::abs).toArray());
+        double positiveRankSum = 0, negativeRankSum = 0;
+        for (int i = 0; i < nonZero.length; i++) {
+            if (nonZero[i] > 0) {
+                positiveRankSum += ranks[i];
+            } else {
+                negativeRankSum += ranks[i];
+            }
+        }
+        return (positiveRankSum - negativeRankSum) / (positiveRankSum + negativeRankSum);
+    }
+
+    /**
+     * Adjusts p-values for multiple comparisons (Holm-Bonferroni).
+     *
+     * @param pValues the p-values
+     * @return the adjusted p-values in the same order
+     */
+    public static double[] holm(double[] pValues) {
+        final int m = pValues.length;
+        final Integer[] order = new Integer[m];
+        for (int i = 0; i < m; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(pValues[a], pValues[b]));
+        final double[] adjusted = new double[m];
+        double max = 0;
+        for (int i = 0; i < m; i++) {
+            max = Math.max(max, Math.min(1, (m - i) * pValues[order[i]]));
+            adjusted[order[i]] = max;
+        }
+        return adjusted;
+    }
+
+    private static double sumOfSquares(double[][] ranks) {
+        double sum = 0;
+        for (double[] blockRanks : ranks) {
+            for (double rank : blockRanks) {
+                sum += rank * rank;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Approximates the quantile function of the standard normal distribution (Acklam's algorithm).
+     *
+     * @param p the probability, between 0 and 1 (exclusive)
+     * @return the quantile
+     */
+    public static double normalQuantile(double p) {
+        if (p <= 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        if (p >= 1) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (p < TAIL_PROBABILITY) {
+            final double q = Math.sqrt(-2 * Math.log(p));
+            return polynomial(TAIL_NUMERATOR, q) / polynomial(TAIL_DENOMINATOR, q);
+        }
+        if (p > 1 - TAIL_PROBABILITY) {
+            final double q = Math.sqrt(-2 * Math.log(1 - p));
+            return -polynomial(TAIL_NUMERATOR, q) / polynomial(TAIL_DENOMINATOR, q);
+        }
+        final double q = p - 0.5;
+        final double r = q * q;
+        return q * polynomial(CENTRAL_NUMERATOR, r) / polynomial(CENTRAL_DENOMINATOR, r);
+    }
+
+    /**
+     * Approximates the cumulative distribution function of the standard normal distribution (Abramowitz and Stegun 7.1.26).
+     *
+     * @param x the value
+     * @return the probability of a value of at most x
+     */
+    public static double normalCdf(double x) {
+        final double y = Math.abs(x) / Math.sqrt(2);
+        final double t = 1 / (1 + 0.3275911 * y);
+        final double erfc = t * polynomial(ERFC_COEFFICIENTS, t) * Math.exp(-y * y);
+        return x >= 0 ? 1 - erfc / 2 : erfc / 2;
+    }
+
+    private static double polynomial(double[] coefficients, double x) {
+        double value = 0;
+        for (double coefficient : coefficients) {
+            value = value * x + coefficient;
+        }
+        return value;
+    }
+
+    /**
+     * Approximates the quantile function of Student's t-distribution (exact for one and two degrees of freedom, Cornish-Fisher expansion otherwise).
+     *
+     * @param p the probability, between 0 and 1 (exclusive)
+     * @param degreesOfFreedom the degrees of freedom
+     * @return the quantile
+     */
+    public static double tQuantile(double p, int degreesOfFreedom) {
+        if (degreesOfFreedom == 1) {
+            return Math.tan(Math.PI * (p - 0.5));
+        }
+        if (degreesOfFreedom == 2) {
+            return (2 * p - 1) / Math.sqrt(2 * p * (1 - p));
+        }
+        final double z = normalQuantile(p);
+        final double z2 = z * z;
+        final double v = degreesOfFreedom;
+        final double g1 = (z2 + 1) * z / 4;
+        final double g2 = ((5 * z2 + 16) * z2 + 3) * z / 96;
+        final double g3 = (((3 * z2 + 19) * z2 + 17) * z2 - 15) * z / 384;
+        final double g4 = ((((79 * z2 + 776) * z2 + 1482) * z2 - 1920) * z2 - 945) * z / 92160;
+        return z + g1 / v + g2 / (v * v) + g3 / (v * v * v) + g4 / (v * v * v * v);
+    }
+
+    /**
+     * Approximates the quantile function of the chi-square distribution (exact for one and two degrees of freedom).
+     * Otherwise, the Wilson-Hilferty approximation is refined by Newton's method on the {@link #chiSquareCdf(double, int) distribution function}
+     * for up to {@value #CHI_SQUARE_REFINEMENT_LIMIT} degrees of freedom.
+     *
+     * @param p the probability, between 0 and 1 (exclusive)
+     * @param degreesOfFreedom the degrees of freedom
+     * @return the quantile
+     */
+    public static double chiSquareQuantile(double p, int degreesOfFreedom) {
+        if (degreesOfFreedom == 1) {
+            final double z = normalQuantile((1 + p) / 2);
+            return z * z;
+        }
+        if (degreesOfFreedom == 2) {
+            return -2 * Math.log(1 - p);
+        }
+        final double a = 2.0 / (9 * degreesOfFreedom);
+        final double b = 1 - a + normalQuantile(p) * Math.sqrt(a);
+        double x = degreesOfFreedom * b * b * b;
+        if (degreesOfFreedom <= CHI_SQUARE_REFINEMENT_LIMIT) {
+            for (int i = 0; i < 5 && x > 0; i++) {
+                final double density = chiSquareDensity(x, degreesOfFreedom);
+                if (density <= 0) {
+                    break;
+                }
+                x -= (chiSquareCdf(x, degreesOfFreedom) - p) / density;
+            }
+        }
+        return x;
+    }
+
+    /**
+     * Computes the cumulative distribution function of the chi-square distribution in closed form.
+     * For odd degrees of freedom, it inherits the accuracy of {@link #normalCdf(double)}.
+     *
+     * @param x the value
+     * @param degreesOfFreedom the degrees of freedom
+     * @return the probability of a value of at most x
+     */
+    public static double chiSquareCdf(double x, int degreesOfFreedom) {
+        if (x <= 0) {
+            return 0;
+        }
+        double sum = 0;
+        if (degreesOfFreedom % 2 == 0) {
+            double term = Math.exp(-x / 2);
+            for (int j = 0; j < degreesOfFreedom / 2; j++) {
+                sum += term;
+                term *= x / (2 * (j + 1));
+            }
+            return 1 - sum;
+        }
+        final double root = Math.sqrt(x);
+        double term = root * Math.exp(-x / 2) / Math.sqrt(2 * Math.PI);
+        for (int j = 1; j <= degreesOfFreedom / 2; j++) {
+            sum += term;
+            term *= x / (2 * j + 1);
+        }
+        return 2 * normalCdf(root) - 1 - 2 * sum;
+    }
+
+    private static double chiSquareDensity(double x, int degreesOfFreedom) {
+        final double halfDegrees = degreesOfFreedom / 2.0;
+        double logGamma = degreesOfFreedom % 2 == 0 ? 0 : Math.log(Math.sqrt(Math.PI));
+        for (double s = degreesOfFreedom % 2 == 0 ? 1 : 0.5; s < halfDegrees; s++) {
+            logGamma += Math.log(s);
+        }
+        return Math.exp((halfDegrees - 1) * Math.log(x) - x / 2 - halfDegrees * Math.log(2) - logGamma);
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.util;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.evaluation.process.ProcessResult;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Incrementally aggregates the runtimes of all reported results per group of option values.
+ * For a combination of n option values, the result is added to the groups of all prefixes of length 1 to n-1 (or 1 if n is 1), such that the last option (usually the iteration) is aggregated.
+ * A summary of all groups is periodically written to a CSV file.
+ * If runs are {@link de.featjar.evaluation.process.CgroupSandbox sandboxed}, it also contains their mean CPU time, maximum peak memory, and number of OOM kills.
+ */
+public class StatisticsAggregator implements AutoCloseable {
+
+    private static final String HEADER =
+            "group;level;count;timeouts;errors;mean;stddev;min;p50;p90;p99;max;meanCpuTime;maxPeakMemory;outOfMemory";
+
+    private static class Group {
+        private final int level;
+        private final RunningStatistics statistics = new RunningStatistics();
+        private long timeouts;
+        private long errors;
+        private long cpuTimeCount;
+        private double cpuTimeSum;
+        private long maxPeakMemory = -1;
+        private long outOfMemory;
+
+        private Group(int level) {
+            this.level = level;
+        }
+    }
+
+    private final Path summaryFile;
+    private final LinkedHashMap<String, Group> groups = new LinkedHashMap<>();
+    private final ScheduledExecutorService writer;
+    private boolean changed;
+
+    /**
+     * Creates a new aggregator.
+     *
+     * @param summaryFile the CSV file to which the summary is written
+     * @param writeInterval the interval in seconds in which the summary is written, or a non-positive value to write it only on {@link #close()}
+     */
+    public StatisticsAggregator(Path summaryFile, long writeInterval) {
+        this.summaryFile = summaryFile;
+        if (writeInterval > 0) {
+            writer = Executors.newSingleThreadScheduledExecutor(r -> {
+                final Thread thread = new Thread(r, "summary-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            writer.scheduleWithFixedDelay(this::writeIfChanged, writeInterval, writeInterval, TimeUnit.SECONDS);
+        } else {
+            writer = null;
+        }
+    }
+
+    /**
+     * Adds a result to all groups of the given combination.
+     * Runs that timed out or failed are only counted.
+     *
+     * @param combination the option values of the run, each formatted as {@code name=value}
+     * @param result the result of the run
+     */
+    public synchronized void add(List<String> combination, ProcessResult<?> result) {
+        final int maxLevel = Math.max(1, combination.size() - 1);
+        final StringBuilder key = new StringBuilder();
+        for (int level = 1; level <= maxLevel && level <= combination.size(); level++) {
+            if (level > 1) {
+                key.append(',');
+            }
+            key.append(combination.get(level - 1));
+            final int groupLevel = level;
+            final Group group = groups.computeIfAbsent(key.toString(), k -> new Group(groupLevel));
+            if (result.getTime() == ProcessResult.INVALID_TIME) {
+                group.errors++;
+            } else if (!result.isTerminatedInTime()) {
+                group.timeouts++;
+            } else if (!result.isNoError()) {
+                group.errors++;
+            } else {
+                group.statistics.add(result.getTime());
+            }
+            if (result.getCpuTime() >= 0) {
+                group.cpuTimeCount++;
+                group.cpuTimeSum += result.getCpuTime();
+            }
+            group.maxPeakMemory = Math.max(group.maxPeakMemory, result.getPeakMemory());
+            if (result.isOutOfMemory()) {
+                group.outOfMemory++;
+            }
+        }
+        changed = true;
+    }
+
+    /**
+     * Returns the statistics of a group.
+     *
+     * @param group the option values of the group, each formatted as {@code name=value} and separated by commas
+     * @return the statistics or {@code null} if no result was added to the group
+     */
+    public synchronized RunningStatistics getStatistics(String group) {
+        final Group g = groups.get(group);
+        return g == null ? null : g.statistics;
+    }
+
+    public synchronized Map<String, RunningStatistics> getAllStatistics() {
+        final LinkedHashMap<String, RunningStatistics> statistics = new LinkedHashMap<>();
+        for (Map.Entry<String, Group> entry : groups.entrySet()) {
+            statistics.put(entry.getKey(), entry.getValue().statistics);
+        }
+        return statistics;
+    }
+
+    private void writeIfChanged() {
+        final List<String> lines;
+        synchronized (this) {
+            if (!changed) {
+                return;
+            }
+            changed = false;
+            lines = new ArrayList<>(groups.size() + 1);
+            lines.add(HEADER);
+            for (Map.Entry<String, Group> entry : groups.entrySet()) {
+                final Group group = entry.getValue();
+                final RunningStatistics statistics = group.statistics;
+                lines.add(String.format(
+                        Locale.ENGLISH,
+                        "%s;%d;%d;%d;%d;%.3f;%.3f;%.3f;%.3f;%.3f;%.3f;%.3f;%.3f;%d;%d",
+                        entry.getKey(),
+                        group.level,
+                        statistics.getCount(),
+                        group.timeouts,
+                        group.errors,
+                        statistics.getMean(),
+                        statistics.getStandardDeviation(),
+                        statistics.getMin(),
+                        statistics.getQuantile(0.5),
+                        statistics.getQuantile(0.9),
+                        statistics.getQuantile(0.99),
+                        statistics.getMax(),
+                        group.cpuTimeCount > 0 ? group.cpuTimeSum / group.cpuTimeCount : Double.NaN,
+                        group.maxPeakMemory,
+                        group.outOfMemory));
+            }
+        }
+        try {
+            final Path tempFile = summaryFile.resolveSibling(summaryFile.getFileName() + ".tmp");
+            Files.write(tempFile, lines, StandardCharsets.UTF_8);
+            Files.move(tempFile, summaryFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            synchronized (this) {
+                changed = true;
+            }
+            FeatJAR.log().error(e);
+        }
+    }
+
+    public Path getSummaryFile() {
+        return summaryFile;
+    }
+
+    /**
+     * Stops the periodic writing, waits for a pending write to finish, and writes the final summary.
+     */
+    @Override
+    public void close() {
+        if (writer != null) {
+            writer.shutdown();
+            try {
+                if (!writer.awaitTermination(1, TimeUnit.MINUTES)) {
+                    FeatJAR.log().warning("Summary writer did not terminate");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        writeIfChanged();
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.util;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.evaluation.process.Algorithm;
+import de.featjar.evaluation.process.IProcessListener;
+import de.featjar.evaluation.process.MemoryAdmission;
+import de.featjar.evaluation.process.NoiseMonitor;
+import de.featjar.evaluation.process.ProcessResult;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Periodically writes the state of a running evaluation to a JSON file, such that it can be monitored by other tools.
+ * The file is replaced atomically, so readers never see a partially written state.
+ */
+public class StatusWriter implements IProcessListener, AutoCloseable {
+
+    private final Path statusFile;
+    private final OptionCombiner optionCombiner;
+    private volatile MemoryAdmission memoryAdmission;
+    private volatile NoiseMonitor noiseMonitor;
+    private final ScheduledExecutorService writer;
+    private final long startTime = System.currentTimeMillis();
+
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong finished = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong cached = new AtomicLong();
+    private final AtomicLong lastFinishTime = new AtomicLong(startTime);
+
+    private long lastWriteTime = startTime;
+    private long lastWriteFinished = 0;
+
+    /**
+     * Creates a new status writer and starts writing periodically.
+     *
+     * @param statusFile the JSON file
+     * @param writeInterval the interval in seconds
+     * @param optionCombiner the option combiner of the evaluation, may be {@code null}
+     */
+    public StatusWriter(Path statusFile, long writeInterval, OptionCombiner optionCombiner) {
+        this.statusFile = statusFile;
+        this.optionCombiner = optionCombiner;
+        writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "status-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.scheduleWithFixedDelay(this::write, 0, writeInterval, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void started(Algorithm<?> algorithm) {
+        started.incrementAndGet();
+    }
+
+    @Override
+    public void finished(Algorithm<?> algorithm, ProcessResult<?> result) {
+        finished.incrementAndGet();
+        lastFinishTime.set(System.currentTimeMillis());
+        if (result.isCached()) {
+            cached.incrementAndGet();
+        }
+        if (result.getTime() == ProcessResult.INVALID_TIME) {
+            errors.incrementAndGet();
+        } else if (!result.isTerminatedInTime()) {
+            timeouts.incrementAndGet();
+        } else if (!result.isNoError()) {
+            errors.incrementAndGet();
+        }
+    }
+
+    private synchronized void write() {
+        final long now = System.currentTimeMillis();
+        final long finishedRuns = finished.get();
+        final double elapsedMinutes = (now - startTime) / 60_000.0;
+        final double intervalMinutes = (now - lastWriteTime) / 60_000.0;
+        final double recentThroughput = intervalMinutes > 0 ? (finishedRuns - lastWriteFinished) / intervalMinutes : 0;
+        lastWriteTime = now;
+        lastWriteFinished = finishedRuns;
+
+        final Runtime runtime = Runtime.getRuntime();
+        final StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        appendField(json, "timestamp", now);
+        appendField(json, "elapsedMillis", now - startTime);
+        appendField(json, "pid", ProcessHandle.current().pid());
+        final ProgressTracker progress = optionCombiner == null ? null : optionCombiner.getProgress();
+        if (progress != null) {
+            appendRawField(json, "combination", Arrays.toString(progress.getIndices()));
+            appendRawField(json, "optionSizes", Arrays.toString(progress.getSizes()));
+            appendField(json, "combinationIndex", progress.getTotalIndex() + 1);
+            appendField(json, "combinationCount", progress.getTotalSize());
+            appendField(json, "skippedCombinations", optionCombiner.getSkippedCount());
+        }
+        appendField(json, "runsStarted", started.get());
+        appendField(json, "runsFinished", finishedRuns);
+        appendField(json, "runsInFlight", started.get() - finishedRuns);
+        appendField(json, "timeouts", timeouts.get());
+        appendField(json, "errors", errors.get());
+        appendField(json, "cached", cached.get());
+        appendField(json, "millisSinceLastFinish", now - lastFinishTime.get());
+        appendRawField(json, "throughputPerMinute", format(elapsedMinutes > 0 ? finishedRuns / elapsedMinutes : 0));
+        appendRawField(json, "recentThroughputPerMinute", format(recentThroughput));
+        appendRawField(
+                json,
+                "systemLoadAverage",
+                format(ManagementFactory.getOperatingSystemMXBean().getSystemLoadAverage()));
+        appendField(json, "availableMemory", MemoryAdmission.readAvailableMemory());
+        appendField(json, "heapUsed", runtime.totalMemory() - runtime.freeMemory());
+        appendField(json, "heapMax", runtime.maxMemory());
+        final MemoryAdmission admission = memoryAdmission;
+        if (admission != null) {
+            appendField(json, "reservedMemory", admission.getReserved());
+            appendField(json, "queuedRuns", admission.getQueuedProcesses());
+        }
+        final NoiseMonitor monitor = noiseMonitor;
+        if (monitor != null) {
+            appendRawField(json, "noiseLevel", format(monitor.getLastNoiseLevel()));
+        }
+        json.setLength(json.length() - 2);
+        json.append("\n}\n");
+
+        try {
+            final Path tempFile = statusFile.resolveSibling(statusFile.getFileName() + ".tmp");
+            Files.write(tempFile, json.toString().getBytes(StandardCharsets.UTF_8));
+            Files.move(tempFile, statusFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            FeatJAR.log().error(e);
+        }
+    }
+
+    private static String format(double value) {
+        return Double.isFinite(value) ? String.format(Locale.ENGLISH, "%.3f", value) : "null";
+    }
+
+    private static void appendField(StringBuilder json, String name, long value) {
+        appendRawField(json, name, String.valueOf(value));
+    }
+
+    private static void appendRawField(StringBuilder json, String name, String value) {
+        json.append("  \"").append(name).append("\": ").append(value).append(",\n");
+    }
+
+    /**
+     * Sets the memory admission whose reserved memory and queued runs are included in the status.
+     *
+     * @param memoryAdmission the memory admission or {@code null}
+     */
+    public void setMemoryAdmission(MemoryAdmission memoryAdmission) {
+        this.memoryAdmission = memoryAdmission;
+    }
+
+    /**
+     * Sets the noise monitor whose latest noise level is included in the status.
+     *
+     * @param noiseMonitor the noise monitor or {@code null}
+     */
+    public void setNoiseMonitor(NoiseMonitor noiseMonitor) {
+        this.noiseMonitor = noiseMonitor;
+    }
+
+    public Path getStatusFile() {
+        return statusFile;
+    }
+
+    /**
+     * Stops the periodic writing and writes the final state.
+     */
+    @Override
+    public void close() {
+        writer.shutdownNow();
+        write();
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.util;
+
+import de.featjar.evaluation.process.ProcessResult;
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * Skips combinations that are at least as hard as a combination that timed out.
+ * Assumes that the values of one option are ordered by increasing difficulty (e.g., systems ordered by size or increasing t-wise values).
+ * If a run times out, all combinations with a larger value index for this option and the same values for the given fixed options are skipped.
+ * Runs cut off by an {@link ProcessResult#isAdaptiveTimeout() adaptive timeout} are ignored, as they might have finished within the regular timeout.
+ * <p>
+ * Examples:
+ * <ul>
+ * <li>{@code new TimeoutDominanceRule(t, algorithm, system)}: if an algorithm times out on a system for some t, skip all larger t for the algorithm on the system.</li>
+ * <li>{@code new TimeoutDominanceRule(system, algorithm)}: if an algorithm times out on a system, skip all larger systems for the algorithm.</li>
+ * </ul>
+ */
+public class TimeoutDominanceRule implements IPruningRule {
+
+    private final int monotoneOption;
+    private final int[] fixedOptions;
+
+    /**
+     * Creates a new rule.
+     *
+     * @param monotoneOption the index of the option whose values are ordered by increasing difficulty
+     * @param fixedOptions the indices of the options whose values must be equal
+     */
+    public TimeoutDominanceRule(int monotoneOption, int... fixedOptions) {
+        this.monotoneOption = monotoneOption;
+        this.fixedOptions = fixedOptions;
+    }
+
+    @Override
+    public Predicate<int[]> getDominated(int[] indices, ProcessResult<?> result) {
+        if (result.isTerminatedInTime()
+                || result.isAdaptiveTimeout()
+                || result.getTime() == ProcessResult.INVALID_TIME) {
+            return null;
+        }
+        final int[] fixed = Arrays.copyOf(indices, indices.length);
+        final int bound = indices[monotoneOption];
+        return other -> {
+            if (other[monotoneOption] <= bound) {
+                return false;
+            }
+            for (int option : fixedOptions) {
+                if (other[option] != fixed[option]) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    @Override
+    public int[] getFixedOptions() {
+        return fixedOptions;
+    }
+
+    @Override
+    public String getName() {
+        return "timeout";
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.base.cli.AListOption;
+import de.featjar.base.cli.Option;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures the overhead of the option combiner per combination on a grid of one million combinations.
+ * Tagged as benchmark, so it is not part of the regular test run.
+ */
+@Tag("benchmark")
+public class OptionCombinerBenchmarkTest {
+
+    private static final int[] SIZES = {10, 10, 100, 100};
+    private static final long COMBINATIONS = 1_000_000;
+    private static final int WARM_UP_ROUNDS = 3;
+
+    /**
+     * The maximum time per combination in nanoseconds, far above the measured time to tolerate slow machines.
+     */
+    private static final double MAX_NANOS = 2_000;
+
+    private static OptionCombiner createCombiner() {
+        final AListOption<?>[] options = new AListOption<?>[SIZES.length];
+        final ArrayList<List<?>> values = new ArrayList<>(SIZES.length);
+        for (int i = 0; i < SIZES.length; i++) {
+            options[i] = Option.newListOption("option" + i, Option.IntegerParser);
+            values.add(IntStream.range(0, SIZES[i]).boxed().collect(Collectors.toList()));
+        }
+        final OptionCombiner combiner = new OptionCombiner(null);
+        combiner.init(options, values);
+        return combiner;
+    }
+
+    private static void report(String name, double nanos) {
+        System.out.println(String.format(Locale.ENGLISH, "%s: %.1f ns per combination", name, nanos));
+        assertTrue(nanos < MAX_NANOS, String.format(Locale.ENGLISH, "%s took %.1f ns per combination", name, nanos));
+    }
+
+    @Test
+    void loopWithValues() {
+        double nanos = 0;
+        for (int round = 0; round <= WARM_UP_ROUNDS; round++) {
+            final OptionCombiner combiner = createCombiner();
+            final long[] count = {0};
+            final long[] checksum = {0};
+            final long start = System.nanoTime();
+            combiner.loopOverOptions(lastChanged -> {
+                final int first = combiner.getValue(0);
+                final int second = combiner.getValue(1);
+                final int third = combiner.getValue(2);
+                final int fourth = combiner.getValue(3);
+                checksum[0] += first + second + third + fourth;
+                count[0]++;
+                return -1;
+            });
+            nanos = (double) (System.nanoTime() - start) / COMBINATIONS;
+            assertEquals(COMBINATIONS, count[0]);
+            assertEquals(108_000_000L, checksum[0]);
+        }
+        report("loopOverOptions with getValue", nanos);
+    }
+
+    @Test
+    void longValues() {
+        final OptionCombiner combiner = createCombiner();
+        double nanos = 0;
+        for (int round = 0; round <= WARM_UP_ROUNDS; round++) {
+            final ProgressTracker tracker = new ProgressTracker(SIZES);
+            long checksum = 0;
+            final long start = System.nanoTime();
+            while (tracker.hasNext()) {
+                final int[] indices = tracker.next();
+                for (int i = 0; i < SIZES.length; i++) {
+                    checksum += combiner.getLongValue(i, indices);
+                }
+            }
+            nanos = (double) (System.nanoTime() - start) / COMBINATIONS;
+            assertEquals(108_000_000L, checksum);
+        }
+        report("getLongValue", nanos);
+    }
+
+    @Test
+    void combinations() {
+        final OptionCombiner combiner = createCombiner();
+        double nanos = 0;
+        for (int round = 0; round <= WARM_UP_ROUNDS; round++) {
+            final ProgressTracker tracker = new ProgressTracker(SIZES);
+            long count = 0;
+            final long start = System.nanoTime();
+            while (tracker.hasNext()) {
+                count += combiner.getCombination(tracker.next()).size();
+            }
+            nanos = (double) (System.nanoTime() - start) / COMBINATIONS;
+            assertEquals(COMBINATIONS * SIZES.length, count);
+        }
+        report("getCombination", nanos);
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-evaluation.
+ *
+ * evaluation is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * evaluation is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with evaluation. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-evaluation> for further information.
+ */
+package de.featjar.evaluation.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the statistical tests with reference values from textbook tables and R.
+ */
+public class StatisticalTestsTest {
+
+    private static final double EXACT = 1e-12;
+
+    @Test
+    void rankAssignsAverageRankToTies() {
+        assertArrayEquals(
+                new double[] {3, 1.5, 4, 1.5, 5}, StatisticalTests.rank(new double[] {3, 1, 4, 1, 5}), EXACT);
+        assertArrayEquals(new double[] {2, 2, 2}, StatisticalTests.rank(new double[] {7, 7, 7}), EXACT);
+        assertArrayEquals(
+                new double[] {1, 2, 3},
+                StatisticalTests.rank(new double[] {1, 2, Double.POSITIVE_INFINITY}),
+                EXACT);
+    }
+
+    @Test
+    void rankSumsAddRanksPerTreatment() {
+        final double[][] ranks = {{1, 2, 3}, {1.5, 1.5, 3}};
+        assertArrayEquals(new double[] {2.5, 3.5, 6}, StatisticalTests.rankSums(ranks), EXACT);
+    }
+
+    @Test
+    void friedmanWithoutTies() {
+        final double[][] ranks = {{1, 2, 3}, {1, 2, 3}, {1, 2, 3}};
+        assertEquals(6, StatisticalTests.friedman(ranks), EXACT);
+        assertEquals(0, StatisticalTests.friedmanCriticalDifference(ranks, 0.05), EXACT);
+    }
+
+    @Test
+    void friedmanWithTies() {
+        // friedman.test(rbind(c(1, 2, 3), c(1, 1, 3))) in R: 3.7143
+        final double[][] ranks = {{1, 2, 3}, {1.5, 1.5, 3}};
+        assertEquals(3.714285714285714, StatisticalTests.friedman(ranks), 1e-9);
+    }
+
+    @Test
+    void friedmanWithManyTreatments() {
+        final int k = 1000;
+        final double[][] ranks = new double[3][k];
+        for (double[] blockRanks : ranks) {
+            for (int j = 0; j < k; j++) {
+                blockRanks[j] = j + 1;
+            }
+        }
+        // perfectly ordered treatments: n (k - 1)
+        assertEquals(3 * (k - 1), StatisticalTests.friedman(ranks), 1e-6);
+    }
+
+    @Test
+    void wilcoxonSignedRankWithManyPairs() {
+        final double[] differences = new double[2000];
+        for (int i = 0; i < differences.length; i++) {
+            differences[i] = i % 2 == 0 ? i + 1 : -(i + 1);
+        }
+        // the positive ranks sum to n^2 / 4, slightly below the mean n (n + 1) / 4
+        assertEquals(0.9845712305709039, StatisticalTests.wilcoxonSignedRank(differences), 1e-6);
+    }
+
+    @Test
+    void friedmanOfTiedTreatmentsIsZero() {
+        final double[][] ranks = {{2, 2, 2}, {2, 2, 2}};
+        assertEquals(0, StatisticalTests.friedman(ranks), EXACT);
+        assertEquals(
+                Double.POSITIVE_INFINITY, StatisticalTests.friedmanCriticalDifference(new double[][] {{1, 2}}, 0.05));
+    }
+
+    @Test
+    void wilcoxonSignedRankExact() {
+        // wilcox.test(c(1, 2, 3, 4, 5)) in R: 0.0625
+        assertEquals(0.0625, StatisticalTests.wilcoxonSignedRank(new double[] {1, 2, 3, 4, 5}), EXACT);
+        assertEquals(0.0625, StatisticalTests.wilcoxonSignedRank(new double[] {0, -1, -2, -3, -4, -5}), EXACT);
+        // wilcox.test(c(-1, 2, 3, 4, 5)) in R: 0.125
+        assertEquals(0.125, StatisticalTests.wilcoxonSignedRank(new double[] {-1, 2, 3, 4, 5}), EXACT);
+        assertEquals(1, StatisticalTests.wilcoxonSignedRank(new double[] {0, 0}), EXACT);
+    }
+
+    @Test
+    void wilcoxonSignedRankNormalApproximation() {
+        final double[] differences = new double[30];
+        for (int i = 0; i < differences.length; i++) {
+            differences[i] = i + 1;
+        }
+        // wilcox.test(1:30, exact = FALSE) in R: 1.825e-06
+        assertEquals(1.825371456361214e-06, StatisticalTests.wilcoxonSignedRank(differences), 1e-7);
+    }
+
+    @Test
+    void rankBiserial() {
+        assertEquals(13.0 / 15, StatisticalTests.rankBiserial(new double[] {-1, 2, 3, 4, 5}), EXACT);
+        assertEquals(-1, StatisticalTests.rankBiserial(new double[] {-1, -2}), EXACT);
+        assertEquals(0, StatisticalTests.rankBiserial(new double[] {0}), EXACT);
+    }
+
+    @Test
+    void holmKeepsOrderAndMonotonicity() {
+        // p.adjust(c(0.01, 0.04, 0.03, 0.005), "holm") in R
+        assertArrayEquals(
+                new double[] {0.03, 0.06, 0.06, 0.02},
+                StatisticalTests.holm(new double[] {0.01, 0.04, 0.03, 0.005}),
+                EXACT);
+        assertArrayEquals(new double[] {1, 1}, StatisticalTests.holm(new double[] {0.6, 0.9}), EXACT);
+    }
+
+    @Test
+    void normalDistribution() {
+        assertEquals(1.959963984540054, StatisticalTests.normalQuantile(0.975), 1e-8);
+        assertEquals(-2.326347874040841, StatisticalTests.normalQuantile(0.01), 1e-8);
+        assertEquals(3.090232306167813, StatisticalTests.normalQuantile(0.999), 1e-8);
+        assertEquals(0, StatisticalTests.normalQuantile(0.5), EXACT);
+        assertEquals(0.9750021048517795, StatisticalTests.normalCdf(1.96), 1e-6);
+        assertEquals(0.0249978951482205, StatisticalTests.normalCdf(-1.96), 1e-6);
+    }
+
+    @Test
+    void tQuantile() {
+        assertEquals(12.70620473617471, StatisticalTests.tQuantile(0.975, 1), 1e-9);
+        assertEquals(4.302652729911275, StatisticalTests.tQuantile(0.975, 2), 1e-9);
+        assertEquals(2.228138851986274, StatisticalTests.tQuantile(0.975, 10), 1e-3);
+        assertEquals(1.697260886977658, StatisticalTests.tQuantile(0.95, 30), 1e-4);
+    }
+
+    @Test
+    void chiSquareQuantile() {
+        assertEquals(3.841458820694124, StatisticalTests.chiSquareQuantile(0.95, 1), 1e-7);
+        assertEquals(5.991464547107979, StatisticalTests.chiSquareQuantile(0.95, 2), 1e-9);
+        assertEquals(7.814727903251178, StatisticalTests.chiSquareQuantile(0.95, 3), 1e-4);
+        assertEquals(18.30703805327515, StatisticalTests.chiSquareQuantile(0.95, 10), 1e-6);
+        assertEquals(124.3421134454831, StatisticalTests.chiSquareQuantile(0.95, 100), 1e-6);
+        assertEquals(0.95, StatisticalTests.chiSquareCdf(5.991464547107979, 2), 1e-12);
+        assertEquals(0.95, StatisticalTests.chiSquareCdf(7.814727903251178, 3), 1e-6);
+    }
+}